@@ -2,10 +2,14 @@ package com.film_backend.film;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.film_backend")
 @EnableScheduling
+// Retries run inside the cache advice and outside the transaction advice; see CacheConfig
+@EnableRetry(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class FilmApplication {
 
 	public static void main(String[] args) {
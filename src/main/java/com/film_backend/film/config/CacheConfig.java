@@ -0,0 +1,56 @@
+package com.film_backend.film.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Read-through caches for catalog reads, holding already-mapped response DTOs.
+ *
+ * <p>The default backend is an in-process Caffeine cache per name (size-bounded, W-TinyLFU eviction). Setting
+ * {@code spring.cache.type} to another value, e.g. {@code redis} with its starter on the classpath, backs this
+ * bean off and lets Spring Boot configure that backend instead; the {@code @Cacheable}/{@code @CacheEvict}
+ * declarations on the services stay unchanged.
+ */
+@Configuration
+// Runs the cache advice outside the retry (LOWEST_PRECEDENCE - 1, set on FilmApplication) and transaction
+// (LOWEST_PRECEDENCE) advice, so evictions happen after the write commits
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 2)
+public class CacheConfig {
+
+    public static final String MOVIE_DETAILS = "movieDetails";
+    public static final String MOVIE_LISTS = "movieLists";
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager(@Value("${movies.cache.details.max-size:10000}") long detailsMaxSize,
+                                     @Value("${movies.cache.lists.max-size:1000}") long listsMaxSize,
+                                     @Value("${movies.cache.ttl-seconds:600}") long ttlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // No caches are created on demand; every cache name is registered below with its own bound
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(MOVIE_DETAILS, newCache(detailsMaxSize, ttlSeconds));
+        cacheManager.registerCustomCache(MOVIE_LISTS, newCache(listsMaxSize, ttlSeconds));
+        return cacheManager;
+    }
+
+    // The TTL only bounds staleness from writes that are not evicted explicitly (username changes, user deletes)
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+}
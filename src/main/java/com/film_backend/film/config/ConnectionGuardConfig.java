@@ -0,0 +1,37 @@
+package com.film_backend.film.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Wraps the Hikari pool in a {@link ConnectionLimitingDataSource} sized to the pool, so request and
+ * scheduled work running on virtual threads queues for connections instead of stampeding the pool.
+ * On by default when {@code spring.threads.virtual.enabled} is set.
+ */
+@Component
+public class ConnectionGuardConfig implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionGuardConfig.class);
+
+    private final boolean enabled;
+
+    public ConnectionGuardConfig(
+            @Value("${database.connection-guard.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof HikariDataSource pool)) {
+            return bean;
+        }
+        log.info("Database connection guard enabled for {}: {} connections, {} ms timeout",
+                beanName, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+        return new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+    }
+}
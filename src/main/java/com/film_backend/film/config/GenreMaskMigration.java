@@ -0,0 +1,75 @@
+package com.film_backend.film.config;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.film_backend.film.enums.Genre;
+
+/**
+ * Copies genres from the movie_genres table of earlier releases into the movies.genre_mask column.
+ * Only movies whose mask is still empty are migrated, so the run is idempotent; movie_genres itself is
+ * left in place and can be dropped once every node runs with the mask column.
+ */
+@Component
+public class GenreMaskMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(GenreMaskMigration.class);
+    private static final String LEGACY_TABLE_EXISTS = "select count(*) from information_schema.tables "
+            + "where lower(table_name) = 'movie_genres'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final boolean migrateOnStartup;
+
+    public GenreMaskMigration(JdbcTemplate jdbcTemplate, CacheManager cacheManager,
+                              @Value("${movies.genres.migrate-on-startup:true}") boolean migrateOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    // Runs before the search index loads its first build from the movies table
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        Integer legacyTables = jdbcTemplate.queryForObject(LEGACY_TABLE_EXISTS, Integer.class);
+        if (legacyTables == null || legacyTables == 0) {
+            return;
+        }
+        int migrated = jdbcTemplate.update(migrationSql());
+        if (migrated > 0) {
+            Cache movieDetails = cacheManager.getCache(CacheConfig.MOVIE_DETAILS);
+            if (movieDetails != null) {
+                movieDetails.clear();
+            }
+        }
+        log.info("Genres migrated from movie_genres to genre_mask for {} movies.", migrated);
+    }
+
+    // Each row contributes its genre's bit; (movie_id, genre) is the legacy table's primary key, so the sum is an OR
+    static String migrationSql() {
+        String bits = Stream.of(Genre.values())
+                .map(genre -> "when '" + genre.name() + "' then " + (1 << genre.ordinal()))
+                .collect(Collectors.joining(" "));
+        return "update movies set genre_mask = (select coalesce(sum(case g.genre " + bits + " else 0 end), 0) "
+                + "from movie_genres g where g.movie_id = movies.id) "
+                + "where genre_mask = 0 and exists (select 1 from movie_genres g where g.movie_id = movies.id)";
+    }
+}
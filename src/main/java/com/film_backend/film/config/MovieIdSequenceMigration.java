@@ -0,0 +1,49 @@
+package com.film_backend.film.config;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.film_backend.film.entity.Movie;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves the movie id sequence past the ids already in the movies table. Earlier releases generated
+ * movie ids with an identity column, so a sequence created next to existing rows starts below them.
+ *
+ * <p>Runs while the context starts, after the schema update that creates the sequence and before the
+ * server accepts requests. A sequence that is already ahead is left alone.
+ */
+@Component
+public class MovieIdSequenceMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieIdSequenceMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public MovieIdSequenceMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from movies", Long.class);
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(Movie.ID_SEQUENCE), Long.class);
+        // The pooled optimizer hands out the ids (value - allocation size, value] for each sequence value,
+        // so every value after this one yields ids above it
+        if (maxId == null || next == null || next >= maxId) {
+            return;
+        }
+        long restart = maxId + Movie.ID_ALLOCATION_SIZE;
+        jdbcTemplate.execute("alter sequence " + Movie.ID_SEQUENCE + " restart with " + restart);
+        log.info("Movie id sequence moved past existing id {}.", maxId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.film_backend.film.config;
+
+import java.time.Duration;
+import java.util.Date;
+
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.service.RatingAggregator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the incrementally maintained rating aggregates on movies in line with the comments table.
+ * The startup run backfills ratingSum/ratingCount for movies rated before the counters existed and is
+ * off by default: enable it for the one deploy that introduces the counters, then switch it off again.
+ * The nightly run repairs drift from comments removed outside the rating path (e.g. cascaded user deletes).
+ *
+ * <p>With write-behind ratings on, every repair goes through {@link RatingAggregator#reconcile} so pending
+ * deltas are not applied on top of the recomputed counters. Deltas lost when the previous process stopped
+ * without flushing belong to recently commented movies, so startup repairs those movies even when the full
+ * backfill is off.
+ */
+@Component
+public class RatingConsistencyScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingConsistencyScheduler.class);
+    private final MovieRepository movieRepository;
+    private final RatingAggregator ratingAggregator;
+    private final CacheManager cacheManager;
+    private final boolean backfillOnStartup;
+    private final Duration startupRepairWindow;
+
+    public RatingConsistencyScheduler(MovieRepository movieRepository, RatingAggregator ratingAggregator,
+                                      CacheManager cacheManager,
+                                      @Value("${movies.rating.backfill-on-startup:false}") boolean backfillOnStartup,
+                                      @Value("${movies.rating.write-behind.startup-repair-window:24h}") Duration startupRepairWindow) {
+        this.movieRepository = movieRepository;
+        this.ratingAggregator = ratingAggregator;
+        this.cacheManager = cacheManager;
+        this.backfillOnStartup = backfillOnStartup;
+        this.startupRepairWindow = startupRepairWindow;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRatingAggregates() {
+        if (backfillOnStartup) {
+            int repaired = ratingAggregator.reconcile(movieRepository::repairRatingAggregates);
+            if (repaired > 0) {
+                clearMovieDetails();
+            }
+            log.info("Rating aggregates backfilled for {} movies.", repaired);
+        } else if (ratingAggregator.isEnabled()) {
+            Date since = new Date(System.currentTimeMillis() - startupRepairWindow.toMillis());
+            int repaired = ratingAggregator.reconcile(() -> movieRepository.repairRatingAggregatesCommentedSince(since));
+            if (repaired > 0) {
+                clearMovieDetails();
+                log.warn("Rating aggregates of {} recently commented movies were rebuilt from comments.", repaired);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${movies.rating.consistency-cron:0 30 0 * * ?}") // Every day at 00:30 by default
+    public void checkRatingConsistency() {
+        int repaired = ratingAggregator.reconcile(movieRepository::repairRatingAggregates);
+        if (repaired > 0) {
+            clearMovieDetails();
+            log.warn("Rating aggregates drifted for {} movies and were recomputed from comments.", repaired);
+        } else {
+            log.debug("Rating aggregates are consistent with comments.");
+        }
+    }
+
+    // The repair does not report which movies changed, so every cached detail is dropped
+    private void clearMovieDetails() {
+        Cache movieDetails = cacheManager.getCache(CacheConfig.MOVIE_DETAILS);
+        if (movieDetails != null) {
+            movieDetails.clear();
+        }
+    }
+}
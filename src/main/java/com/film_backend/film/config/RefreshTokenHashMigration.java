@@ -0,0 +1,76 @@
+package com.film_backend.film.config;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.film_backend.film.security.RefreshTokenService;
+
+/**
+ * Moves unexpired tokens from the refresh_tokens table of earlier releases, which stored the token
+ * strings, into refresh_token_hashes as SHA-256 digests, one family per token. Migrated and expired
+ * rows are deleted in the same transaction, so the run is idempotent; the emptied legacy table can be
+ * dropped once every node runs with the digest table.
+ */
+@Component
+public class RefreshTokenHashMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenHashMigration.class);
+    private static final String LEGACY_TABLE_EXISTS = "select count(*) from information_schema.tables "
+            + "where lower(table_name) = 'refresh_tokens'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean migrateOnStartup;
+
+    public RefreshTokenHashMigration(JdbcTemplate jdbcTemplate,
+                                     @Value("${security.refresh-tokens.migrate-on-startup:true}") boolean migrateOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        Integer legacyTables = jdbcTemplate.queryForObject(LEGACY_TABLE_EXISTS, Integer.class);
+        if (legacyTables == null || legacyTables == 0) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneId.of("UTC")));
+        Set<String> seen = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query("select token, user_id, created_at, expires_at from refresh_tokens where expires_at > ?",
+                resultSet -> {
+                    byte[] hash = RefreshTokenService.hash(resultSet.getString("token"));
+                    // The legacy column was not unique
+                    if (seen.add(HexFormat.of().formatHex(hash))) {
+                        rows.add(new Object[] {hash, UUID.randomUUID(), resultSet.getLong("user_id"),
+                                resultSet.getTimestamp("created_at"), resultSet.getTimestamp("expires_at")});
+                    }
+                }, now);
+        jdbcTemplate.batchUpdate("insert into refresh_token_hashes (token_hash, family_id, user_id, created_at, expires_at) "
+                + "values (?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.update("delete from refresh_tokens");
+        log.info("Refresh tokens migrated to refresh_token_hashes: {}.", rows.size());
+    }
+}
@@ -1,5 +1,6 @@
 package com.film_backend.film.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,8 +13,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.film_backend.film.security.BoundedPasswordEncoder;
 import com.film_backend.film.security.JwtAuthenticationFilter;
+import com.film_backend.film.security.PublicRoutes;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -28,12 +32,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(
-                                "/api/auth/login",
-                                "/api/auth/register/**",
-                                "/api/movies/list",
-                                "/api/movies/{id}" 
-                        ).permitAll()
+                        .requestMatchers("/api/movies/export").hasAuthority("ADMIN")
+                        .requestMatchers(PublicRoutes.PATTERNS).permitAll()
                         .requestMatchers("/api/auth/refresh", "/api/auth/logout").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers("/api/comments").hasAnyAuthority("USER", "ADMIN")
                         .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
@@ -45,9 +45,15 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Hashes with the configured BCrypt cost on a bounded pool sized to the CPUs (threads=0); stored hashes
+    // with a lower cost are upgraded on the next successful authentication through CustomUserDetailsService
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hashing.threads:0}") int threads,
+                                           @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
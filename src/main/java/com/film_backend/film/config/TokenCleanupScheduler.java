@@ -25,8 +25,8 @@ public class TokenCleanupScheduler {
     @Scheduled(cron = "0 0 0 * * ?") // Every day at midnight
     public void cleanExpiredTokens() {
         LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
-        tokenBlacklistRepository.deleteByExpiresAtBefore(now);
-        refreshTokenRepository.deleteByExpiresAtBefore(now);
-        log.debug("Expired tokens and refresh tokens cleaned.");
+        int blacklisted = tokenBlacklistRepository.deleteByExpiresAtBefore(now);
+        int refreshTokens = refreshTokenRepository.deleteByExpiresAtBefore(now);
+        log.debug("Expired tokens cleaned: {} blacklisted tokens, {} refresh tokens.", blacklisted, refreshTokens);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.film_backend.film.controllers;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.ZonedDateTime;
 
 import org.slf4j.Logger;
@@ -8,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,10 +26,12 @@ import org.springframework.web.bind.annotation.RestController;
 import com.film_backend.film.dtos.request.MovieRequestDto;
 import com.film_backend.film.dtos.request.UserRequestDto;
 import com.film_backend.film.dtos.response.ApiErrorResponse;
+import com.film_backend.film.dtos.response.MovieImportJobDto;
 import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
 import com.film_backend.film.dtos.response.UserResponseDto;
 import com.film_backend.film.exception.UserNotFoundException;
 import com.film_backend.film.service.AdminService;
+import com.film_backend.film.service.MovieImportService;
 import com.film_backend.film.service.MovieService;
 import com.film_backend.film.util.TokenUtils;
 
@@ -40,10 +44,13 @@ public class AdminController {
     private static final Logger log = LoggerFactory.getLogger(AdminController.class);
     private final AdminService adminService;
     private final MovieService movieService;
+    private final MovieImportService movieImportService;
 
-    public AdminController(AdminService adminService, MovieService movieService) {
+    public AdminController(AdminService adminService, MovieService movieService,
+                           MovieImportService movieImportService) {
         this.adminService = adminService;
         this.movieService = movieService;
+        this.movieImportService = movieImportService;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -174,6 +181,30 @@ public class AdminController {
         return ResponseEntity.ok(movieService.createMovie(dto));
     }
 
+    // Bulk import: a JSON array (application/json), NDJSON (application/x-ndjson) or CSV (text/csv) body,
+    // streamed to disk and imported in the background; poll the returned job for progress and rejected rows
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/movies/import")
+    public ResponseEntity<MovieImportJobDto> importMovies(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        MovieImportJobDto job = movieImportService.startImport(body, contentType);
+        log.info("Received movie import: jobId={}, contentType={}", job.getId(), contentType);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/movies/import/{jobId}")
+    public ResponseEntity<MovieImportJobDto> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(movieImportService.getJob(jobId));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/movies/import/{jobId}/resume")
+    public ResponseEntity<MovieImportJobDto> resumeImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(movieImportService.resume(jobId));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/movies-update/{id}")
     public ResponseEntity<MovieSimpleResponseDto> updateMovie(
@@ -1,7 +1,5 @@
 package com.film_backend.film.controllers;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
 import org.springframework.http.HttpStatus;
@@ -18,15 +16,10 @@ import com.film_backend.film.dtos.request.UserRequestDto;
 import com.film_backend.film.dtos.response.ApiErrorResponse;
 import com.film_backend.film.dtos.response.AuthResponseDto;
 import com.film_backend.film.dtos.response.UserResponseDto;
-import com.film_backend.film.entity.RefreshToken;
-import com.film_backend.film.entity.User;
-import com.film_backend.film.repository.RefreshTokenRepository;
-import com.film_backend.film.repository.TokenBlacklistRepository;
-import com.film_backend.film.repository.UserRepository;
 import com.film_backend.film.security.AuthService;
-import com.film_backend.film.util.JwtUtil;
 import com.film_backend.film.util.TokenUtils;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -34,20 +27,9 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final AuthService authService;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final JwtUtil jwtUtil;
-    private final TokenBlacklistRepository tokenBlacklistRepository;
-    private final UserRepository userRepository;
-    private static final ZoneId ZONE_ID = ZoneId.of("UTC");
 
-    public AuthController(AuthService authService, RefreshTokenRepository refreshTokenRepository, 
-                         JwtUtil jwtUtil, TokenBlacklistRepository tokenBlacklistRepository, 
-                         UserRepository userRepository) {
+    public AuthController(AuthService authService) {
         this.authService = authService;
-        this.refreshTokenRepository = refreshTokenRepository;
-        this.jwtUtil = jwtUtil;
-        this.tokenBlacklistRepository = tokenBlacklistRepository;
-        this.userRepository = userRepository;
     }
 
     @PostMapping("/register/user")
@@ -61,8 +43,8 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto dto) {
-        return ResponseEntity.ok(authService.login(dto));
+    public ResponseEntity<AuthResponseDto> login(@Valid @RequestBody LoginRequestDto dto, HttpServletRequest request) {
+        return ResponseEntity.ok(authService.login(dto, request.getRemoteAddr()));
     }
     
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
@@ -75,35 +57,12 @@ public class AuthController {
             }
             String token = TokenUtils.extractToken(refreshToken);
 
-            // Check if the refresh token is valid (includes blacklist check)
-            String email = jwtUtil.extractEmail(token);
-            if (!jwtUtil.isTokenValid(token, email)) {
-                throw new IllegalArgumentException("Invalid or expired refresh token.");
-            }
-
-            // Find the user
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found."));
-
-            // Generate new access token
-            String newAccessToken = jwtUtil.generateToken(user);
-
-            // Generate new refresh token and delete the old one
-            String newRefreshToken = jwtUtil.generateRefreshToken(user);
-            refreshTokenRepository.deleteByToken(token);
-
-            // Save the new refresh token
-            RefreshToken refreshTokenEntity = new RefreshToken();
-            refreshTokenEntity.setToken(newRefreshToken);
-            refreshTokenEntity.setUser(user);
-            refreshTokenEntity.setCreatedAt(LocalDateTime.now(ZONE_ID));
-            refreshTokenEntity.setExpiresAt(LocalDateTime.now(ZONE_ID).plusSeconds(jwtUtil.getRefreshExpiration()));
-            refreshTokenRepository.save(refreshTokenEntity);
-
+            // Validates the token, consumes it and issues the next one of its family
+            AuthResponseDto rotated = authService.refreshToken(token);
             return ResponseEntity.ok(
                     AuthResponseDto.builder()
-                            .token(newAccessToken) // Changed from .accessToken to .token
-                            .refreshToken(newRefreshToken)
+                            .token(rotated.getToken())
+                            .refreshToken(rotated.getRefreshToken())
                             .build()
             );
         } catch (IllegalArgumentException e) {
@@ -0,0 +1,33 @@
+package com.film_backend.film.controllers;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.film_backend.film.dtos.response.LeaderboardEntryDto;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.service.LeaderboardService;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/{board}")
+    public ResponseEntity<List<LeaderboardEntryDto>> getLeaderboard(
+            @PathVariable String board,
+            @RequestParam(required = false) Genre genre,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(board, genre, limit));
+    }
+}
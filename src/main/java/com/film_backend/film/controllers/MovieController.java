@@ -1,34 +1,161 @@
 package com.film_backend.film.controllers;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import com.film_backend.film.dtos.response.CommentResponseDto;
+import com.film_backend.film.dtos.response.CursorPageResponseDto;
 import com.film_backend.film.dtos.response.MovieDetailResponseDto;
+import com.film_backend.film.dtos.response.MovieFeedItemDto;
+import com.film_backend.film.dtos.response.MovieSearchResponseDto;
 import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
+import com.film_backend.film.dtos.response.MovieSuggestionDto;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.service.CommentService;
+import com.film_backend.film.service.MovieExportService;
 import com.film_backend.film.service.MovieService;
+import com.film_backend.film.util.HttpValidators;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api/movies")
 public class MovieController {
 
+    // Clients may keep the body but must revalidate it; also keeps Spring Security from adding no-store
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     private final MovieService movieService;
+    private final CommentService commentService;
+    private final MovieExportService movieExportService;
+    private final Duration exportTimeout;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, CommentService commentService,
+                           MovieExportService movieExportService,
+                           @Value("${movies.export.timeout:30m}") Duration exportTimeout) {
         this.movieService = movieService;
+        this.commentService = commentService;
+        this.movieExportService = movieExportService;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping("/list")
-    public ResponseEntity<List<MovieSimpleResponseDto>> listMovies(@RequestParam(required = false) String title) {
-        return ResponseEntity.ok(movieService.listSimpleMovies(title));
+    public ResponseEntity<List<MovieSimpleResponseDto>> listMovies(@RequestParam(required = false) String title,
+                                                                   WebRequest request) {
+        if (isNotModified(request, movieService.getSimpleMoviesValidators(title))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(movieService.listSimpleMovies(title));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageResponseDto<MovieSimpleResponseDto>> listMoviesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(movieService.listSimpleMoviesPage(cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<MovieSearchResponseDto> searchMovies(
+            @RequestParam("q") String query,
+            @RequestParam(name = "genre", required = false) Set<Genre> genres,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(movieService.searchMovies(query, genres, page, size));
+    }
+
+    // Whole catalog as NDJSON or CSV, written while it is read from the database (chunked, constant memory).
+    // Runs as an async task with its own timeout; the slot is given back when the stream ends, or when the
+    // request completes without the task having started
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportMovies(@RequestParam(required = false, defaultValue = "ndjson") String format,
+                                           HttpServletResponse response) {
+        MediaType mediaType = movieExportService.mediaType(format);
+        Runnable releaseSlot = movieExportService.reserveSlot();
+        response.setContentType(mediaType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("movies." + format).build().toString());
+        AtomicBoolean started = new AtomicBoolean();
+        WebAsyncTask<Void> task = new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            started.set(true);
+            try {
+                movieExportService.export(format, response.getOutputStream());
+            } finally {
+                releaseSlot.run();
+            }
+            return null;
+        });
+        task.onCompletion(() -> {
+            if (!started.get()) {
+                releaseSlot.run();
+            }
+        });
+        return task;
+    }
+
+    @GetMapping("/browse")
+    public ResponseEntity<CursorPageResponseDto<MovieSimpleResponseDto>> browseMovies(
+            @RequestParam(name = "genre", required = false) Set<Genre> genres,
+            @RequestParam(required = false, defaultValue = "any") String match,
+            @RequestParam(required = false) Integer fromYear,
+            @RequestParam(required = false) Integer toYear,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(movieService.browseMovies(genres, match, fromYear, toYear, minRating, cursor, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<MovieSuggestionDto>> suggestMovies(
+            @RequestParam("q") String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(movieService.suggestTitles(prefix, limit));
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageResponseDto<MovieFeedItemDto>> movieFeed(
+            @RequestParam(required = false, defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(movieService.listMovieFeed(sort, cursor, size));
+    }
+
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<CursorPageResponseDto<CommentResponseDto>> movieComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(commentService.listMovieComments(id, cursor, size));
     }
     @GetMapping("/{id}")
-    public ResponseEntity<MovieDetailResponseDto> getMovieById(@PathVariable Long id) {
-        return ResponseEntity.ok(movieService.getMovieById(id));
+    public ResponseEntity<MovieDetailResponseDto> getMovieById(@PathVariable Long id, WebRequest request) {
+        if (isNotModified(request, movieService.getMovieValidators(id))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(movieService.getMovieById(id));
+    }
+
+    // Also writes the ETag and Last-Modified headers to the response, for 200 and 304 alike
+    private static boolean isNotModified(WebRequest request, HttpValidators validators) {
+        return request.checkNotModified(validators.eTag(), validators.lastModified());
     }
 }
\ No newline at end of file
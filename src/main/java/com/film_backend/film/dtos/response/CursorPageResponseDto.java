@@ -0,0 +1,23 @@
+package com.film_backend.film.dtos.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a cursor-paginated listing. When {@code hasNext} is true, the client fetches
+ * the following page by sending {@code nextCursor} back as the {@code cursor} parameter.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponseDto<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.film_backend.film.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private Long id;
+    private String title;
+    private String posterUrl;
+    private Double averageRating;
+    private Long ratingCount;
+    // Bayesian average for top-rated, rating count for most-reviewed, ratings in the last 24 hours for trending
+    private Double score;
+}
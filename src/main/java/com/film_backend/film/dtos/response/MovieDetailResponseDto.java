@@ -29,5 +29,7 @@ public class MovieDetailResponseDto{
     private Date createdAt; 
     private Date updatedAt; 
     private Double averageRating;
+    // First page of comments, newest first; pass the cursor to /api/movies/{id}/comments for more
     private List<CommentResponseDto> comments;
+    private String commentsNextCursor;
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.film_backend.film.dtos.response;
+
+import java.util.Date;
+import java.util.Set;
+
+import com.film_backend.film.enums.Genre;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieExportDto {
+    private Long id;
+    private String title;
+    private String description;
+    private Set<Genre> genres;
+    private String posterUrl;
+    private String videoUrl;
+    private Integer duration;
+    private Integer releaseYear;
+    private Double averageRating;
+    private Long ratingCount;
+    private Date updatedAt;
+}
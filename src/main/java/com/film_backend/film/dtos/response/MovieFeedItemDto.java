@@ -0,0 +1,21 @@
+package com.film_backend.film.dtos.response;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieFeedItemDto {
+    private Long id;
+    private String title;
+    private String posterUrl;
+    private String videoUrl;
+    private Double averageRating;
+    private Date createdAt;
+}
@@ -0,0 +1,30 @@
+package com.film_backend.film.dtos.response;
+
+import java.util.Date;
+import java.util.List;
+
+import com.film_backend.film.enums.ImportFormat;
+import com.film_backend.film.enums.ImportJobStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImportJobDto {
+    private Long id;
+    private ImportJobStatus status;
+    private ImportFormat format;
+    private Long processedRows;
+    private Long importedRows;
+    private Long failedRows;
+    private String message;
+    private Date createdAt;
+    private Date updatedAt;
+    // The first rejected rows, in row order
+    private List<MovieImportRowErrorDto> errors;
+}
@@ -0,0 +1,15 @@
+package com.film_backend.film.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieImportRowErrorDto {
+    private Long row;
+    private String message;
+}
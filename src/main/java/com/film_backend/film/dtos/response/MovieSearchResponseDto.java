@@ -0,0 +1,28 @@
+package com.film_backend.film.dtos.response;
+
+import java.util.List;
+import java.util.Map;
+
+import com.film_backend.film.enums.Genre;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of ranked search results. {@code genreFacets} counts the text matches per genre before the
+ * genre filter is applied, so clients can show how many results each genre would leave.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieSearchResponseDto {
+    private List<MovieSimpleResponseDto> content;
+    private int page;
+    private int size;
+    private int totalHits;
+    private boolean hasNext;
+    private Map<Genre, Integer> genreFacets;
+}
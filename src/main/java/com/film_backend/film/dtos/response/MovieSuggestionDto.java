@@ -0,0 +1,17 @@
+package com.film_backend.film.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieSuggestionDto {
+    private Long id;
+    private String title;
+    private String posterUrl;
+    private Double averageRating;
+}
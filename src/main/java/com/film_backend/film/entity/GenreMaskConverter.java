@@ -0,0 +1,47 @@
+package com.film_backend.film.entity;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.film_backend.film.enums.Genre;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a set of genres as one integer: bit {@code ordinal} is set for each genre in the set.
+ */
+@Converter
+public class GenreMaskConverter implements AttributeConverter<Set<Genre>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Genre> genres) {
+        return mask(genres);
+    }
+
+    @Override
+    public Set<Genre> convertToEntityAttribute(Integer mask) {
+        return genres(mask == null ? 0 : mask);
+    }
+
+    public static int mask(Collection<Genre> genres) {
+        int mask = 0;
+        if (genres != null) {
+            for (Genre genre : genres) {
+                mask |= 1 << genre.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    public static EnumSet<Genre> genres(int mask) {
+        EnumSet<Genre> genres = EnumSet.noneOf(Genre.class);
+        for (Genre genre : Genre.values()) {
+            if ((mask & (1 << genre.ordinal())) != 0) {
+                genres.add(genre);
+            }
+        }
+        return genres;
+    }
+}
@@ -1,41 +1,53 @@
 package com.film_backend.film.entity;
 
 import java.util.Date;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.film_backend.film.enums.Genre;
 
 import jakarta.persistence.CascadeType;
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "movies")
+@DynamicUpdate
+@Table(name = "movies", indexes = {
+    @Index(name = "idx_movies_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_movies_average_rating_id", columnList = "average_rating, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Movie {
+    public static final String ID_SEQUENCE = "movies_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // A pooled sequence instead of IDENTITY: ids are known before the insert, so Hibernate can batch inserts,
+    // and one nextval reserves ID_ALLOCATION_SIZE ids. MovieIdSequenceMigration keeps it ahead of existing rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -44,14 +56,12 @@ public class Movie {
     @Column(nullable = false)
     private String description;
     
-    @ElementCollection(targetClass = Genre.class)
-    @Enumerated(EnumType.STRING)
-    @CollectionTable(
-        name = "movie_genres",
-        joinColumns = @JoinColumn(name = "movie_id")
-    )
-    @Column(name = "genre")
-    private Set<Genre> genres = new HashSet<Genre>();
+    // One bit per genre on the movie row instead of a movie_genres table, so a movie loads with a single-row read
+    @Builder.Default
+    @Convert(converter = GenreMaskConverter.class)
+    @ColumnDefault("0")
+    @Column(name = "genre_mask", nullable = false)
+    private Set<Genre> genres = EnumSet.noneOf(Genre.class);
 
     @Column
     private String posterUrl;
@@ -71,19 +81,26 @@ public class Movie {
     @Column
     private Date updatedAt;
     
+    // Derived from ratingSum / ratingCount, which are maintained incrementally as comments are posted.
+    // The rating columns are written only by MovieRepository's aggregate updates, never by entity flushes,
+    // so saving a stale Movie cannot revert ratings posted concurrently.
+    @Column(updatable = false)
     private Double averageRating; 
 
-    public void updateAverageRating(List<Comment> comments) {
-        if (comments.isEmpty()) {
-            this.averageRating = null;
-        } else {
-            double avg = comments.stream()
-                    .mapToInt(Comment::getRate)
-                    .average()
-                    .orElse(0);
-            this.averageRating = avg;
-        }
-    }
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long ratingCount = 0L;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL)
     private List<Comment> comments;
@@ -0,0 +1,40 @@
+package com.film_backend.film.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an import that was rejected, by its 1-based position among the data rows of the upload.
+ */
+@Entity
+@Table(name = "movie_import_errors", indexes = {
+    @Index(name = "idx_movie_import_errors_job_row", columnList = "job_id, row_num")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieImportError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "row_num", nullable = false)
+    private long rowNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
@@ -0,0 +1,83 @@
+package com.film_backend.film.entity;
+
+import java.util.Date;
+
+import com.film_backend.film.enums.ImportFormat;
+import com.film_backend.film.enums.ImportJobStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bulk movie import. The uploaded file stays at {@code sourcePath} until the job completes, and
+ * {@code processedRows} is committed together with each batch of inserted movies, so a resumed job
+ * skips exactly the rows that are already in the database.
+ */
+@Entity
+@Table(name = "movie_import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportFormat format;
+
+    @Column(nullable = false)
+    private String sourcePath;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long processedRows = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long importedRows = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private long failedRows = 0;
+
+    // Why the job stopped, when it failed
+    @Column(length = 1000)
+    private String message;
+
+    @Column
+    private Date createdAt;
+
+    @Column
+    private Date updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = new Date();
+        updatedAt = new Date();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = new Date();
+    }
+}
@@ -1,32 +1,47 @@
 package com.film_backend.film.entity;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * An issued refresh token, stored as the SHA-256 digest of the token string. Tokens rotated from the
+ * same login share a family, which is revoked as a whole when a used token is presented again.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_token_hashes", indexes = {
+    @Index(name = "idx_refresh_token_hashes_family_id", columnList = "family_id"),
+    @Index(name = "idx_refresh_token_hashes_user_id", columnList = "user_id")
+})
 @Getter
 @Setter
 public class RefreshToken {
 
+    public static final int HASH_LENGTH = 32;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = HASH_LENGTH)
+    private byte[] tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -35,4 +50,8 @@ public class RefreshToken {
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
-}
\ No newline at end of file
+
+    // Set when the token is exchanged for its successor
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+}
@@ -2,6 +2,8 @@ package com.film_backend.film.entity;
 
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.film_backend.film.enums.Role;
 
 import jakarta.persistence.CascadeType;
@@ -46,6 +48,12 @@ public class User {
     @Column(length = 255)
     private String profilePicture = "/default.png";
 
+    // Carried in issued tokens as the "ver" claim; bumped only through UserRepository.incrementTokenVersion
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long tokenVersion = 0L;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private List<Comment> comments;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.film_backend.film.enums;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
+// Persisted by ordinal in movies.genre_mask (see GenreMaskConverter): add new genres at the end, never reorder
 public enum Genre {
     ACTION, DRAMA, COMEDY, HORROR, SCIFI, ROMANCE, THRILLER;
 
@@ -0,0 +1,5 @@
+package com.film_backend.film.enums;
+
+public enum ImportFormat {
+    JSON, NDJSON, CSV
+}
@@ -0,0 +1,5 @@
+package com.film_backend.film.enums;
+
+public enum ImportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
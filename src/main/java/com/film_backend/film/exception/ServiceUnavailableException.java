@@ -0,0 +1,7 @@
+package com.film_backend.film.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,168 @@
+package com.film_backend.film.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.film_backend.film.dtos.request.MovieRequestDto;
+import com.film_backend.film.enums.Genre;
+
+/**
+ * RFC 4180 CSV with a header row naming MovieRequestDto fields in any order and case. Quoted fields may
+ * contain commas, doubled quotes and line breaks; genres are separated by '|'. Blank lines are skipped.
+ * The id and rating columns of a catalog export are accepted and ignored, so an export can be imported again.
+ */
+class CsvImportReader implements MovieImportReader {
+
+    private static final List<String> COLUMNS = List.of(
+            "title", "description", "genres", "posterurl", "videourl", "duration", "releaseyear");
+    // Written by MovieExportService; a new movie gets its own id and no ratings
+    private static final List<String> EXPORT_ONLY_COLUMNS = List.of("id", "averagerating", "ratingcount");
+
+    private final BufferedReader reader;
+    // Field per column, null for the ignored export-only ones
+    private final String[] header;
+    private long rowNumber;
+
+    CsvImportReader(Reader reader) throws IOException {
+        this.reader = new BufferedReader(reader);
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new IOException("CSV header row is missing");
+        }
+        header = new String[names.size()];
+        for (int i = 0; i < header.length; i++) {
+            String name = names.get(i).strip().toLowerCase(Locale.ROOT);
+            if (EXPORT_ONLY_COLUMNS.contains(name)) {
+                continue;
+            }
+            if (!COLUMNS.contains(name)) {
+                throw new IOException("Unknown CSV column: " + names.get(i).strip());
+            }
+            header[i] = name;
+        }
+    }
+
+    @Override
+    public MovieImportRow next() throws IOException {
+        List<String> values;
+        do {
+            values = readRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isBlank());
+        rowNumber++;
+        if (values.size() != header.length) {
+            return MovieImportRow.rejected(rowNumber,
+                    "Expected " + header.length + " columns but found " + values.size());
+        }
+        MovieRequestDto movie = new MovieRequestDto();
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] == null) {
+                continue;
+            }
+            String value = values.get(i).isEmpty() ? null : values.get(i);
+            String error = set(movie, header[i], value);
+            if (error != null) {
+                return MovieImportRow.rejected(rowNumber, error);
+            }
+        }
+        return MovieImportRow.parsed(rowNumber, movie);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Returns an error message, or null when the value was set
+    private static String set(MovieRequestDto movie, String column, String value) {
+        switch (column) {
+            case "title" -> movie.setTitle(value);
+            case "description" -> movie.setDescription(value);
+            case "posterurl" -> movie.setPosterUrl(value);
+            case "videourl" -> movie.setVideoUrl(value);
+            case "genres" -> {
+                if (value == null) {
+                    return null;
+                }
+                Set<Genre> genres = EnumSet.noneOf(Genre.class);
+                for (String name : value.split("\\|")) {
+                    try {
+                        genres.add(Genre.valueOf(name.strip().toUpperCase(Locale.ROOT)));
+                    } catch (IllegalArgumentException e) {
+                        return "Unknown genre: " + name.strip();
+                    }
+                }
+                movie.setGenres(genres);
+            }
+            default -> {
+                Integer number;
+                try {
+                    number = value == null ? null : Integer.valueOf(value.strip());
+                } catch (NumberFormatException e) {
+                    return "Invalid number for " + column + ": " + value;
+                }
+                if (column.equals("duration")) {
+                    movie.setDuration(number);
+                } else {
+                    movie.setReleaseYear(number);
+                }
+            }
+        }
+        return null;
+    }
+
+    // The fields of the next record, or null at the end of the input
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field after row " + rowNumber);
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
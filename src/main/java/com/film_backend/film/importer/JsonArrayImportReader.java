@@ -0,0 +1,53 @@
+package com.film_backend.film.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.dtos.request.MovieRequestDto;
+
+/**
+ * A JSON array of movie objects. Each element is read as a tree first, so a value that does not map to
+ * MovieRequestDto rejects only its own row; malformed JSON ends the import.
+ */
+class JsonArrayImportReader implements MovieImportReader {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private long rowNumber;
+
+    JsonArrayImportReader(Reader reader, ObjectMapper objectMapper) throws IOException {
+        this.parser = objectMapper.getFactory().createParser(reader);
+        this.objectMapper = objectMapper;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of movies");
+        }
+    }
+
+    @Override
+    public MovieImportRow next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        rowNumber++;
+        JsonNode node = objectMapper.readTree(parser);
+        if (!node.isObject()) {
+            return MovieImportRow.rejected(rowNumber, "Expected a JSON object");
+        }
+        try {
+            return MovieImportRow.parsed(rowNumber, objectMapper.treeToValue(node, MovieRequestDto.class));
+        } catch (JsonProcessingException e) {
+            return MovieImportRow.rejected(rowNumber, MovieImportReader.describe(e));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
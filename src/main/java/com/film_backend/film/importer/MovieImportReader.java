@@ -0,0 +1,43 @@
+package com.film_backend.film.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.enums.ImportFormat;
+
+/**
+ * Streams the movies of an upload one row at a time, so an import never holds the whole file in memory.
+ *
+ * <p>A row that cannot be parsed is returned with an error and the reader moves on to the next one. An
+ * {@link IOException} means the file itself is unreadable past this point, e.g. a truncated JSON array.
+ */
+public interface MovieImportReader extends Closeable {
+
+    /**
+     * The next row, or null after the last one.
+     */
+    MovieImportRow next() throws IOException;
+
+    static MovieImportReader open(ImportFormat format, Reader reader, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case JSON -> new JsonArrayImportReader(reader, objectMapper);
+            case NDJSON -> new NdjsonImportReader(reader, objectMapper);
+            case CSV -> new CsvImportReader(reader);
+        };
+    }
+
+    // "Invalid value for genres" rather than Jackson's message with the source location and target type
+    static String describe(JsonProcessingException e) {
+        if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+            JsonMappingException.Reference field = mapping.getPath().get(0);
+            if (field.getFieldName() != null) {
+                return "Invalid value for " + field.getFieldName();
+            }
+        }
+        return e.getOriginalMessage();
+    }
+}
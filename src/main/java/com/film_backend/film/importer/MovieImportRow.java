@@ -0,0 +1,17 @@
+package com.film_backend.film.importer;
+
+import com.film_backend.film.dtos.request.MovieRequestDto;
+
+/**
+ * One data row of an upload, numbered from 1: either the parsed movie or why it could not be parsed.
+ */
+public record MovieImportRow(long rowNumber, MovieRequestDto movie, String error) {
+
+    static MovieImportRow parsed(long rowNumber, MovieRequestDto movie) {
+        return new MovieImportRow(rowNumber, movie, null);
+    }
+
+    static MovieImportRow rejected(long rowNumber, String error) {
+        return new MovieImportRow(rowNumber, null, error);
+    }
+}
@@ -0,0 +1,46 @@
+package com.film_backend.film.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.dtos.request.MovieRequestDto;
+
+/**
+ * One movie object per line. Blank lines are skipped and do not count as rows.
+ */
+class NdjsonImportReader implements MovieImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long rowNumber;
+
+    NdjsonImportReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public MovieImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        rowNumber++;
+        try {
+            return MovieImportRow.parsed(rowNumber, objectMapper.readValue(line, MovieRequestDto.class));
+        } catch (JsonProcessingException e) {
+            return MovieImportRow.rejected(rowNumber, MovieImportReader.describe(e));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
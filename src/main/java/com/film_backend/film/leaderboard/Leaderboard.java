@@ -0,0 +1,26 @@
+package com.film_backend.film.leaderboard;
+
+public enum Leaderboard {
+    TOP_RATED("top-rated"),
+    MOST_REVIEWED("most-reviewed"),
+    TRENDING("trending");
+
+    private final String path;
+
+    Leaderboard(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public static Leaderboard fromPath(String path) {
+        for (Leaderboard leaderboard : values()) {
+            if (leaderboard.path.equals(path)) {
+                return leaderboard;
+            }
+        }
+        throw new IllegalArgumentException("Unknown leaderboard: " + path);
+    }
+}
@@ -0,0 +1,333 @@
+package com.film_backend.film.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.film_backend.film.dtos.response.LeaderboardEntryDto;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.repository.CommentRepository;
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.util.TransactionCallbacks;
+
+/**
+ * Process-local leaderboards, overall and per genre, kept current by comment creation and the movie write
+ * paths.
+ *
+ * <p>Every board is a bounded {@link TopK} updated in O(log K) per rating, and trending counts come from a
+ * {@link RollingCounter} of hourly buckets. Readers never see those structures: {@link #publish()}
+ * copies the top entries of each changed board into an immutable snapshot on a fixed delay, so reads
+ * are a map lookup and can lag writes by one snapshot interval. The boards are seeded from the database
+ * when the application starts and reseeded on a schedule, which picks up writes made by other nodes.
+ */
+@Component
+public class LeaderboardIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardIndex.class);
+    private static final int TRENDING_HOURS = 24;
+
+    private final MovieRepository movieRepository;
+    private final CommentRepository commentRepository;
+    private final boolean enabled;
+    private final int size;
+    private final int batchSize;
+
+    // Guarded by this; boards keep twice the served size so that falling scores rarely force a refill
+    private Map<Long, MovieStanding> standings = new HashMap<>();
+    private RollingCounter trending = new RollingCounter(TRENDING_HOURS);
+    private final Map<BoardKey, TopK> boards = new HashMap<>();
+    private final Set<BoardKey> changed = new HashSet<>();
+    // Movies written while a reseed loads; their in-memory standing wins over the loaded one
+    private Set<Long> touchedDuringBuild;
+
+    private volatile Map<BoardKey, List<LeaderboardEntryDto>> snapshot = Map.of();
+    private volatile boolean ready;
+
+    public LeaderboardIndex(MovieRepository movieRepository, CommentRepository commentRepository,
+                            @Value("${leaderboards.enabled:true}") boolean enabled,
+                            @Value("${leaderboards.size:100}") int size,
+                            @Value("${leaderboards.batch-size:1000}") int batchSize) {
+        this.movieRepository = movieRepository;
+        this.commentRepository = commentRepository;
+        this.enabled = enabled;
+        this.size = size;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The first {@code limit} entries of a board as of the last snapshot; {@code genre} null is the
+     * overall board.
+     */
+    public List<LeaderboardEntryDto> top(Leaderboard leaderboard, Genre genre, int limit) {
+        List<LeaderboardEntryDto> entries = snapshot.getOrDefault(new BoardKey(leaderboard, genre), List.of());
+        return entries.size() <= limit ? entries : entries.subList(0, limit);
+    }
+
+    public void record(Long movieId, int rate) {
+        long now = System.currentTimeMillis();
+        TransactionCallbacks.afterCommit(() -> applyRating(movieId, rate, now));
+    }
+
+    public void update(Movie movie) {
+        TransactionCallbacks.afterCommit(() -> applyMovie(movie));
+    }
+
+    public void remove(Long movieId) {
+        TransactionCallbacks.afterCommit(() -> applyRemoval(movieId));
+    }
+
+    synchronized void applyRating(Long movieId, int rate, long now) {
+        touch(movieId);
+        MovieStanding standing = standings.get(movieId);
+        if (standing == null) {
+            // Created on another node or during a reseed; the next reseed loads it
+            return;
+        }
+        standing = standing.withRating(rate);
+        standings.put(movieId, standing);
+        offerRated(standing);
+        if (trending.add(movieId, now)) {
+            rebuildTrending();
+        } else {
+            offer(Leaderboard.TRENDING, standing, trending.count(movieId));
+        }
+    }
+
+    synchronized void applyMovie(Movie movie) {
+        touch(movie.getId());
+        MovieStanding standing = MovieStanding.of(movie, standings.get(movie.getId()));
+        removeFromBoards(movie.getId());
+        standings.put(standing.id(), standing);
+        offerRated(standing);
+        offer(Leaderboard.TRENDING, standing, trending.count(standing.id()));
+    }
+
+    synchronized void applyRemoval(Long movieId) {
+        touch(movieId);
+        removeFromBoards(movieId);
+        standings.remove(movieId);
+        trending.remove(movieId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Reloads rating totals and the last day of ratings in keyset batches, then refills every board.
+     * Reads keep using the previous snapshot meanwhile.
+     */
+    @Scheduled(cron = "${leaderboards.rebuild-cron:0 50 * * * ?}") // Every hour by default
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            touchedDuringBuild = new HashSet<>();
+        }
+        try {
+            long now = System.currentTimeMillis();
+            Map<Long, MovieStanding> loaded = new HashMap<>();
+            List<MovieStanding> batch;
+            long afterId = 0;
+            do {
+                batch = movieRepository.findStandingsAfter(afterId, PageRequest.of(0, batchSize));
+                batch.forEach(standing -> loaded.put(standing.id(), standing));
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == batchSize);
+
+            RollingCounter counter = new RollingCounter(TRENDING_HOURS);
+            counter.advance(now);
+            Date since = new Date(now - TRENDING_HOURS * RollingCounter.BUCKET_MILLIS);
+            List<CommentRepository.RatingTime> ratings;
+            afterId = 0;
+            do {
+                ratings = commentRepository.findRatedSince(since, afterId, PageRequest.of(0, batchSize));
+                ratings.forEach(rating -> counter.add(rating.getMovieId(), rating.getCreatedAt().getTime()));
+                if (!ratings.isEmpty()) {
+                    afterId = ratings.get(ratings.size() - 1).getId();
+                }
+            } while (ratings.size() == batchSize);
+
+            synchronized (this) {
+                for (Long movieId : touchedDuringBuild) {
+                    MovieStanding live = standings.get(movieId);
+                    if (live != null) {
+                        loaded.put(movieId, live);
+                    } else {
+                        loaded.remove(movieId);
+                    }
+                }
+                standings = loaded;
+                trending = counter;
+                boards.clear();
+                standings.values().forEach(standing -> {
+                    offerRated(standing);
+                    offer(Leaderboard.TRENDING, standing, trending.count(standing.id()));
+                });
+                touchedDuringBuild = null;
+            }
+            publish();
+            ready = true;
+            log.info("Leaderboards built with {} movies.", loaded.size());
+        } finally {
+            synchronized (this) {
+                touchedDuringBuild = null;
+            }
+        }
+    }
+
+    /**
+     * Copies the boards that changed since the last call into a new snapshot, and expires trending hours.
+     */
+    @Scheduled(fixedDelayString = "${leaderboards.snapshot-interval-ms:5000}")
+    public synchronized void publish() {
+        if (trending.advance(System.currentTimeMillis())) {
+            rebuildTrending();
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        Map<BoardKey, List<LeaderboardEntryDto>> next = new HashMap<>(snapshot);
+        for (BoardKey key : changed) {
+            TopK board = boards.get(key);
+            if (board != null && !board.isExact(size)) {
+                refill(key);
+            }
+            List<LeaderboardEntryDto> entries = new ArrayList<>();
+            if (board != null) {
+                for (TopK.Entry entry : board.top(size)) {
+                    entries.add(toDto(standings.get(entry.movieId()), entry.score()));
+                }
+            }
+            next.put(key, List.copyOf(entries));
+        }
+        changed.clear();
+        snapshot = Map.copyOf(next);
+    }
+
+    private void offerRated(MovieStanding standing) {
+        if (standing.ratingCount() > 0) {
+            offer(Leaderboard.TOP_RATED, standing, standing.topRatedScore());
+            offer(Leaderboard.MOST_REVIEWED, standing, standing.ratingCount());
+        }
+    }
+
+    private void offer(Leaderboard leaderboard, MovieStanding standing, double score) {
+        if (score <= 0) {
+            return;
+        }
+        offer(new BoardKey(leaderboard, null), standing.id(), score);
+        for (Genre genre : standing.genres()) {
+            offer(new BoardKey(leaderboard, genre), standing.id(), score);
+        }
+    }
+
+    private void offer(BoardKey key, long movieId, double score) {
+        boards.computeIfAbsent(key, k -> new TopK(2 * size)).offer(movieId, score);
+        changed.add(key);
+    }
+
+    private void removeFromBoards(Long movieId) {
+        MovieStanding standing = standings.get(movieId);
+        if (standing == null) {
+            return;
+        }
+        for (Leaderboard leaderboard : Leaderboard.values()) {
+            removeFromBoard(new BoardKey(leaderboard, null), movieId);
+            for (Genre genre : standing.genres()) {
+                removeFromBoard(new BoardKey(leaderboard, genre), movieId);
+            }
+        }
+    }
+
+    private void removeFromBoard(BoardKey key, Long movieId) {
+        TopK board = boards.get(key);
+        if (board != null) {
+            board.remove(movieId);
+            changed.add(key);
+        }
+    }
+
+    // Expired hours only lower trending scores, which a bounded board cannot follow; start those boards over
+    private void rebuildTrending() {
+        boards.keySet().stream()
+                .filter(key -> key.leaderboard() == Leaderboard.TRENDING)
+                .forEach(changed::add);
+        boards.keySet().removeIf(key -> key.leaderboard() == Leaderboard.TRENDING);
+        trending.totals().forEach((movieId, count) -> {
+            MovieStanding standing = standings.get(movieId);
+            if (standing != null) {
+                offer(Leaderboard.TRENDING, standing, count);
+            }
+        });
+    }
+
+    // Scans every standing; needed only when enough tracked scores fell below ones the board turned away
+    private void refill(BoardKey key) {
+        TopK board = boards.get(key);
+        board.clear();
+        for (MovieStanding standing : standings.values()) {
+            if (key.genre() != null && !standing.genres().contains(key.genre())) {
+                continue;
+            }
+            double score = score(key.leaderboard(), standing);
+            if (score > 0) {
+                board.offer(standing.id(), score);
+            }
+        }
+    }
+
+    private double score(Leaderboard leaderboard, MovieStanding standing) {
+        return switch (leaderboard) {
+            case TOP_RATED -> standing.ratingCount() > 0 ? standing.topRatedScore() : 0;
+            case MOST_REVIEWED -> standing.ratingCount();
+            case TRENDING -> trending.count(standing.id());
+        };
+    }
+
+    private void touch(Long movieId) {
+        if (touchedDuringBuild != null) {
+            touchedDuringBuild.add(movieId);
+        }
+    }
+
+    private static LeaderboardEntryDto toDto(MovieStanding standing, double score) {
+        return LeaderboardEntryDto.builder()
+                .id(standing.id())
+                .title(standing.title())
+                .posterUrl(standing.posterUrl())
+                .averageRating(standing.averageRating())
+                .ratingCount(standing.ratingCount())
+                .score(score)
+                .build();
+    }
+
+    private record BoardKey(Leaderboard leaderboard, Genre genre) {
+    }
+}
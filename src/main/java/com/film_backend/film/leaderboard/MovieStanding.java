@@ -0,0 +1,38 @@
+package com.film_backend.film.leaderboard;
+
+import java.util.Set;
+
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.util.RatingScores;
+
+/**
+ * What the leaderboards know about one movie: display fields, genres and rating totals.
+ */
+public record MovieStanding(Long id, String title, String posterUrl, Set<Genre> genres, long ratingSum,
+                            long ratingCount) {
+
+    public MovieStanding {
+        genres = Set.copyOf(genres);
+    }
+
+    // Rating totals stay the ones counted in memory; the movie row can lag behind under write-behind
+    static MovieStanding of(Movie movie, MovieStanding previous) {
+        long ratingSum = previous != null ? previous.ratingSum() : movie.getRatingSum();
+        long ratingCount = previous != null ? previous.ratingCount() : movie.getRatingCount();
+        return new MovieStanding(movie.getId(), movie.getTitle(), movie.getPosterUrl(), movie.getGenres(),
+                ratingSum, ratingCount);
+    }
+
+    MovieStanding withRating(int rate) {
+        return new MovieStanding(id, title, posterUrl, genres, ratingSum + rate, ratingCount + 1);
+    }
+
+    Double averageRating() {
+        return ratingCount == 0 ? null : (double) ratingSum / ratingCount;
+    }
+
+    double topRatedScore() {
+        return RatingScores.bayesianAverage(ratingSum, ratingCount);
+    }
+}
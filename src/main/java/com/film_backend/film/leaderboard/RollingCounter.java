@@ -0,0 +1,81 @@
+package com.film_backend.film.leaderboard;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-movie event counts over the last {@code buckets} hours. Not thread-safe.
+ *
+ * <p>Events land in the bucket of their hour; advancing the clock past a bucket subtracts its counts
+ * from the running totals, so {@link #count} is a map lookup however many events the window holds.
+ */
+final class RollingCounter {
+
+    static final long BUCKET_MILLIS = 3_600_000L;
+
+    private final Map<Long, Integer>[] buckets;
+    private final Map<Long, Integer> totals = new HashMap<>();
+    private long currentHour = Long.MIN_VALUE;
+
+    @SuppressWarnings("unchecked")
+    RollingCounter(int buckets) {
+        this.buckets = new Map[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * Counts one event at {@code timeMillis}, moving the window forward if needed. Events older than the
+     * window are ignored. Returns whether buckets expired.
+     */
+    boolean add(long movieId, long timeMillis) {
+        long hour = Math.floorDiv(timeMillis, BUCKET_MILLIS);
+        boolean expired = advance(timeMillis);
+        if (hour <= currentHour - buckets.length) {
+            return expired;
+        }
+        buckets[Math.floorMod(hour, buckets.length)].merge(movieId, 1, Integer::sum);
+        totals.merge(movieId, 1, Integer::sum);
+        return expired;
+    }
+
+    /**
+     * Moves the window so that it ends at {@code nowMillis}. Returns whether buckets expired.
+     */
+    boolean advance(long nowMillis) {
+        long hour = Math.floorDiv(nowMillis, BUCKET_MILLIS);
+        if (hour <= currentHour) {
+            return false;
+        }
+        boolean expired = false;
+        if (currentHour != Long.MIN_VALUE) {
+            for (long h = currentHour + 1; h <= hour && h <= currentHour + buckets.length; h++) {
+                Map<Long, Integer> bucket = buckets[Math.floorMod(h, buckets.length)];
+                expired |= !bucket.isEmpty();
+                bucket.forEach((movieId, count) -> totals.computeIfPresent(movieId, (id, total) -> {
+                    int left = total - count;
+                    return left == 0 ? null : left;
+                }));
+                bucket.clear();
+            }
+        }
+        currentHour = hour;
+        return expired;
+    }
+
+    int count(long movieId) {
+        return totals.getOrDefault(movieId, 0);
+    }
+
+    Map<Long, Integer> totals() {
+        return totals;
+    }
+
+    void remove(long movieId) {
+        totals.remove(movieId);
+        for (Map<Long, Integer> bucket : buckets) {
+            bucket.remove(movieId);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.film_backend.film.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The highest-scoring movies of one leaderboard, bounded to a capacity. Not thread-safe.
+ *
+ * <p>Scores may go down as well as up, so the board also remembers {@code floor}, the best score it has
+ * turned away or evicted: no untracked movie can score higher. As long as the k-th tracked score is at
+ * least the floor, the first k entries are exact; otherwise {@link #isExact} is false and the owner
+ * refills the board from the full set of scores.
+ */
+final class TopK {
+
+    record Entry(long movieId, double score) {
+    }
+
+    private static final Comparator<Entry> BY_SCORE = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparingLong(Entry::movieId);
+
+    private final int capacity;
+    private final TreeSet<Entry> ranked = new TreeSet<>(BY_SCORE);
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private double floor = Double.NEGATIVE_INFINITY;
+
+    TopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void offer(long movieId, double score) {
+        Entry previous = entries.remove(movieId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        Entry entry = new Entry(movieId, score);
+        if (ranked.size() == capacity && BY_SCORE.compare(entry, ranked.last()) > 0) {
+            floor = Math.max(floor, score);
+            return;
+        }
+        ranked.add(entry);
+        entries.put(movieId, entry);
+        if (ranked.size() > capacity) {
+            Entry evicted = ranked.pollLast();
+            entries.remove(evicted.movieId());
+            floor = Math.max(floor, evicted.score());
+        }
+    }
+
+    void remove(long movieId) {
+        Entry previous = entries.remove(movieId);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+    }
+
+    boolean isExact(int k) {
+        if (floor == Double.NEGATIVE_INFINITY) {
+            return true;
+        }
+        if (ranked.size() < k) {
+            return false;
+        }
+        int rank = 0;
+        for (Entry entry : ranked) {
+            if (++rank == k) {
+                return entry.score() >= floor;
+            }
+        }
+        return true;
+    }
+
+    List<Entry> top(int k) {
+        List<Entry> top = new ArrayList<>(Math.min(k, ranked.size()));
+        for (Entry entry : ranked) {
+            if (top.size() == k) {
+                break;
+            }
+            top.add(entry);
+        }
+        return top;
+    }
+
+    void clear() {
+        ranked.clear();
+        entries.clear();
+        floor = Double.NEGATIVE_INFINITY;
+    }
+}
@@ -1,22 +1,16 @@
 package com.film_backend.film.mapper;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.springframework.stereotype.Component;
 
 import com.film_backend.film.dtos.request.MovieRequestDto;
+import com.film_backend.film.dtos.response.CommentResponseDto;
+import com.film_backend.film.dtos.response.CursorPageResponseDto;
 import com.film_backend.film.dtos.response.MovieDetailResponseDto;
 import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
 import com.film_backend.film.entity.Movie;
 
-import lombok.RequiredArgsConstructor;
-
 @Component
-@RequiredArgsConstructor
 public class MovieMapper {
-	
-	private final CommentMapper commentMapper;
 
 	public Movie toEntity(MovieRequestDto dto) {
 	    if (dto.getGenres() == null || dto.getGenres().isEmpty()) {
@@ -45,7 +39,8 @@ public class MovieMapper {
                 .build();
     }
 
-    public MovieDetailResponseDto toDetailDTO(Movie movie) {
+    // Takes the comments page instead of walking movie.getComments(), which loads every comment and its user
+    public MovieDetailResponseDto toDetailDTO(Movie movie, CursorPageResponseDto<CommentResponseDto> comments) {
         return MovieDetailResponseDto.builder()
                 .id(movie.getId())
                 .title(movie.getTitle())
@@ -58,10 +53,8 @@ public class MovieMapper {
                 .createdAt(movie.getCreatedAt())
                 .updatedAt(movie.getUpdatedAt())
                 .averageRating(movie.getAverageRating())
-                .comments(movie.getComments() == null ? List.of() :
-                        movie.getComments().stream()
-                             .map(commentMapper::toDTO)
-                             .collect(Collectors.toList()))
+                .comments(comments.getContent())
+                .commentsNextCursor(comments.getNextCursor())
                 .build();
     }
 }
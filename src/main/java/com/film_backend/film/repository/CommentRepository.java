@@ -1,13 +1,46 @@
 package com.film_backend.film.repository;
 
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.film_backend.film.dtos.response.CommentResponseDto;
 import com.film_backend.film.entity.Comment;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-	List<Comment> findByMovieId(Long movieId);
-}
\ No newline at end of file
+
+    String SELECT_COMMENT_DTO = "select new com.film_backend.film.dtos.response.CommentResponseDto("
+            + "c.id, u.username, c.content, c.createdAt, c.updatedAt, c.rate, u.id, c.movie.id) "
+            + "from Comment c join c.user u ";
+
+    @EntityGraph(Comment.WITH_USER)
+    List<Comment> findByMovieId(Long movieId);
+
+    // Newest-first comment feed of a movie, served by idx_comments_movie_created_at_id
+    @Query(SELECT_COMMENT_DTO + "where c.movie.id = :movieId order by c.createdAt desc, c.id desc")
+    List<CommentResponseDto> findFeedFirstPage(@Param("movieId") Long movieId, Pageable pageable);
+
+    @Query(SELECT_COMMENT_DTO + "where c.movie.id = :movieId "
+            + "and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id)) "
+            + "order by c.createdAt desc, c.id desc")
+    List<CommentResponseDto> findFeedPageAfter(@Param("movieId") Long movieId, @Param("createdAt") Date createdAt,
+                                               @Param("id") Long id, Pageable pageable);
+
+    // Trending leaderboard loading: when each recent rating was posted, in keyset batches
+    @Query("select c.id as id, c.movie.id as movieId, c.createdAt as createdAt from Comment c "
+            + "where c.createdAt >= :since and c.id > :afterId order by c.id")
+    List<RatingTime> findRatedSince(@Param("since") Date since, @Param("afterId") Long afterId, Pageable pageable);
+
+    interface RatingTime {
+        Long getId();
+        Long getMovieId();
+        Date getCreatedAt();
+    }
+}
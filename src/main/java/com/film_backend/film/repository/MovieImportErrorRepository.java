@@ -0,0 +1,15 @@
+package com.film_backend.film.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.film_backend.film.entity.MovieImportError;
+
+@Repository
+public interface MovieImportErrorRepository extends JpaRepository<MovieImportError, Long> {
+
+    List<MovieImportError> findByJobIdOrderByRowNumber(Long jobId, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package com.film_backend.film.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.film_backend.film.entity.MovieImportJob;
+import com.film_backend.film.enums.ImportJobStatus;
+
+@Repository
+public interface MovieImportJobRepository extends JpaRepository<MovieImportJob, Long> {
+
+    List<MovieImportJob> findByStatusInOrderById(Collection<ImportJobStatus> statuses);
+}
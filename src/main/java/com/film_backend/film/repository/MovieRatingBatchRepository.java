@@ -0,0 +1,20 @@
+package com.film_backend.film.repository;
+
+import java.util.List;
+
+/**
+ * Batched rating aggregate updates used by the write-behind rating path.
+ */
+public interface MovieRatingBatchRepository {
+
+    /**
+     * Accumulated ratings of one movie since the last flush.
+     */
+    record RatingDelta(Long movieId, long sum, long count) {
+    }
+
+    /**
+     * Applies all deltas in a single JDBC batch and transaction: either every delta is applied or none is.
+     */
+    void applyRatingDeltas(List<RatingDelta> deltas);
+}
@@ -0,0 +1,31 @@
+package com.film_backend.film.repository;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class MovieRatingBatchRepositoryImpl implements MovieRatingBatchRepository {
+
+    private static final String APPLY_DELTA_SQL = "update movies set rating_sum = rating_sum + ?, "
+            + "rating_count = rating_count + ?, "
+            + "average_rating = cast(rating_sum + ? as double precision) / (rating_count + ?) "
+            + "where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void applyRatingDeltas(List<RatingDelta> deltas) {
+        // A stable id order keeps concurrent flushes from different nodes from deadlocking on row locks
+        List<Object[]> args = deltas.stream()
+                .sorted(Comparator.comparing(RatingDelta::movieId))
+                .map(delta -> new Object[] {delta.sum(), delta.count(), delta.sum(), delta.count(), delta.movieId()})
+                .toList();
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, args);
+    }
+}
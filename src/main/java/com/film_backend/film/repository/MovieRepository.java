@@ -1,20 +1,174 @@
 package com.film_backend.film.repository;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.film_backend.film.dtos.response.MovieExportDto;
+import com.film_backend.film.dtos.response.MovieFeedItemDto;
+import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
 import com.film_backend.film.entity.Movie;
+import com.film_backend.film.leaderboard.MovieStanding;
+import com.film_backend.film.search.MovieSearchDocument;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 
-public interface MovieRepository extends JpaRepository<Movie, Long> {
-    
-    @EntityGraph(attributePaths = "comments")
-    List<Movie> findAll();
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieRatingBatchRepository {
+
+    String SELECT_SIMPLE = "select new com.film_backend.film.dtos.response.MovieSimpleResponseDto("
+            + "m.id, m.title, m.posterUrl, m.videoUrl) from Movie m ";
+
+    String SELECT_FEED_ITEM = "select new com.film_backend.film.dtos.response.MovieFeedItemDto("
+            + "m.id, m.title, m.posterUrl, m.videoUrl, m.averageRating, m.createdAt) from Movie m ";
+
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Query(SELECT_SIMPLE + "order by m.id")
+    List<MovieSimpleResponseDto> findAllSimple();
+
+    // Catalog export: a forward-only cursor fetching EXPORT_FETCH_SIZE rows per round trip. DTO rows are not
+    // kept by the persistence context; PostgreSQL only uses a cursor inside a transaction, so consume it in one
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.film_backend.film.dtos.response.MovieExportDto("
+            + "m.id, m.title, m.description, m.genres, m.posterUrl, m.videoUrl, m.duration, m.releaseYear, "
+            + "m.averageRating, m.ratingCount, m.updatedAt) "
+            + "from Movie m order by m.id")
+    Stream<MovieExportDto> streamAllForExport();
+
+    @Query(SELECT_SIMPLE + "where lower(m.title) like lower(concat('%', :title, '%')) order by m.id")
+    List<MovieSimpleResponseDto> findSimpleByTitleContaining(@Param("title") String title);
+
+    // Detail view: one row, genres included as a bitmask column; comments are paged separately
+    @Query("select m from Movie m where m.id = :id")
+    Optional<Movie> findDetailById(@Param("id") Long id);
+
+    // Conditional GET validators: read from the movie row and the comment index, without loading genres or comments
+    @Query("select m.version as version, m.ratingCount as ratingCount, m.updatedAt as updatedAt, "
+            + "(select max(c.createdAt) from Comment c where c.movie.id = m.id) as lastCommentAt "
+            + "from Movie m where m.id = :id")
+    Optional<DetailVersion> findDetailVersionById(@Param("id") Long id);
+
+    @Query("select count(m) as count, max(m.updatedAt) as lastUpdatedAt from Movie m")
+    ListVersion findListVersion();
+
+    @Query("select count(m) as count, max(m.updatedAt) as lastUpdatedAt from Movie m "
+            + "where lower(m.title) like lower(concat('%', :title, '%'))")
+    ListVersion findListVersionByTitleContaining(@Param("title") String title);
+
+    // Keyset pages: the caller asks for one row more than it returns to detect whether a next page exists
+    @Query(SELECT_SIMPLE + "order by m.id")
+    List<MovieSimpleResponseDto> findSimpleFirstPage(Pageable pageable);
+
+    @Query(SELECT_SIMPLE + "where m.id > :afterId order by m.id")
+    List<MovieSimpleResponseDto> findSimplePageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Browse fallback until the search index is built. Genres are bitmasks (GenreMaskConverter): a movie matches
+    // when its mask shares a bit with anyGenres and contains every bit of allGenres; 0 disables either test
+    @Query(SELECT_SIMPLE + "where m.id > :afterId "
+            + "and (:fromYear is null or m.releaseYear >= :fromYear) and (:toYear is null or m.releaseYear <= :toYear) "
+            + "and (:minRating is null or m.averageRating >= :minRating) "
+            + "and (:anyGenres = 0 or bitand(cast(m.genres as Integer), cast(:anyGenres as Integer)) <> 0) "
+            + "and bitand(cast(m.genres as Integer), cast(:allGenres as Integer)) = :allGenres "
+            + "order by m.id")
+    List<MovieSimpleResponseDto> findBrowsePageAfter(@Param("afterId") Long afterId,
+                                                     @Param("anyGenres") int anyGenres,
+                                                     @Param("allGenres") int allGenres,
+                                                     @Param("fromYear") Integer fromYear,
+                                                     @Param("toYear") Integer toYear,
+                                                     @Param("minRating") Double minRating,
+                                                     Pageable pageable);
+
+    // Newest feed, served by idx_movies_created_at_id
+    @Query(SELECT_FEED_ITEM + "order by m.createdAt desc, m.id desc")
+    List<MovieFeedItemDto> findNewestFirstPage(Pageable pageable);
+
+    @Query(SELECT_FEED_ITEM + "where m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id) "
+            + "order by m.createdAt desc, m.id desc")
+    List<MovieFeedItemDto> findNewestPageAfter(@Param("createdAt") Date createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Top-rated feed: rated movies first (idx_movies_average_rating_id), then unrated ones by id
+    @Query(SELECT_FEED_ITEM + "where m.averageRating is not null order by m.averageRating desc, m.id desc")
+    List<MovieFeedItemDto> findTopRatedFirstPage(Pageable pageable);
+
+    @Query(SELECT_FEED_ITEM + "where m.averageRating < :rating or (m.averageRating = :rating and m.id < :id) "
+            + "order by m.averageRating desc, m.id desc")
+    List<MovieFeedItemDto> findTopRatedPageAfter(@Param("rating") Double rating, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_FEED_ITEM + "where m.averageRating is null order by m.id desc")
+    List<MovieFeedItemDto> findUnratedFirstPage(Pageable pageable);
+
+    @Query(SELECT_FEED_ITEM + "where m.averageRating is null and m.id < :id order by m.id desc")
+    List<MovieFeedItemDto> findUnratedPageAfter(@Param("id") Long id, Pageable pageable);
+
+    // Search index loading in keyset batches
+    @Query("select new com.film_backend.film.search.MovieSearchDocument("
+            + "m.id, m.title, m.description, m.posterUrl, m.videoUrl, m.genres, m.updatedAt, m.averageRating, "
+            + "m.ratingCount, m.releaseYear) "
+            + "from Movie m "
+            + "where m.id > :afterId order by m.id")
+    List<MovieSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Leaderboard loading in keyset batches
+    @Query("select new com.film_backend.film.leaderboard.MovieStanding("
+            + "m.id, m.title, m.posterUrl, m.genres, m.ratingSum, m.ratingCount) "
+            + "from Movie m "
+            + "where m.id > :afterId order by m.id")
+    List<MovieStanding> findStandingsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Applies one rating in a single UPDATE; the right-hand sides read the pre-update column values
+    @Transactional
+    @Modifying
+    @Query("update Movie m set m.ratingSum = m.ratingSum + :rate, m.ratingCount = m.ratingCount + 1, "
+            + "m.averageRating = cast(m.ratingSum + :rate as double) / (m.ratingCount + 1) where m.id = :id")
+    int applyRating(@Param("id") Long id, @Param("rate") int rate);
+
+    String REPAIR_RATING_AGGREGATES = "update movies m set "
+            + "rating_sum = (select coalesce(sum(c.rate), 0) from comments c where c.movie_id = m.id), "
+            + "rating_count = (select count(*) from comments c where c.movie_id = m.id), "
+            + "average_rating = (select avg(cast(c.rate as double precision)) from comments c where c.movie_id = m.id) ";
+    String RATING_AGGREGATES_DRIFTED = "(m.rating_count <> (select count(*) from comments c where c.movie_id = m.id) "
+            + "or m.rating_sum <> (select coalesce(sum(c.rate), 0) from comments c where c.movie_id = m.id))";
+
+    // Recomputes the rating aggregates from the comments table for every movie whose counters have drifted
+    @Transactional
+    @Modifying
+    @Query(value = REPAIR_RATING_AGGREGATES + "where " + RATING_AGGREGATES_DRIFTED, nativeQuery = true)
+    int repairRatingAggregates();
+
+    // Same repair, limited to movies commented on since the given time
+    @Transactional
+    @Modifying
+    @Query(value = REPAIR_RATING_AGGREGATES
+            + "where m.id in (select c.movie_id from comments c where c.created_at >= :since) "
+            + "and " + RATING_AGGREGATES_DRIFTED, nativeQuery = true)
+    int repairRatingAggregatesCommentedSince(@Param("since") Date since);
+
+    interface DetailVersion {
+        Long getVersion();
+        Long getRatingCount();
+        Date getUpdatedAt();
+        Date getLastCommentAt();
+    }
+
+    interface ListVersion {
+        Long getCount();
+        Date getLastUpdatedAt();
+    }
 
-    @EntityGraph(attributePaths = "comments")
-    List<Movie> findByTitleContainingIgnoreCase(String title);
 }
\ No newline at end of file
@@ -2,16 +2,44 @@ package com.film_backend.film.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.film_backend.film.entity.RefreshToken;
 import com.film_backend.film.entity.User;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     List<RefreshToken> findByUser(User user);
-    boolean existsByToken(String token);
-    void deleteByToken(String token);
-    void deleteByUser(User user);
-    void deleteByExpiresAtBefore(LocalDateTime dateTime);
-}
\ No newline at end of file
+
+    // One lookup on the unique token_hash index, with the user for issuing the next access token
+    @Query("select r from RefreshToken r join fetch r.user where r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    // Claims the token for one rotation; a second use, concurrent or later, updates no row
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :usedAt where r.id = :id and r.usedAt is null")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.user = :user")
+    int deleteByUser(@Param("user") User user);
+
+    // Also drops used tokens once they expire; they are only kept to detect reuse while still valid
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :dateTime")
+    int deleteByExpiresAtBefore(@Param("dateTime") LocalDateTime dateTime);
+}
@@ -1,14 +1,25 @@
 package com.film_backend.film.repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.film_backend.film.entity.TokenBlacklist;
 
 public interface TokenBlacklistRepository extends JpaRepository<TokenBlacklist, String> {
     boolean existsByToken(String token);
 
-    
-    void deleteByExpiresAtBefore(LocalDateTime dateTime);
+    List<TokenBlacklist> findByExpiresAtAfter(LocalDateTime dateTime);
+
+    List<TokenBlacklist> findByBlacklistedAtAfter(LocalDateTime dateTime);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenBlacklist t where t.expiresAt < :dateTime")
+    int deleteByExpiresAtBefore(@Param("dateTime") LocalDateTime dateTime);
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.film_backend.film.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.film_backend.film.enums.Genre;
+
+/**
+ * Bitmap indexes for browsing movies by genre, release year and rating. Not thread-safe; it is part
+ * of {@link InvertedIndex} and guarded with it.
+ *
+ * <p>Every genre and release year has a compressed bitmap of the ids of its movies, and every half-star
+ * rating has one of the movies rated at least that much. A filter is answered by unioning and
+ * intersecting those bitmaps, smallest first, one window of 65536 ids at a time from the cursor on,
+ * until the page is full. Ids are stored as unsigned 32-bit values.
+ */
+public final class BrowseIndex {
+
+    private static final long MAX_ID = 0xFFFFFFFFL;
+    private static final int BANDS_PER_STAR = 2;
+    private static final int BANDS = 5 * BANDS_PER_STAR;
+    private static final long WINDOW = 1 << 16;
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Map<Long, MovieSearchDocument> documents = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Genre, RoaringBitmap> genres = new EnumMap<>(Genre.class);
+    private final TreeMap<Integer, RoaringBitmap> years = new TreeMap<>();
+    // ratedAtLeast[b] holds the movies rated b / BANDS_PER_STAR or more
+    private final RoaringBitmap[] ratedAtLeast = new RoaringBitmap[BANDS + 1];
+
+    public BrowseIndex() {
+        for (int band = 0; band <= BANDS; band++) {
+            ratedAtLeast[band] = new RoaringBitmap();
+        }
+    }
+
+    public void add(MovieSearchDocument document) {
+        remove(document.id());
+        int id = key(document.id());
+        documents.put(document.id(), document);
+        all.add(id);
+        document.genres().forEach(genre -> genres.computeIfAbsent(genre, g -> new RoaringBitmap()).add(id));
+        if (document.releaseYear() != null) {
+            years.computeIfAbsent(document.releaseYear(), y -> new RoaringBitmap()).add(id);
+        }
+        if (document.averageRating() != null) {
+            for (int band = 0, top = band(document.averageRating()); band <= top; band++) {
+                ratedAtLeast[band].add(id);
+            }
+        }
+    }
+
+    public void remove(Long movieId) {
+        MovieSearchDocument document = documents.remove(movieId);
+        if (document == null) {
+            return;
+        }
+        int id = key(movieId);
+        all.remove(id);
+        document.genres().forEach(genre -> clear(genres, genre, id));
+        if (document.releaseYear() != null) {
+            clear(years, document.releaseYear(), id);
+        }
+        if (document.averageRating() != null) {
+            for (int band = 0, top = band(document.averageRating()); band <= top; band++) {
+                ratedAtLeast[band].remove(id);
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} matching movies with an id greater than {@code afterId}, in id order.
+     */
+    public List<MovieSearchDocument> browse(MovieBrowseFilter filter, long afterId, int limit) {
+        List<MovieSearchDocument> page = new ArrayList<>(Math.min(limit, 128));
+        List<List<RoaringBitmap>> clauses = clauses(filter);
+        long start = afterId < 0 ? 0 : afterId + 1;
+        // A page rarely needs more than the first window, so the intersection stops where the page is full
+        while (page.size() < limit && start <= MAX_ID) {
+            // Skip id ranges without movies
+            start = all.nextValue((int) start);
+            if (start < 0) {
+                break;
+            }
+            long end = Math.min(start + WINDOW, MAX_ID + 1);
+            PeekableIntIterator ids = matching(clauses, start, end).getIntIterator();
+            while (ids.hasNext() && page.size() < limit) {
+                MovieSearchDocument document = documents.get(Integer.toUnsignedLong(ids.next()));
+                // The minimum's half-star bitmap can still hold ratings just below the minimum
+                if (filter.minRating() == null || document.averageRating() >= filter.minRating()) {
+                    page.add(document);
+                }
+            }
+            start = end;
+        }
+        return page;
+    }
+
+    // Bitmaps that must all match, each given as the alternatives it unions
+    private List<List<RoaringBitmap>> clauses(MovieBrowseFilter filter) {
+        List<List<RoaringBitmap>> clauses = new ArrayList<>();
+        if (!filter.genres().isEmpty()) {
+            List<RoaringBitmap> selected = filter.genres().stream()
+                    .map(genre -> genres.getOrDefault(genre, EMPTY))
+                    .toList();
+            if (filter.matchAll()) {
+                selected.forEach(bitmap -> clauses.add(List.of(bitmap)));
+            } else {
+                clauses.add(selected);
+            }
+        }
+        if (filter.fromYear() != null || filter.toYear() != null) {
+            int from = filter.fromYear() == null ? Integer.MIN_VALUE : filter.fromYear();
+            int to = filter.toYear() == null ? Integer.MAX_VALUE : filter.toYear();
+            clauses.add(from > to ? List.of() : List.copyOf(years.subMap(from, true, to, true).values()));
+        }
+        if (filter.minRating() != null) {
+            int band = band(filter.minRating());
+            clauses.add(List.of(band > BANDS ? EMPTY : ratedAtLeast[Math.max(band, 0)]));
+        }
+        return clauses;
+    }
+
+    private RoaringBitmap matching(List<List<RoaringBitmap>> clauses, long start, long end) {
+        if (clauses.isEmpty()) {
+            return all.selectRange(start, end);
+        }
+        List<RoaringBitmap> windows = new ArrayList<>(clauses.size());
+        for (List<RoaringBitmap> alternatives : clauses) {
+            if (alternatives.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            windows.add(alternatives.size() == 1
+                    ? alternatives.get(0).selectRange(start, end)
+                    : RoaringBitmap.or(alternatives.iterator(), start, end));
+        }
+        windows.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        RoaringBitmap matches = windows.get(0);
+        for (int i = 1; i < windows.size() && !matches.isEmpty(); i++) {
+            matches.and(windows.get(i));
+        }
+        return matches;
+    }
+
+    private static <K> void clear(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+        RoaringBitmap bitmap = bitmaps.get(key);
+        bitmap.remove(id);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+
+    private static int band(double rating) {
+        return (int) Math.floor(rating * BANDS_PER_STAR);
+    }
+
+    private static int key(Long movieId) {
+        if (movieId < 0 || movieId > MAX_ID) {
+            throw new IllegalStateException("Movie id " + movieId + " does not fit the browse index");
+        }
+        return (int) movieId.longValue();
+    }
+}
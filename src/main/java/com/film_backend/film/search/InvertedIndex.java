@@ -0,0 +1,321 @@
+package com.film_backend.film.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.film_backend.film.enums.Genre;
+
+/**
+ * In-memory inverted index over movie titles and descriptions. Not thread-safe; {@link MovieSearchIndex}
+ * guards the live instance.
+ *
+ * <ul>
+ * <li>Words of the title and description go into a sorted term dictionary, so a query word matches every
+ * term it is a prefix of with one range lookup. Title words weigh more than description words.</li>
+ * <li>Lower-cased titles are also indexed by trigram, which answers {@code lower(title) like '%x%'}
+ * with exactly the database's semantics by intersecting posting lists and verifying the candidates.</li>
+ * <li>Each genre has a bitset over document ordinals for filtering and facet counts.</li>
+ * <li>A {@link TitleTrie} over the titles answers typeahead lookups.</li>
+ * <li>A {@link BrowseIndex} keeps id bitmaps per genre, release year and rating band for browsing.</li>
+ * </ul>
+ *
+ * <p>Documents get increasing ordinals, so every posting list is sorted by construction. Re-indexing a
+ * movie assigns a new ordinal and tombstones the old one; stale postings are skipped at query time and
+ * dropped by the next rebuild.
+ */
+public final class InvertedIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+    // A query word that equals a term scores higher than one that is only its prefix
+    private static final double EXACT_TERM_BOOST = 2.0;
+    private static final int GRAM = 3;
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Postings> titleGrams = new HashMap<>();
+    private final Map<Genre, BitSet> genres = new EnumMap<>(Genre.class);
+    private final TitleTrie titles = new TitleTrie(MAX_SUGGESTIONS);
+    private final BrowseIndex browse = new BrowseIndex();
+
+    public record Hits(List<MovieSearchDocument> documents, int total, Map<Genre, Integer> genreFacets) {
+    }
+
+    public int size() {
+        return ordinals.size();
+    }
+
+    public void add(MovieSearchDocument document) {
+        remove(document.id());
+        int ordinal = entries.size();
+        String lowerTitle = lower(document.title());
+        entries.add(new Entry(document, lowerTitle));
+        ordinals.put(document.id(), ordinal);
+
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(document.title()).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(document.description()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings(true)).add(ordinal, weight));
+        grams(lowerTitle).forEach(gram -> titleGrams.computeIfAbsent(gram, g -> new Postings(false)).add(ordinal, 0));
+        document.genres().forEach(genre -> genres.computeIfAbsent(genre, g -> new BitSet()).set(ordinal));
+        titles.add(document);
+        browse.add(document);
+    }
+
+    public void remove(Long movieId) {
+        Integer ordinal = ordinals.remove(movieId);
+        if (ordinal == null) {
+            return;
+        }
+        MovieSearchDocument document = entries.get(ordinal).document();
+        document.genres().forEach(genre -> genres.get(genre).clear(ordinal));
+        titles.remove(document);
+        browse.remove(movieId);
+        entries.set(ordinal, null);
+    }
+
+    /**
+     * Applies one new rating: the movie moves to its new rating bands and typeahead rank. Its text is
+     * unchanged, so it keeps its ordinal and postings.
+     */
+    public void addRating(Long movieId, int rate) {
+        Integer ordinal = ordinals.get(movieId);
+        if (ordinal == null) {
+            return;
+        }
+        Entry entry = entries.get(ordinal);
+        MovieSearchDocument rated = entry.document().withRating(rate);
+        titles.remove(entry.document());
+        titles.add(rated);
+        browse.add(rated);
+        entries.set(ordinal, new Entry(rated, entry.lowerTitle()));
+    }
+
+    /**
+     * Typeahead: the most popular movies with a title word starting with the prefix, at most
+     * {@value #MAX_SUGGESTIONS}.
+     */
+    public List<MovieSearchDocument> suggest(String prefix, int limit) {
+        return titles.suggest(prefix, limit);
+    }
+
+    public List<MovieSearchDocument> browse(MovieBrowseFilter filter, long afterId, int limit) {
+        return browse.browse(filter, afterId, limit);
+    }
+
+    /**
+     * Ranked search: every query word must be a prefix of some word of the title or description. Facet
+     * counts cover all text matches, before the genre filter (any of {@code genreFilter}) is applied.
+     */
+    public Hits search(String query, Set<Genre> genreFilter, int offset, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty()) {
+            return new Hits(List.of(), 0, Map.of());
+        }
+        // Rarest word first, so later words only look up documents that are still candidates
+        Map<String, NavigableMap<String, Postings>> expansions = new HashMap<>();
+        Map<String, Long> postingCounts = new HashMap<>();
+        for (String word : words) {
+            NavigableMap<String, Postings> expansion = terms.subMap(word, true, word + Character.MAX_VALUE, false);
+            expansions.put(word, expansion);
+            postingCounts.put(word, expansion.values().stream().mapToLong(postings -> postings.size).sum());
+        }
+        words.sort(Comparator.comparing(postingCounts::get));
+        Map<Integer, Double> scores = null;
+        for (String word : words) {
+            scores = scoreWord(word, expansions.get(word), scores);
+            if (scores.isEmpty()) {
+                return new Hits(List.of(), 0, Map.of());
+            }
+        }
+
+        Map<Integer, Double> matches = scores;
+        Map<Genre, Integer> facets = new EnumMap<>(Genre.class);
+        BitSet allowed = genreFilter == null || genreFilter.isEmpty() ? null : new BitSet();
+        genres.forEach((genre, members) -> {
+            int count = 0;
+            for (Integer ordinal : matches.keySet()) {
+                if (members.get(ordinal)) {
+                    count++;
+                }
+            }
+            if (count > 0) {
+                facets.put(genre, count);
+            }
+            if (allowed != null && genreFilter.contains(genre)) {
+                allowed.or(members);
+            }
+        });
+
+        int[] ranked = matches.keySet().stream()
+                .filter(ordinal -> allowed == null || allowed.get(ordinal))
+                .sorted(Comparator.<Integer>comparingDouble(matches::get).reversed()
+                        .thenComparing(ordinal -> entries.get(ordinal).document().id()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        List<MovieSearchDocument> page = new ArrayList<>();
+        int end = (int) Math.min(ranked.length, (long) offset + limit);
+        for (int i = offset; i < end; i++) {
+            page.add(entries.get(ranked[i]).document());
+        }
+        return new Hits(page, ranked.length, facets);
+    }
+
+    /**
+     * Movies whose lower-cased title contains the lower-cased fragment, ordered by id like the
+     * {@code findSimpleByTitleContaining} query it replaces.
+     */
+    public List<MovieSearchDocument> findByTitleContaining(String fragment) {
+        String needle = lower(fragment);
+        List<MovieSearchDocument> matches = new ArrayList<>();
+        if (needle.length() < GRAM) {
+            // Too short for a trigram; titles are already lower-cased in memory, so this is still no database scan
+            for (Entry entry : entries) {
+                if (entry != null && entry.lowerTitle().contains(needle)) {
+                    matches.add(entry.document());
+                }
+            }
+        } else {
+            for (int ordinal : candidates(needle)) {
+                Entry entry = entries.get(ordinal);
+                if (entry != null && entry.lowerTitle().contains(needle)) {
+                    matches.add(entry.document());
+                }
+            }
+        }
+        matches.sort(Comparator.comparing(MovieSearchDocument::id));
+        return matches;
+    }
+
+    private Map<Integer, Double> scoreWord(String word, NavigableMap<String, Postings> expansion,
+                                           Map<Integer, Double> previous) {
+        Map<Integer, Double> scores = new HashMap<>();
+        int live = Math.max(size(), 1);
+        for (Map.Entry<String, Postings> term : expansion.entrySet()) {
+            Postings postings = term.getValue();
+            double idf = Math.log(1 + (double) live / postings.size);
+            double boost = term.getKey().equals(word) ? EXACT_TERM_BOOST : 1.0;
+            for (int i = 0; i < postings.size; i++) {
+                int ordinal = postings.ordinals[i];
+                if (entries.get(ordinal) == null || (previous != null && !previous.containsKey(ordinal))) {
+                    continue;
+                }
+                // A word counts once per document: its best-scoring expansion
+                scores.merge(ordinal, postings.weights[i] * boost * idf, Math::max);
+            }
+        }
+        if (previous != null) {
+            scores.replaceAll((ordinal, score) -> score + previous.get(ordinal));
+        }
+        return scores;
+    }
+
+    private int[] candidates(String needle) {
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Postings postings = titleGrams.get(gram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(postings -> postings.size));
+        int[] result = Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] sorted, Postings postings) {
+        int[] out = new int[Math.min(sorted.length, postings.size)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sorted.length && j < postings.size) {
+            int a = sorted[i];
+            int b = postings.ordinals[j];
+            if (a == b) {
+                out[n++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower(text.substring(start, i)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> grams(String lowerText) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= lowerText.length(); i++) {
+            grams.add(lowerText.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(MovieSearchDocument document, String lowerTitle) {
+    }
+
+    // Growable parallel arrays; ordinals are appended in increasing order. Trigram postings carry no weights.
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] weights;
+        private int size;
+
+        Postings(boolean weighted) {
+            weights = weighted ? new int[4] : null;
+        }
+
+        void add(int ordinal, int weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                if (weights != null) {
+                    weights = Arrays.copyOf(weights, size * 2);
+                }
+            }
+            ordinals[size] = ordinal;
+            if (weights != null) {
+                weights[size] = weight;
+            }
+            size++;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.film_backend.film.search;
+
+import java.util.Set;
+
+import com.film_backend.film.enums.Genre;
+
+/**
+ * Browse criteria: movies with any (or, with {@code matchAll}, every) one of the genres, released
+ * between the two years and rated at least {@code minRating}. Null bounds and an empty genre set
+ * do not filter.
+ */
+public record MovieBrowseFilter(Set<Genre> genres, boolean matchAll, Integer fromYear, Integer toYear,
+                                Double minRating) {
+
+    public MovieBrowseFilter {
+        genres = genres == null ? Set.of() : Set.copyOf(genres);
+    }
+}
@@ -0,0 +1,59 @@
+package com.film_backend.film.search;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
+import com.film_backend.film.dtos.response.MovieSuggestionDto;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.util.RatingScores;
+
+/**
+ * The fields of a movie that the search index tokenizes, filters on, ranks by or returns.
+ */
+public record MovieSearchDocument(Long id, String title, String description, String posterUrl, String videoUrl,
+                                  Set<Genre> genres, Date updatedAt, Double averageRating, Long ratingCount,
+                                  Integer releaseYear) {
+
+    public MovieSearchDocument {
+        genres = copyOf(genres);
+    }
+
+    public static MovieSearchDocument of(Movie movie) {
+        return new MovieSearchDocument(movie.getId(), movie.getTitle(), movie.getDescription(), movie.getPosterUrl(),
+                movie.getVideoUrl(), movie.getGenres(), movie.getUpdatedAt(), movie.getAverageRating(),
+                movie.getRatingCount(), movie.getReleaseYear());
+    }
+
+    /**
+     * This movie with one more rating. Ratings are whole stars, so the sum is recovered exactly from the
+     * average and the new average matches the one the database computes.
+     */
+    public MovieSearchDocument withRating(int rate) {
+        long count = ratingCount == null ? 0 : ratingCount;
+        long sum = averageRating == null ? 0 : Math.round(averageRating * count);
+        return new MovieSearchDocument(id, title, description, posterUrl, videoUrl, genres, updatedAt,
+                (double) (sum + rate) / (count + 1), count + 1, releaseYear);
+    }
+
+    public double popularity() {
+        long count = ratingCount == null ? 0 : ratingCount;
+        double average = averageRating == null ? 0 : averageRating;
+        return RatingScores.bayesianAverage(average * count, count);
+    }
+
+    public MovieSimpleResponseDto toSimpleDto() {
+        return new MovieSimpleResponseDto(id, title, posterUrl, videoUrl);
+    }
+
+    public MovieSuggestionDto toSuggestionDto() {
+        return new MovieSuggestionDto(id, title, posterUrl, averageRating);
+    }
+
+    private static Set<Genre> copyOf(Set<Genre> genres) {
+        return genres == null || genres.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(genres));
+    }
+}
@@ -0,0 +1,205 @@
+package com.film_backend.film.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.util.TransactionCallbacks;
+
+/**
+ * Process-local movie search index, kept current by the movie write paths in MovieService and by new
+ * ratings from CommentService.
+ *
+ * <p>Writes are applied after their transaction commits. The index is built from the database when the
+ * application starts and rebuilt on a schedule, which compacts tombstoned postings and picks up writes
+ * made by other nodes. Until the first build completes, {@link #isReady()} is false and callers use
+ * the database instead.
+ */
+@Component
+public class MovieSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieSearchIndex.class);
+
+    private final MovieRepository movieRepository;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex live = new InvertedIndex();
+    private volatile boolean ready;
+
+    // While a rebuild runs, writes also go to the index being built; the loader skips the movies they touched
+    private final Object rebuildMonitor = new Object();
+    // Serializes rebuilds
+    private final Lock rebuildLock = new ReentrantLock();
+    private InvertedIndex building;
+    private Set<Long> touchedDuringBuild;
+
+    public MovieSearchIndex(MovieRepository movieRepository,
+                            @Value("${movies.search.enabled:true}") boolean enabled,
+                            @Value("${movies.search.batch-size:1000}") int batchSize) {
+        this.movieRepository = movieRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public InvertedIndex.Hits search(String query, Set<Genre> genres, int offset, int limit) {
+        return read(index -> index.search(query, genres, offset, limit));
+    }
+
+    public List<MovieSearchDocument> findByTitleContaining(String fragment) {
+        return read(index -> index.findByTitleContaining(fragment));
+    }
+
+    public List<MovieSearchDocument> suggest(String prefix, int limit) {
+        return read(index -> index.suggest(prefix, limit));
+    }
+
+    public List<MovieSearchDocument> browse(MovieBrowseFilter filter, long afterId, int limit) {
+        return read(index -> index.browse(filter, afterId, limit));
+    }
+
+    public void index(Movie movie) {
+        MovieSearchDocument document = MovieSearchDocument.of(movie);
+        TransactionCallbacks.afterCommit(() -> write(document.id(), index -> index.add(document)));
+    }
+
+    public void remove(Long movieId) {
+        TransactionCallbacks.afterCommit(() -> write(movieId, index -> index.remove(movieId)));
+    }
+
+    /**
+     * Applies a new rating once its comment commits, so the rating filter and typeahead rank do not wait
+     * for the next rebuild.
+     */
+    public void record(Long movieId, int rate) {
+        TransactionCallbacks.afterCommit(() -> applyRating(movieId, rate));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Loads every movie into a fresh index in keyset batches and swaps it in. Searches keep using the
+     * previous index meanwhile.
+     */
+    @Scheduled(cron = "${movies.search.rebuild-cron:0 45 * * * ?}") // Every hour by default
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            rebuildIndex();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildIndex() {
+        synchronized (rebuildMonitor) {
+            building = new InvertedIndex();
+            touchedDuringBuild = new HashSet<>();
+        }
+        try {
+            long afterId = 0;
+            List<MovieSearchDocument> batch;
+            do {
+                batch = loadBatch(afterId);
+                synchronized (rebuildMonitor) {
+                    batch.stream()
+                            .filter(document -> !touchedDuringBuild.contains(document.id()))
+                            .forEach(building::add);
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == batchSize);
+
+            lock.writeLock().lock();
+            try {
+                synchronized (rebuildMonitor) {
+                    live = building;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            log.info("Movie search index built with {} movies.", live.size());
+        } finally {
+            synchronized (rebuildMonitor) {
+                building = null;
+                touchedDuringBuild = null;
+            }
+        }
+    }
+
+    private List<MovieSearchDocument> loadBatch(long afterId) {
+        return movieRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, batchSize));
+    }
+
+    // Unlike other writes, a rating does not mark the movie as touched: the index being built only has it if
+    // its batch was loaded already, and otherwise the loader still has to read it from the database. A batch
+    // read while the comment commits can miss or repeat that one rating until the next rebuild
+    private void applyRating(Long movieId, int rate) {
+        lock.writeLock().lock();
+        try {
+            live.addRating(movieId, rate);
+            synchronized (rebuildMonitor) {
+                if (building != null) {
+                    building.addRating(movieId, rate);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<InvertedIndex, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(live);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Long movieId, Consumer<InvertedIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(live);
+            synchronized (rebuildMonitor) {
+                if (building != null) {
+                    change.accept(building);
+                    touchedDuringBuild.add(movieId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.film_backend.film.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Radix trie over normalized movie titles for typeahead. Not thread-safe; it is part of
+ * {@link InvertedIndex} and guarded with it.
+ *
+ * <p>A title is inserted once per word start, so "knight" finds "The Dark Knight". Every node caches
+ * the best {@code k} movies of its subtree by {@link MovieSearchDocument#popularity()}, so a lookup
+ * walks the prefix and returns that list: O(prefix length + k), independent of the catalog size.
+ * Edges hold whole label strings and single-child chains are merged, which keeps the node count close
+ * to the number of distinct keys.
+ */
+public final class TitleTrie {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Comparator<Entry> BY_SCORE = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(entry -> entry.document().id());
+
+    private final int k;
+    private final Node root = new Node("");
+
+    public TitleTrie(int k) {
+        this.k = k;
+    }
+
+    public int maxSuggestions() {
+        return k;
+    }
+
+    public void add(MovieSearchDocument document) {
+        Entry entry = new Entry(document, document.popularity());
+        for (String key : keys(document.title())) {
+            insert(key, entry);
+        }
+    }
+
+    public void remove(MovieSearchDocument document) {
+        for (String key : keys(document.title())) {
+            delete(key, document.id());
+        }
+    }
+
+    /**
+     * The best {@code limit} movies (at most {@code k}) with a title word starting with the prefix.
+     */
+    public List<MovieSearchDocument> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(node, key.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length() && i + common < key.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+        List<MovieSearchDocument> suggestions = new ArrayList<>(Math.min(limit, node.top.length));
+        for (int j = 0; j < node.top.length && j < limit; j++) {
+            suggestions.add(node.top[j].document());
+        }
+        return suggestions;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            } else if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        int end = normalized.length();
+        return end > 0 && normalized.charAt(end - 1) == ' ' ? normalized.substring(0, end - 1) : normalized.toString();
+    }
+
+    // The normalized title from each word start on
+    private static Set<String> keys(String title) {
+        String normalized = normalize(title);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private void insert(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(node, key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                addChild(node, child);
+            } else {
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+            }
+            node = child;
+            path.add(node);
+            i += node.label.length();
+        }
+        node.terminal = withEntry(node.terminal, entry);
+        for (Node onPath : path) {
+            offer(onPath, entry);
+        }
+    }
+
+    private void delete(String key, Long movieId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            node = child(node, key.charAt(i));
+            if (node == null || commonPrefix(node.label, key, i) < node.label.length()) {
+                return;
+            }
+            path.add(node);
+            i += node.label.length();
+        }
+        node.terminal = withoutEntry(node.terminal, movieId);
+        for (int j = path.size() - 1; j >= 0; j--) {
+            Node onPath = path.get(j);
+            if (contains(onPath.top, movieId)) {
+                onPath.top = collectTop(onPath);
+            }
+            if (j > 0) {
+                compact(path.get(j - 1), onPath);
+            }
+        }
+    }
+
+    private void offer(Node node, Entry entry) {
+        if (contains(node.top, entry.document().id())) {
+            return;
+        }
+        if (node.top.length == k && BY_SCORE.compare(entry, node.top[k - 1]) >= 0) {
+            return;
+        }
+        Entry[] top = Arrays.copyOf(node.top, Math.min(node.top.length + 1, k));
+        int position = node.top.length;
+        while (position > 0 && BY_SCORE.compare(entry, node.top[position - 1]) < 0) {
+            position--;
+        }
+        System.arraycopy(node.top, position, top, position + 1, top.length - position - 1);
+        top[position] = entry;
+        node.top = top;
+    }
+
+    // Best k entries of the node's own titles and its children's cached lists
+    private Entry[] collectTop(Node node) {
+        List<Entry> candidates = new ArrayList<>(Arrays.asList(node.terminal));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BY_SCORE);
+        List<Entry> top = new ArrayList<>(k);
+        for (Entry candidate : candidates) {
+            if (top.size() == k) {
+                break;
+            }
+            if (!containsId(top, candidate.document().id())) {
+                top.add(candidate);
+            }
+        }
+        return top.toArray(NO_ENTRIES);
+    }
+
+    // Drops nodes that no longer lead to a title and merges a title-less node into its only child
+    private void compact(Node parent, Node node) {
+        if (node.terminal.length > 0) {
+            return;
+        }
+        if (node.children.length == 0) {
+            removeChild(parent, node);
+        } else if (node.children.length == 1) {
+            Node only = node.children[0];
+            node.label = node.label + only.label;
+            node.children = only.children;
+            node.terminal = only.terminal;
+            node.top = only.top;
+        }
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        middle.children = new Node[] {child};
+        middle.top = child.top;
+        replaceChild(parent, child, middle);
+        return middle;
+    }
+
+    private static Node child(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = node.children[mid].label.charAt(0);
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return node.children[mid];
+            }
+        }
+        return null;
+    }
+
+    private static void addChild(Node node, Node child) {
+        char first = child.label.charAt(0);
+        int position = 0;
+        while (position < node.children.length && node.children[position].label.charAt(0) < first) {
+            position++;
+        }
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, position);
+        children[position] = child;
+        System.arraycopy(node.children, position, children, position + 1, node.children.length - position);
+        node.children = children;
+    }
+
+    private static void replaceChild(Node node, Node oldChild, Node newChild) {
+        for (int i = 0; i < node.children.length; i++) {
+            if (node.children[i] == oldChild) {
+                node.children[i] = newChild;
+                return;
+            }
+        }
+    }
+
+    private static void removeChild(Node node, Node child) {
+        Node[] children = Arrays.stream(node.children).filter(c -> c != child).toArray(Node[]::new);
+        node.children = children.length == 0 ? NO_CHILDREN : children;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int n = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < n && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Entry[] withEntry(Entry[] entries, Entry entry) {
+        Entry[] copy = withoutEntry(entries, entry.document().id());
+        copy = Arrays.copyOf(copy, copy.length + 1);
+        copy[copy.length - 1] = entry;
+        return copy;
+    }
+
+    private static Entry[] withoutEntry(Entry[] entries, Long movieId) {
+        if (!contains(entries, movieId)) {
+            return entries;
+        }
+        Entry[] remaining = Arrays.stream(entries).filter(e -> !e.document().id().equals(movieId)).toArray(Entry[]::new);
+        return remaining.length == 0 ? NO_ENTRIES : remaining;
+    }
+
+    private static boolean contains(Entry[] entries, Long movieId) {
+        for (Entry entry : entries) {
+            if (entry.document().id().equals(movieId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsId(List<Entry> entries, Long movieId) {
+        for (Entry entry : entries) {
+            if (entry.document().id().equals(movieId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Entry(MovieSearchDocument document, double score) {
+    }
+
+    private static final class Node {
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        // Movies whose key ends at this node, and the best k of the whole subtree
+        private Entry[] terminal = NO_ENTRIES;
+        private Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -4,9 +4,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -17,12 +21,16 @@ import com.film_backend.film.dtos.response.UserResponseDto;
 import com.film_backend.film.entity.TokenBlacklist;
 import com.film_backend.film.entity.User;
 import com.film_backend.film.enums.Role;
+import com.film_backend.film.exception.UnauthorizedException;
 import com.film_backend.film.mapper.UserMapper;
 import com.film_backend.film.repository.TokenBlacklistRepository;
 import com.film_backend.film.repository.UserRepository;
 import com.film_backend.film.util.ImageUtil;
 import com.film_backend.film.util.JwtUtil;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class AuthService {
 
@@ -34,6 +42,12 @@ public class AuthService {
     private final ImageUtil imageUtil;
     private final String defaultProfilePicture;
     private final TokenBlacklistRepository tokenBlacklistRepository;
+    private final TokenBlacklistCache tokenBlacklistCache;
+    private final AuthenticationManager authenticationManager;
+    private final LoginRateLimiter loginRateLimiter;
+    private final RefreshTokenService refreshTokenService;
+    private final Timer loginSuccessTimer;
+    private final Timer loginFailureTimer;
 
     public AuthService(
             UserRepository userRepository,
@@ -43,6 +57,10 @@ public class AuthService {
             UserMapper userMapper,
             ImageUtil imageUtil,
             TokenBlacklistRepository tokenBlacklistRepository,
+            TokenBlacklistCache tokenBlacklistCache,
+            LoginRateLimiter loginRateLimiter,
+            RefreshTokenService refreshTokenService,
+            MeterRegistry meterRegistry,
             @Value("${app.default-profile-picture:/default.png}") String defaultProfilePicture) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
@@ -50,7 +68,13 @@ public class AuthService {
         this.userMapper = userMapper;
         this.imageUtil = imageUtil;
         this.tokenBlacklistRepository = tokenBlacklistRepository;
+        this.tokenBlacklistCache = tokenBlacklistCache;
         this.defaultProfilePicture = defaultProfilePicture;
+        this.authenticationManager = authenticationManager;
+        this.loginRateLimiter = loginRateLimiter;
+        this.refreshTokenService = refreshTokenService;
+        this.loginSuccessTimer = loginTimer(meterRegistry, "success");
+        this.loginFailureTimer = loginTimer(meterRegistry, "failure");
     }
 
     public UserResponseDto registerUser(UserRequestDto dto) {
@@ -92,13 +116,28 @@ public class AuthService {
         }
     }
 
-    public AuthResponseDto login(LoginRequestDto dto) {
+    /**
+     * Verifies the credentials through the AuthenticationManager (BCrypt on the bounded hashing pool) and
+     * issues tokens. Attempts over the account or client IP budget are rejected before any hashing.
+     */
+    public AuthResponseDto login(LoginRequestDto dto, String clientIp) {
+        loginRateLimiter.acquire(dto.getEmail(), clientIp);
+        long startedAt = System.nanoTime();
+        try {
+            authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(dto.getEmail(), dto.getPassword()));
+        } catch (AuthenticationException e) {
+            loginFailureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            throw new UnauthorizedException("Invalid email or password.");
+        }
+        loginSuccessTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        loginRateLimiter.onSuccess(dto.getEmail());
         try {
             User user = userRepository.findByEmail(dto.getEmail())
                     .orElseThrow(() -> new IllegalArgumentException("User not found."));
 
             String token = jwtUtil.generateToken(user);
-            String refreshToken = jwtUtil.generateRefreshToken(user);
+            String refreshToken = refreshTokenService.issue(user);
 
             return AuthResponseDto.builder()
                     .token(token)
@@ -112,6 +151,17 @@ public class AuthService {
         }
     }
 
+    // Credential check latency, with the p99 published for alerting on the login latency target
+    private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.login")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exchanges a valid refresh token for a new access token and the next refresh token of its family.
+     */
     public AuthResponseDto refreshToken(String refreshToken) {
         if (refreshToken == null || refreshToken.trim().isEmpty()) {
             throw new IllegalArgumentException("Refresh token is required.");
@@ -128,22 +178,12 @@ public class AuthService {
             throw new IllegalArgumentException("Refresh token is invalid or expired.");
         }
 
-        Long userId;
-        try {
-            userId = jwtUtil.getUserIdFromToken(refreshToken);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("User ID not found in refresh token: " + e.getMessage(), e);
-        }
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found."));
-
-        String newToken = jwtUtil.generateToken(user);
-        String newRefreshToken = jwtUtil.generateRefreshToken(user);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = rotation.user();
 
         return AuthResponseDto.builder()
-                .token(newToken)
-                .refreshToken(newRefreshToken)
+                .token(jwtUtil.generateToken(user))
+                .refreshToken(rotation.refreshToken())
                 .user(userMapper.toDTO(user))
                 .build();
     }
@@ -168,9 +208,13 @@ public class AuthService {
 
         TokenBlacklist blacklistedToken = new TokenBlacklist();
         blacklistedToken.setToken(token);
-        blacklistedToken.setBlacklistedAt(LocalDateTime.now());
+        blacklistedToken.setBlacklistedAt(LocalDateTime.now(ZoneId.of("UTC")));
         blacklistedToken.setExpiresAt(expiresAt);
 
         tokenBlacklistRepository.save(blacklistedToken);
+        tokenBlacklistCache.add(token, expiresAt);
+
+        // The refresh tokens would otherwise keep issuing access tokens after the logout
+        userRepository.findByEmail(email).ifPresent(refreshTokenService::revokeAll);
     }
 }
\ No newline at end of file
@@ -1,22 +1,65 @@
 package com.film_backend.film.security;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.film_backend.film.entity.User;
 import com.film_backend.film.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    // Keyed by email; entries are evicted on UserDetailsChangedEvent and expire after the TTL
+    private final Cache<String, UserDetails> userDetailsCache;
+
+    public CustomUserDetailsService(UserRepository userRepository, MeterRegistry meterRegistry,
+                                    @Value("${security.user-details-cache.max-size:10000}") long maxSize,
+                                    @Value("${security.user-details-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsCache, "userDetails");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.get(email, this::loadFromDatabase);
+        // Callers may erase credentials on the instance they get, so the cached one is never handed out
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    /**
+     * Stores a re-hashed password after a successful authentication, when the stored hash was made with
+     * a lower BCrypt cost than the configured one.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        userDetailsCache.invalidate(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    @EventListener
+    public void onUserDetailsChanged(UserDetailsChangedEvent event) {
+        userDetailsCache.invalidateAll(event.emails());
+    }
+
+    private UserDetails loadFromDatabase(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         return org.springframework.security.core.userdetails.User
@@ -25,4 +68,4 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .authorities(user.getRole().name())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,8 @@ package com.film_backend.film.security;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,8 +14,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.film_backend.film.exception.UnauthorizedException;
-import com.film_backend.film.repository.TokenBlacklistRepository;
 import com.film_backend.film.util.JwtUtil;
+import com.film_backend.film.util.VerifiedToken;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -29,40 +29,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
-    private final TokenBlacklistRepository tokenBlacklistRepository;
-
-    // Public endpoints list
-    private static final Set<String> PUBLIC_ROUTES = Set.of(
-        "/api/auth/login",
-        "/api/auth/register/**",
-        "/api/movies/list",
-        "/api/movies/{id}"
-    );
+    private final TokenBlacklistCache tokenBlacklistCache;
+    private final TokenVersionCache tokenVersionCache;
+    // Builds the principal from verified claims instead of loading the user on every request
+    private final boolean statelessAuthentication;
 
     public JwtAuthenticationFilter(
             JwtUtil jwtUtil,
             CustomUserDetailsService userDetailsService,
-            TokenBlacklistRepository tokenBlacklistRepository) {
+            TokenBlacklistCache tokenBlacklistCache,
+            TokenVersionCache tokenVersionCache,
+            @Value("${security.jwt.stateless:false}") boolean statelessAuthentication) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
-        this.tokenBlacklistRepository = tokenBlacklistRepository;
+        this.tokenBlacklistCache = tokenBlacklistCache;
+        this.tokenVersionCache = tokenVersionCache;
+        this.statelessAuthentication = statelessAuthentication;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
-        String requestURI = request.getRequestURI();
-
         // If the request is to one of the public routes, skip the JWT check
-        if (isPublicRoute(requestURI)) {
+        if (isPublicRoute(request)) {
             chain.doFilter(request, response);
             return;
         }
 
         String header = request.getHeader("Authorization");
         String token = null;
-        String email = null;
+        VerifiedToken verifiedToken;
 
         if (header == null) {
             sendErrorResponse(response, new UnauthorizedException("Authorization header is missing."), HttpStatus.UNAUTHORIZED);
@@ -76,13 +73,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         token = header.substring(7);
 
-        if (tokenBlacklistRepository.existsByToken(token)) {
+        if (tokenBlacklistCache.isBlacklisted(token)) {
             sendErrorResponse(response, new UnauthorizedException("Token is blacklisted."), HttpStatus.UNAUTHORIZED);
             return;
         }
 
         try {
-            email = jwtUtil.extractEmail(token);
+            // Signature and expiry are checked here, once per request
+            verifiedToken = jwtUtil.parse(token);
         } catch (ExpiredJwtException e) {
             sendErrorResponse(response, new UnauthorizedException("Token has expired."), HttpStatus.UNAUTHORIZED);
             return;
@@ -94,31 +92,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Controllers and services resolving the same token through JwtUtil reuse this instead of re-parsing
+        request.setAttribute(JwtUtil.VERIFIED_TOKEN_ATTRIBUTE, verifiedToken);
+
+        String email = verifiedToken.email();
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-            if (jwtUtil.isTokenValid(token, email)) {
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            } else {
+            UserDetails userDetails;
+            try {
+                // In both modes, so bumping the user's token version ends every session issued before it
+                if (!tokenVersionCache.isCurrent(verifiedToken.userId(), verifiedToken.tokenVersion())) {
+                    sendErrorResponse(response, new UnauthorizedException("Token has been revoked."), HttpStatus.UNAUTHORIZED);
+                    return;
+                }
+                userDetails = statelessAuthentication
+                        ? userDetailsFromClaims(verifiedToken)
+                        : userDetailsService.loadUserByUsername(email);
+            } catch (IllegalArgumentException e) {
                 sendErrorResponse(response, new UnauthorizedException("Invalid token."), HttpStatus.UNAUTHORIZED);
                 return;
             }
+
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         chain.doFilter(request, response);
     }
 
-    private boolean isPublicRoute(String requestURI) {
-        return PUBLIC_ROUTES.stream().anyMatch(publicRoute -> {
-            if (publicRoute.endsWith("/**")) {
-                
-                return requestURI.startsWith(publicRoute.substring(0, publicRoute.length() - 3));
-            }
-            return requestURI.equals(publicRoute);
-        });
+    private UserDetails userDetailsFromClaims(VerifiedToken verifiedToken) {
+        return org.springframework.security.core.userdetails.User
+                .withUsername(verifiedToken.email())
+                .password("")
+                .authorities(verifiedToken.role())
+                .build();
+    }
+
+    private boolean isPublicRoute(HttpServletRequest request) {
+        // Match the application path, as SecurityConfig does, not the context-prefixed URI
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PublicRoutes.matches(path);
     }
 
     private void sendErrorResponse(HttpServletResponse response, UnauthorizedException ex, HttpStatus status)
@@ -0,0 +1,172 @@
+package com.film_backend.film.security;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.film_backend.film.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Token buckets per account (email) and per client IP, checked before a login attempt reaches the
+ * password hash. Each attempt takes a token from both; a successful login refills its account bucket.
+ *
+ * <p>Buckets are held in {@value #STRIPES} lock-striped LRU maps bounded by {@code max-keys} in total,
+ * so concurrent logins for different keys rarely contend and a flood of distinct keys cannot grow the
+ * heap. An evicted bucket starts full again.
+ */
+@Component
+public class LoginRateLimiter {
+
+    static final int STRIPES = 64;
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+    private final Limit accountLimit;
+    private final Limit ipLimit;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Counter accountThrottled;
+    private final Counter ipThrottled;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${security.login.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${security.login.rate-limit.account.capacity:5}") int accountCapacity,
+                            @Value("${security.login.rate-limit.account.refill-per-minute:5}") int accountRefillPerMinute,
+                            @Value("${security.login.rate-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${security.login.rate-limit.ip.refill-per-minute:30}") int ipRefillPerMinute,
+                            @Value("${security.login.rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.accountLimit = new Limit(accountCapacity, accountRefillPerMinute);
+        this.ipLimit = new Limit(ipCapacity, ipRefillPerMinute);
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+        this.accountThrottled = Counter.builder("security.login.throttled").tag("scope", "account").register(meterRegistry);
+        this.ipThrottled = Counter.builder("security.login.throttled").tag("scope", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for the client IP and then for the account.
+     *
+     * @throws TooManyRequestsException if either bucket is empty; it carries the seconds until a retry can pass
+     */
+    public void acquire(String email, String clientIp) {
+        acquire(email, clientIp, System.nanoTime());
+    }
+
+    /**
+     * Refills the account's bucket, so earlier typos do not count against its next logins.
+     */
+    public void onSuccess(String email) {
+        if (enabled) {
+            String key = accountKey(email);
+            stripe(key).remove(key);
+        }
+    }
+
+    void acquire(String email, String clientIp, long now) {
+        if (!enabled) {
+            return;
+        }
+        if (clientIp != null) {
+            String key = "ip:" + clientIp;
+            long waitNanos = stripe(key).take(key, ipLimit, now);
+            if (waitNanos > 0) {
+                ipThrottled.increment();
+                throw new TooManyRequestsException("Too many login attempts from this address. Please retry later.",
+                        toRetryAfterSeconds(waitNanos));
+            }
+        }
+        String key = accountKey(email);
+        long waitNanos = stripe(key).take(key, accountLimit, now);
+        if (waitNanos > 0) {
+            accountThrottled.increment();
+            throw new TooManyRequestsException("Too many login attempts for this account. Please retry later.",
+                    toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static String accountKey(String email) {
+        return "account:" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private record Limit(int capacity, int refillPerMinute) {
+        double refillPerNano() {
+            return (double) refillPerMinute / NANOS_PER_MINUTE;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+
+    private static final class Stripe {
+        // Guards this stripe's access-ordered bucket map
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets;
+
+        Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        // Takes one token and returns 0, or returns the nanoseconds until the next token
+        long take(String key, Limit limit, long now) {
+            lock.lock();
+            try {
+                Bucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket(limit.capacity(), now);
+                    buckets.put(key, bucket);
+                } else {
+                    bucket.tokens = Math.min(limit.capacity(),
+                            bucket.tokens + (now - bucket.refilledAt) * limit.refillPerNano());
+                    bucket.refilledAt = now;
+                }
+                if (bucket.tokens >= 1) {
+                    bucket.tokens -= 1;
+                    return 0;
+                }
+                return (long) Math.ceil((1 - bucket.tokens) / limit.refillPerNano());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock.lock();
+            try {
+                buckets.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
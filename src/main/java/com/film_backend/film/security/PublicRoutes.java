@@ -0,0 +1,79 @@
+package com.film_backend.film.security;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Routes reachable without a token. SecurityConfig permits exactly these patterns and
+ * JwtAuthenticationFilter skips them, so both are defined here once. Movie ids are numeric, so the id
+ * templates do not also match protected routes such as /api/movies/export.
+ */
+public final class PublicRoutes {
+
+    public static final String[] PATTERNS = {
+            "/api/auth/login",
+            "/api/auth/register/**",
+            "/api/movies/list",
+            "/api/movies/page",
+            "/api/movies/feed",
+            "/api/movies/search",
+            "/api/movies/suggest",
+            "/api/movies/browse",
+            "/api/movies/{id:\\d+}/comments",
+            "/api/movies/{id:\\d+}",
+            "/api/leaderboards/{board}"
+    };
+
+    // Everything below is derived once at class load instead of on every request
+    private static final Set<String> LITERALS = Arrays.stream(PATTERNS)
+            .filter(pattern -> literalPrefix(pattern).equals(pattern))
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static final List<PathPattern> TEMPLATES = Arrays.stream(PATTERNS)
+            .filter(pattern -> !LITERALS.contains(pattern))
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    // A path that starts with none of these cannot match a template, so it is rejected without parsing
+    private static final List<String> TEMPLATE_PREFIXES = Arrays.stream(PATTERNS)
+            .filter(pattern -> !LITERALS.contains(pattern))
+            .map(PublicRoutes::literalPrefix)
+            .distinct()
+            .toList();
+
+    private PublicRoutes() {
+    }
+
+    public static boolean matches(String path) {
+        if (LITERALS.contains(path)) {
+            return true;
+        }
+        if (TEMPLATE_PREFIXES.stream().noneMatch(path::startsWith)) {
+            return false;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (PathPattern pattern : TEMPLATES) {
+            if (pattern.matches(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String literalPrefix(String pattern) {
+        int end = pattern.length();
+        for (char wildcard : new char[] {'{', '*', '?'}) {
+            int index = pattern.indexOf(wildcard);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        return pattern.substring(0, end);
+    }
+}
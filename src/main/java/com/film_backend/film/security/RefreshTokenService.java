@@ -0,0 +1,105 @@
+package com.film_backend.film.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.film_backend.film.entity.RefreshToken;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.repository.RefreshTokenRepository;
+import com.film_backend.film.util.JwtUtil;
+
+/**
+ * Issues and rotates refresh tokens. Only the SHA-256 digest of a token is stored, under a unique index.
+ *
+ * <p>Every refresh consumes the presented token and issues its successor in the same family. A token
+ * that was already consumed signals that it leaked: its whole family is deleted and the user's token
+ * version is bumped, so neither the thief nor the legitimate client can continue that session.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final ZoneId ZONE_ID = ZoneId.of("UTC");
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenVersionCache tokenVersionCache;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtUtil jwtUtil,
+                               TokenVersionCache tokenVersionCache) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.tokenVersionCache = tokenVersionCache;
+    }
+
+    /**
+     * Issues the first refresh token of a new family, e.g. on login.
+     */
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor.
+     *
+     * @throws IllegalArgumentException if the token is unknown, expired or was already used
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new IllegalArgumentException("Refresh token is invalid or expired."));
+        LocalDateTime now = LocalDateTime.now(ZONE_ID);
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new IllegalArgumentException("Refresh token is invalid or expired.");
+        }
+        User user = current.getUser();
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            tokenVersionCache.revokeAll(user.getId());
+            log.warn("Reuse of a rotated refresh token for user {}; token family {} revoked.",
+                    user.getId(), current.getFamilyId());
+            throw new IllegalArgumentException("Refresh token was already used. Please log in again.");
+        }
+        return new Rotation(user, issue(user, current.getFamilyId()));
+    }
+
+    /**
+     * Revokes every refresh token of the user, e.g. on logout or a password change.
+     */
+    public void revokeAll(User user) {
+        refreshTokenRepository.deleteByUser(user);
+    }
+
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String issue(User user, UUID familyId) {
+        String token = jwtUtil.generateRefreshToken(user);
+        LocalDateTime now = LocalDateTime.now(ZONE_ID);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUser(user);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plusSeconds(jwtUtil.getRefreshExpiration()));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.film_backend.film.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.film_backend.film.entity.TokenBlacklist;
+import com.film_backend.film.repository.TokenBlacklistRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+/**
+ * In-process view of the token blacklist so authenticated requests do not query the database.
+ *
+ * <p>A Bloom filter answers the common "not revoked" case without false negatives. On a Bloom hit the
+ * bounded exact map decides, and the repository is consulted only if the token is not in the map (a
+ * false positive, or an entry dropped because the map was full). Map entries expire with their token.
+ *
+ * <p>Tokens revoked on this node are added synchronously, so they take effect immediately. Tokens
+ * revoked on other nodes are picked up by {@link #refresh()}. Until the first warm-up completes, every
+ * lookup goes to the database.
+ */
+@Component
+public class TokenBlacklistCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBlacklistCache.class);
+    // Re-reads a short window before the last refresh so rows committed late are not missed
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+
+    private final TokenBlacklistRepository tokenBlacklistRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final int maxEntries;
+
+    // Token -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Guards writers: additions, the warm-up reload that swaps in a rebuilt Bloom filter, and the periodic refresh
+    private final Lock lock = new ReentrantLock();
+    private volatile BloomFilter<CharSequence> bloomFilter;
+    private volatile boolean warmedUp;
+    private LocalDateTime lastRefresh;
+
+    public TokenBlacklistCache(TokenBlacklistRepository tokenBlacklistRepository,
+                               @Value("${security.token-blacklist.expected-insertions:100000}") int expectedInsertions,
+                               @Value("${security.token-blacklist.false-positive-rate:0.001}") double falsePositiveRate,
+                               @Value("${security.token-blacklist.max-entries:100000}") int maxEntries) {
+        this.tokenBlacklistRepository = tokenBlacklistRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxEntries = maxEntries;
+        this.bloomFilter = newBloomFilter();
+    }
+
+    public boolean isBlacklisted(String token) {
+        if (!warmedUp) {
+            return tokenBlacklistRepository.existsByToken(token);
+        }
+        if (!bloomFilter.mightContain(token)) {
+            return false;
+        }
+        return revoked.containsKey(token) || tokenBlacklistRepository.existsByToken(token);
+    }
+
+    /**
+     * Registers a token that has just been written to the blacklist table.
+     */
+    public void add(String token, LocalDateTime expiresAt) {
+        lock.lock();
+        try {
+            bloomFilter.put(token);
+            if (revoked.size() >= maxEntries) {
+                evictExpired();
+            }
+            if (revoked.size() < maxEntries) {
+                revoked.put(token, toEpochMillis(expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Reloads all unexpired tokens into a fresh Bloom filter, dropping expired ones from both structures.
+     */
+    @Scheduled(cron = "${security.token-blacklist.rebuild-cron:0 15 * * * ?}") // Every hour by default
+    public void rebuild() {
+        lock.lock();
+        try {
+            LocalDateTime startedAt = LocalDateTime.now(ZoneId.of("UTC"));
+            List<TokenBlacklist> active = tokenBlacklistRepository.findByExpiresAtAfter(LocalDateTime.now());
+
+            BloomFilter<CharSequence> rebuilt = newBloomFilter();
+            revoked.clear();
+            active.forEach(entry -> {
+                rebuilt.put(entry.getToken());
+                if (revoked.size() < maxEntries) {
+                    revoked.put(entry.getToken(), toEpochMillis(entry.getExpiresAt()));
+                }
+            });
+            bloomFilter = rebuilt;
+            lastRefresh = startedAt;
+            warmedUp = true;
+            log.info("Token blacklist cache loaded with {} tokens.", active.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Picks up tokens revoked by other nodes since the last refresh.
+     */
+    @Scheduled(fixedDelayString = "${security.token-blacklist.refresh-interval-ms:30000}")
+    public void refresh() {
+        lock.lock();
+        try {
+            if (!warmedUp) {
+                return;
+            }
+            LocalDateTime startedAt = LocalDateTime.now(ZoneId.of("UTC"));
+            List<TokenBlacklist> recent = tokenBlacklistRepository
+                    .findByBlacklistedAtAfter(lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS));
+            recent.forEach(entry -> add(entry.getToken(), entry.getExpiresAt()));
+            evictExpired();
+            lastRefresh = startedAt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    private BloomFilter<CharSequence> newBloomFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveRate);
+    }
+
+    // JwtUtil stores expiresAt in the system time zone
+    private static long toEpochMillis(LocalDateTime expiresAt) {
+        return expiresAt == null ? Long.MAX_VALUE : expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
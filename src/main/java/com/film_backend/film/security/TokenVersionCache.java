@@ -0,0 +1,62 @@
+package com.film_backend.film.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.util.TransactionCallbacks;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Per-user token versions, checked on every authenticated request in both authentication modes. A token is accepted only while the version it
+ * was issued with matches the user's current one, so bumping the version revokes every token of that
+ * user without a blacklist entry per token.
+ *
+ * <p>Versions are cached for a short TTL. Changes made on this node evict the entry when their
+ * transaction commits; other nodes see them once the entry expires.
+ */
+@Component
+public class TokenVersionCache {
+
+    // Cached for users that no longer exist, so their tokens are rejected
+    private static final long NO_USER = -1L;
+
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, Long> versions;
+
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${security.jwt.token-version-cache.max-size:10000}") long maxSize,
+                             @Value("${security.jwt.token-version-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.versions = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build(CacheLoader.from(userId -> userRepository.findTokenVersionById(userId).orElse(NO_USER)));
+    }
+
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        long current = versions.getUnchecked(userId);
+        return current != NO_USER && current == tokenVersion;
+    }
+
+    /**
+     * Revokes every token issued to the user so far, e.g. after a password or email change.
+     */
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        evict(userId);
+    }
+
+    /**
+     * Drops the cached version, e.g. after the user was deleted. The entry is dropped again after the
+     * commit: a check running before it would otherwise cache the old version for the whole TTL.
+     */
+    public void evict(Long userId) {
+        versions.invalidate(userId);
+        TransactionCallbacks.afterCommit(() -> versions.invalidate(userId));
+    }
+}
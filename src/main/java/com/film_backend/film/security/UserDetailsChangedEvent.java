@@ -0,0 +1,16 @@
+package com.film_backend.film.security;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Published when a user's credentials, email or role change, or the user is deleted. Carries every email
+ * the user could be cached under (the old and the new one after an email change).
+ */
+public record UserDetailsChangedEvent(List<String> emails) {
+
+    public static UserDetailsChangedEvent of(String... emails) {
+        return new UserDetailsChangedEvent(Stream.of(emails).filter(Objects::nonNull).distinct().toList());
+    }
+}
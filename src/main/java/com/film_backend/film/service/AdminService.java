@@ -1,9 +1,9 @@
 package com.film_backend.film.service;
 
 import java.io.IOException;
-import java.util.List;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,12 +11,13 @@ import org.springframework.stereotype.Service;
 
 import com.film_backend.film.dtos.request.UserRequestDto;
 import com.film_backend.film.dtos.response.UserResponseDto;
-import com.film_backend.film.entity.RefreshToken;
 import com.film_backend.film.entity.User;
 import com.film_backend.film.exception.ResourceNotFoundException;
 import com.film_backend.film.mapper.UserMapper;
 import com.film_backend.film.repository.RefreshTokenRepository;
 import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.security.TokenVersionCache;
+import com.film_backend.film.security.UserDetailsChangedEvent;
 import com.film_backend.film.util.ImageUtil;
 import com.film_backend.film.util.JwtUtil;
 
@@ -36,6 +37,8 @@ public class AdminService {
     private final ImageUtil imageUtil;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenVersionCache tokenVersionCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Updates an admin's details based on the provided token and request DTO.
@@ -62,7 +65,10 @@ public class AdminService {
         if (StringUtils.isNotBlank(dto.getUsername())) {
             user.setUsername(dto.getUsername());
         }
+        String previousEmail = user.getEmail();
+        boolean emailChanged = false;
         if (StringUtils.isNotBlank(dto.getEmail())) {
+            emailChanged = !dto.getEmail().equals(user.getEmail());
             user.setEmail(dto.getEmail());
         }
         boolean passwordChanged = false;
@@ -77,21 +83,22 @@ public class AdminService {
 
         user = userRepository.save(user);
 
-        // Add all tokens to blacklist if password changed
+        // Blacklist the access token and revoke every stored refresh token if the password changed
         if (passwordChanged) {
             try {
                 jwtUtil.blacklistToken(token); 
-                List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser(user);
-                for (RefreshToken refreshToken : refreshTokens) {
-                    jwtUtil.blacklistToken(refreshToken.getToken());
-                    refreshTokenRepository.deleteByToken(refreshToken.getToken());
-                }
+                refreshTokenRepository.deleteByUser(user);
                 
             } catch (Exception e) {
                 
                 throw new RuntimeException("Token blacklisting failed.");
             }
         }
+        // Issued tokens carry the old credentials or email in their claims
+        if (passwordChanged || emailChanged) {
+            tokenVersionCache.revokeAll(user.getId());
+        }
+        eventPublisher.publishEvent(UserDetailsChangedEvent.of(previousEmail, user.getEmail()));
 
         return userMapper.toDTO(user);
     }
@@ -186,11 +193,7 @@ public class AdminService {
        
         try {
             jwtUtil.blacklistToken(token);
-            List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser(admin);
-            for (RefreshToken refreshToken : refreshTokens) {
-                jwtUtil.blacklistToken(refreshToken.getToken());
-                refreshTokenRepository.deleteByToken(refreshToken.getToken());
-            }
+            refreshTokenRepository.deleteByUser(admin);
             
         } catch (Exception e) {
             
@@ -198,6 +201,8 @@ public class AdminService {
         }
 
         userRepository.delete(admin);
+        tokenVersionCache.evict(admin.getId());
+        eventPublisher.publishEvent(UserDetailsChangedEvent.of(admin.getEmail()));
         
     }
 
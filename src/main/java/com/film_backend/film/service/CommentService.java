@@ -1,18 +1,30 @@
 package com.film_backend.film.service;
 
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.film_backend.film.config.CacheConfig;
 import com.film_backend.film.dtos.request.CommentRequestDto;
 import com.film_backend.film.dtos.response.CommentResponseDto;
+import com.film_backend.film.dtos.response.CursorPageResponseDto;
 import com.film_backend.film.entity.Comment;
 import com.film_backend.film.entity.Movie;
 import com.film_backend.film.entity.User;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
 import com.film_backend.film.mapper.CommentMapper;
 import com.film_backend.film.repository.CommentRepository;
 import com.film_backend.film.repository.MovieRepository;
 import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.search.MovieSearchIndex;
+import com.film_backend.film.util.CursorUtils;
 import com.film_backend.film.util.JwtUtil;
 
 @Service
@@ -23,16 +35,30 @@ public class CommentService {
     private final MovieRepository movieRepository;
     private final CommentMapper commentMapper;
     private final JwtUtil jwtUtil;
+    private final RatingAggregator ratingAggregator;
+    private final LeaderboardIndex leaderboardIndex;
+    private final MovieSearchIndex searchIndex;
 
     public CommentService(CommentRepository commentRepository, UserRepository userRepository,
-                          MovieRepository movieRepository, CommentMapper commentMapper, JwtUtil jwtUtil) {
+                          MovieRepository movieRepository, CommentMapper commentMapper, JwtUtil jwtUtil,
+                          RatingAggregator ratingAggregator, LeaderboardIndex leaderboardIndex,
+                          MovieSearchIndex searchIndex) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
         this.movieRepository = movieRepository;
         this.commentMapper = commentMapper;
         this.jwtUtil = jwtUtil;
+        this.ratingAggregator = ratingAggregator;
+        this.leaderboardIndex = leaderboardIndex;
+        this.searchIndex = searchIndex;
     }
 
+    // The cached movie detail embeds the first comment page and the average rating
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#dto.movieId")
+    @Transactional
+    @Retryable(retryFor = ConcurrencyFailureException.class,
+            maxAttemptsExpression = "${movies.write.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${movies.write.retry.delay-ms:50}", multiplier = 2, random = true))
     public CommentResponseDto createComment(CommentRequestDto dto, String token) {
         String userEmail = jwtUtil.extractEmail(token);
         User user = userRepository.findByEmail(userEmail)
@@ -43,11 +69,34 @@ public class CommentService {
         Comment comment = commentMapper.toEntity(dto, user, movie);
         comment = commentRepository.save(comment);
 
-        
-        List<Comment> comments = commentRepository.findByMovieId(movie.getId());
-        movie.updateAverageRating(comments);
-        movieRepository.save(movie);
+        if (ratingAggregator.isEnabled()) {
+            // Write-behind: the movie row is updated by the aggregator's batched flush
+            ratingAggregator.record(movie.getId(), comment.getRate());
+        } else {
+            // O(1) aggregate update in the same transaction instead of re-reading every comment of the movie
+            movieRepository.applyRating(movie.getId(), comment.getRate());
+        }
+        leaderboardIndex.record(movie.getId(), comment.getRate());
+        searchIndex.record(movie.getId(), comment.getRate());
 
         return commentMapper.toDTO(comment);
     }
+
+    /**
+     * Newest-first comments of a movie, keyset-paged on (createdAt, id).
+     */
+    public CursorPageResponseDto<CommentResponseDto> listMovieComments(Long movieId, String cursor, Integer size) {
+        int pageSize = CursorUtils.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<CommentResponseDto> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = commentRepository.findFeedFirstPage(movieId, limit);
+        } else {
+            String[] parts = CursorUtils.decode(cursor, 2);
+            rows = commentRepository.findFeedPageAfter(movieId, new Date(CursorUtils.parseLong(parts[0])),
+                    CursorUtils.parseLong(parts[1]), limit);
+        }
+        return CursorUtils.toPage(rows, pageSize,
+                comment -> CursorUtils.encode(comment.getCreatedAt().getTime(), comment.getId()));
+    }
 }
\ No newline at end of file
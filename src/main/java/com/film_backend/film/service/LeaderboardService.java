@@ -0,0 +1,33 @@
+package com.film_backend.film.service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.film_backend.film.dtos.response.LeaderboardEntryDto;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.leaderboard.Leaderboard;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
+import com.film_backend.film.util.CursorUtils;
+
+@Service
+public class LeaderboardService {
+
+    private final LeaderboardIndex leaderboardIndex;
+
+    public LeaderboardService(LeaderboardIndex leaderboardIndex) {
+        this.leaderboardIndex = leaderboardIndex;
+    }
+
+    /**
+     * Top-rated, most-reviewed or trending movies, overall or within one genre. Served from the in-memory
+     * snapshot of the boards without a database query; empty until the boards are first built.
+     */
+    public List<LeaderboardEntryDto> getLeaderboard(String board, Genre genre, Integer limit) {
+        Leaderboard leaderboard = Leaderboard.fromPath(board);
+        int max = limit == null
+                ? Math.min(CursorUtils.DEFAULT_PAGE_SIZE, leaderboardIndex.size())
+                : Math.min(Math.max(limit, 1), leaderboardIndex.size());
+        return leaderboardIndex.top(leaderboard, genre, max);
+    }
+}
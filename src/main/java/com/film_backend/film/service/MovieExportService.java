@@ -0,0 +1,148 @@
+package com.film_backend.film.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.dtos.response.MovieExportDto;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.exception.ServiceUnavailableException;
+import com.film_backend.film.repository.MovieRepository;
+
+/**
+ * Writes the whole catalog as NDJSON or CSV while reading it from a database cursor, one row at a time.
+ * Memory use does not depend on the catalog size, and a slow client slows the cursor down: writes to the
+ * response block once the socket buffer is full.
+ *
+ * <p>Each export holds a pooled connection until the client has read the last row, so only a few may
+ * run at once; the rest are turned away with 503 instead of queueing for the pool.
+ */
+@Service
+public class MovieExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    // The CSV import's columns and genre separator, plus id and ratings, which the import skips
+    private static final String CSV_HEADER = "id,title,description,genres,posterUrl,videoUrl,duration,releaseYear,"
+            + "averageRating,ratingCount";
+
+    private final MovieRepository movieRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exports;
+
+    public MovieExportService(MovieRepository movieRepository, ObjectMapper objectMapper,
+                              @Value("${movies.export.max-concurrent:2}") int maxConcurrentExports) {
+        this.movieRepository = movieRepository;
+        this.objectMapper = objectMapper;
+        this.exports = new Semaphore(maxConcurrentExports);
+    }
+
+    /**
+     * Reserves one of the concurrent export slots.
+     *
+     * @return gives the slot back; later calls do nothing
+     * @throws ServiceUnavailableException if every slot is taken
+     */
+    public Runnable reserveSlot() {
+        if (!exports.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many catalog exports in progress. Please retry later.");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                exports.release();
+            }
+        };
+    }
+
+    public MediaType mediaType(String format) {
+        return switch (validate(format)) {
+            case FORMAT_CSV -> TEXT_CSV;
+            default -> MediaType.APPLICATION_NDJSON;
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public void export(String format, OutputStream out) throws IOException {
+        boolean csv = validate(format).equals(FORMAT_CSV);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<MovieExportDto> movies = movieRepository.streamAllForExport()) {
+            Iterator<MovieExportDto> rows = movies.iterator();
+            boolean first = true;
+            while (rows.hasNext()) {
+                MovieExportDto movie = rows.next();
+                if (csv) {
+                    writeCsv(writer, movie);
+                } else {
+                    json.writeObject(movie);
+                    json.flush();
+                    writer.write('\n');
+                }
+                // The first row goes out right away; after that the buffer fills before each write
+                if (first) {
+                    writer.flush();
+                    first = false;
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private static String validate(String format) {
+        if (!FORMAT_NDJSON.equals(format) && !FORMAT_CSV.equals(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        return format;
+    }
+
+    private static void writeCsv(Writer writer, MovieExportDto movie) throws IOException {
+        String genres = movie.getGenres().stream().map(Genre::name).collect(Collectors.joining("|"));
+        writer.write(String.join(",",
+                csvValue(movie.getId()),
+                csvValue(movie.getTitle()),
+                csvValue(movie.getDescription()),
+                csvValue(genres),
+                csvValue(movie.getPosterUrl()),
+                csvValue(movie.getVideoUrl()),
+                csvValue(movie.getDuration()),
+                csvValue(movie.getReleaseYear()),
+                csvValue(movie.getAverageRating()),
+                csvValue(movie.getRatingCount())));
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields with separators, quotes or line breaks and double the quotes inside
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,356 @@
+package com.film_backend.film.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.config.CacheConfig;
+import com.film_backend.film.dtos.request.MovieRequestDto;
+import com.film_backend.film.dtos.response.MovieImportJobDto;
+import com.film_backend.film.dtos.response.MovieImportRowErrorDto;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.entity.MovieImportError;
+import com.film_backend.film.entity.MovieImportJob;
+import com.film_backend.film.enums.ImportFormat;
+import com.film_backend.film.enums.ImportJobStatus;
+import com.film_backend.film.exception.ResourceNotFoundException;
+import com.film_backend.film.importer.MovieImportReader;
+import com.film_backend.film.importer.MovieImportRow;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
+import com.film_backend.film.mapper.MovieMapper;
+import com.film_backend.film.repository.MovieImportErrorRepository;
+import com.film_backend.film.repository.MovieImportJobRepository;
+import com.film_backend.film.search.MovieSearchIndex;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk movie import as a background job. The upload is spooled to disk and read back one row at a time;
+ * rows are validated like the single-movie endpoint and inserted in JDBC batches, one transaction per
+ * batch, together with the job's progress and the rejected rows of that batch.
+ *
+ * <p>Jobs run one at a time on a dedicated thread. A job that fails keeps its file and can be resumed
+ * from the first uncommitted row. A shutdown stops the running job between rows, leaving it RUNNING,
+ * and such jobs resume when the application starts.
+ */
+@Service
+public class MovieImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieImportService.class);
+    private static final int ERRORS_IN_STATUS = 100;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final Set<ImportJobStatus> UNFINISHED = EnumSet.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+
+    private final MovieImportJobRepository jobRepository;
+    private final MovieImportErrorRepository errorRepository;
+    private final MovieMapper movieMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final MovieSearchIndex searchIndex;
+    private final LeaderboardIndex leaderboardIndex;
+    private final int batchSize;
+    private final Path directory;
+    private final int maxErrors;
+    private final Duration shutdownTimeout;
+    // Set on shutdown; the running job then stops without being marked FAILED
+    private volatile boolean stopping;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "movie-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MovieImportService(MovieImportJobRepository jobRepository, MovieImportErrorRepository errorRepository,
+                              MovieMapper movieMapper, Validator validator, ObjectMapper objectMapper,
+                              EntityManager entityManager, PlatformTransactionManager transactionManager,
+                              CacheManager cacheManager, MovieSearchIndex searchIndex, LeaderboardIndex leaderboardIndex,
+                              @Value("${movies.import.batch-size:500}") int batchSize,
+                              @Value("${movies.import.directory:${java.io.tmpdir}/movie-imports}") String directory,
+                              @Value("${movies.import.max-errors:1000}") int maxErrors,
+                              @Value("${movies.import.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.jobRepository = jobRepository;
+        this.errorRepository = errorRepository;
+        this.movieMapper = movieMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.searchIndex = searchIndex;
+        this.leaderboardIndex = leaderboardIndex;
+        this.batchSize = batchSize;
+        this.directory = Path.of(directory);
+        this.maxErrors = maxErrors;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Stores the upload and queues its import. The format follows the content type: a JSON array of
+     * movies, NDJSON or CSV.
+     */
+    public MovieImportJobDto startImport(InputStream body, String contentType) {
+        ImportFormat format = formatOf(contentType);
+        Path file;
+        try {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "import-", "." + format.name().toLowerCase(Locale.ROOT));
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store the import upload", e);
+        }
+        MovieImportJob job = jobRepository.save(MovieImportJob.builder()
+                .status(ImportJobStatus.QUEUED)
+                .format(format)
+                .sourcePath(file.toString())
+                .build());
+        log.info("Movie import {} queued: format={}, bytes={}", job.getId(), format, file.toFile().length());
+        executor.execute(() -> run(job.getId()));
+        return toDto(job, List.of());
+    }
+
+    public MovieImportJobDto getJob(Long id) {
+        MovieImportJob job = findJob(id);
+        List<MovieImportError> errors = errorRepository.findByJobIdOrderByRowNumber(id, PageRequest.of(0, ERRORS_IN_STATUS));
+        return toDto(job, errors);
+    }
+
+    /**
+     * Queues a failed job again; it continues after the last committed batch.
+     */
+    public MovieImportJobDto resume(Long id) {
+        MovieImportJob job = findJob(id);
+        if (job.getStatus() == ImportJobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Import job is already completed");
+        }
+        if (UNFINISHED.contains(job.getStatus())) {
+            throw new IllegalArgumentException("Import job is already running");
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setMessage(null);
+        MovieImportJob queued = jobRepository.save(job);
+        executor.execute(() -> run(queued.getId()));
+        return toDto(queued, List.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        for (MovieImportJob job : jobRepository.findByStatusInOrderById(UNFINISHED)) {
+            log.info("Resuming movie import {} after row {}.", job.getId(), job.getProcessedRows());
+            executor.execute(() -> run(job.getId()));
+        }
+    }
+
+    /**
+     * Lets the batch in flight commit, then stops the running job. The job stays RUNNING and resumes from its
+     * last committed batch on the next start. A batch still blocked after the timeout is interrupted and rolls back.
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+                executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void run(Long jobId) {
+        if (stopping) {
+            return;
+        }
+        MovieImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(ImportJobStatus.RUNNING);
+        job = jobRepository.save(job);
+        Path file = Path.of(job.getSourcePath());
+        long committedRows = job.getProcessedRows();
+        try (MovieImportReader reader = MovieImportReader.open(job.getFormat(),
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), objectMapper)) {
+            List<MovieImportRow> batch = new ArrayList<>(batchSize);
+            MovieImportRow row;
+            while ((row = reader.next()) != null) {
+                if (stopping) {
+                    log.info("Movie import {} stopped by shutdown; it resumes on the next start.", jobId);
+                    return;
+                }
+                if (row.rowNumber() <= committedRows) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    commit(jobId, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                commit(jobId, batch);
+            }
+            finish(jobId, ImportJobStatus.COMPLETED, null);
+            Files.deleteIfExists(file);
+        } catch (IOException | RuntimeException e) {
+            if (stopping) {
+                // Most likely the shutdown interrupting a JDBC call or a connection wait, not a broken job
+                log.info("Movie import {} interrupted by shutdown ({}); it resumes on the next start.", jobId, e.getMessage());
+                return;
+            }
+            log.warn("Movie import {} failed: {}", jobId, e.getMessage());
+            finish(jobId, ImportJobStatus.FAILED, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void commit(Long jobId, List<MovieImportRow> rows) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(jobId, rows));
+        } catch (PersistenceException | DataIntegrityViolationException e) {
+            // A row the database rejects fails its whole batch; retry the batch row by row to single it out
+            for (MovieImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(jobId, List.of(row)));
+                } catch (PersistenceException | DataIntegrityViolationException rowFailure) {
+                    MovieImportRow rejected = new MovieImportRow(row.rowNumber(), null, "Rejected by the database");
+                    transactionTemplate.executeWithoutResult(status -> insert(jobId, List.of(rejected)));
+                }
+            }
+        }
+        Cache lists = cacheManager.getCache(CacheConfig.MOVIE_LISTS);
+        if (lists != null) {
+            lists.clear();
+        }
+    }
+
+    // One transaction: the batch's movies, its rejected rows and the job's progress commit together
+    private void insert(Long jobId, List<MovieImportRow> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        MovieImportJob job = entityManager.find(MovieImportJob.class, jobId);
+        List<Movie> movies = new ArrayList<>(rows.size());
+        List<MovieImportError> errors = new ArrayList<>();
+        for (MovieImportRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.movie());
+            if (error == null) {
+                Movie movie = movieMapper.toEntity(row.movie());
+                entityManager.persist(movie);
+                movies.add(movie);
+            } else {
+                errors.add(MovieImportError.builder().jobId(jobId).rowNumber(row.rowNumber()).message(truncate(error)).build());
+            }
+        }
+        // Sequence ids let the movie inserts go out as JDBC batches here, ahead of the identity-keyed errors
+        entityManager.flush();
+        for (int i = 0; i < errors.size() && job.getFailedRows() + i < maxErrors; i++) {
+            entityManager.persist(errors.get(i));
+        }
+        job.setProcessedRows(rows.get(rows.size() - 1).rowNumber());
+        job.setImportedRows(job.getImportedRows() + movies.size());
+        job.setFailedRows(job.getFailedRows() + errors.size());
+        for (Movie movie : movies) {
+            searchIndex.index(movie);
+            leaderboardIndex.update(movie);
+        }
+    }
+
+    private String validate(MovieRequestDto movie) {
+        Set<ConstraintViolation<MovieRequestDto>> violations = validator.validate(movie);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private void finish(Long jobId, ImportJobStatus status, String message) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setMessage(message == null ? null : truncate(message));
+            jobRepository.save(job);
+            log.info("Movie import {} {}: imported={}, failed={}", jobId, status, job.getImportedRows(), job.getFailedRows());
+        });
+    }
+
+    private MovieImportJob findJob(Long id) {
+        return jobRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Import job not found."));
+    }
+
+    private static ImportFormat formatOf(String contentType) {
+        MediaType mediaType;
+        try {
+            mediaType = MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            throw new IllegalArgumentException("Unsupported import format: " + contentType);
+        }
+        if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
+            return ImportFormat.JSON;
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+            return ImportFormat.NDJSON;
+        }
+        if (new MediaType("text", "csv").isCompatibleWith(mediaType)) {
+            return ImportFormat.CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private static MovieImportJobDto toDto(MovieImportJob job, List<MovieImportError> errors) {
+        return MovieImportJobDto.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .format(job.getFormat())
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .message(job.getMessage())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .errors(errors.stream()
+                        .map(error -> new MovieImportRowErrorDto(error.getRowNumber(), error.getMessage()))
+                        .toList())
+                .build();
+    }
+}
@@ -1,31 +1,70 @@
 package com.film_backend.film.service;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.film_backend.film.config.CacheConfig;
 import com.film_backend.film.dtos.request.MovieRequestDto;
+import com.film_backend.film.dtos.response.CursorPageResponseDto;
 import com.film_backend.film.dtos.response.MovieDetailResponseDto;
+import com.film_backend.film.dtos.response.MovieFeedItemDto;
+import com.film_backend.film.dtos.response.MovieSearchResponseDto;
 import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
+import com.film_backend.film.dtos.response.MovieSuggestionDto;
+import com.film_backend.film.entity.GenreMaskConverter;
 import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
 import com.film_backend.film.mapper.MovieMapper;
 import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.search.InvertedIndex;
+import com.film_backend.film.search.MovieBrowseFilter;
+import com.film_backend.film.search.MovieSearchDocument;
+import com.film_backend.film.search.MovieSearchIndex;
+import com.film_backend.film.util.CursorUtils;
+import com.film_backend.film.util.HttpValidators;
 
 @Service
 public class MovieService {
 
     private static final Logger log = LoggerFactory.getLogger(MovieService.class);
+    private static final String SORT_NEWEST = "newest";
+    private static final String SORT_TOP_RATED = "top-rated";
+    private static final String CURSOR_RATED = "r";
+    private static final String CURSOR_UNRATED = "u";
+    private static final String MATCH_ANY = "any";
+    private static final String MATCH_ALL = "all";
     private final MovieRepository movieRepository;
     private final MovieMapper movieMapper;
+    private final CommentService commentService;
+    private final MovieSearchIndex searchIndex;
+    private final LeaderboardIndex leaderboardIndex;
 
-    public MovieService(MovieRepository movieRepository, MovieMapper movieMapper) {
+    public MovieService(MovieRepository movieRepository, MovieMapper movieMapper, CommentService commentService,
+                        MovieSearchIndex searchIndex, LeaderboardIndex leaderboardIndex) {
         this.movieRepository = movieRepository;
         this.movieMapper = movieMapper;
+        this.commentService = commentService;
+        this.searchIndex = searchIndex;
+        this.leaderboardIndex = leaderboardIndex;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
     public MovieSimpleResponseDto createMovie(MovieRequestDto dto) throws Exception {
         log.info("Creating movie: DTO={}", dto);
         if (dto == null) {
@@ -36,9 +75,20 @@ public class MovieService {
         
         Movie movie = movieMapper.toEntity(dto);
         movie = movieRepository.save(movie);
+        searchIndex.index(movie);
+        leaderboardIndex.update(movie);
         return movieMapper.toSimpleDTO(movie);
     }
 
+    // A concurrent update of the same movie fails the version check; the whole read-modify-write is retried
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    })
+    @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${movies.write.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${movies.write.retry.delay-ms:50}", multiplier = 2, random = true))
     public MovieSimpleResponseDto updateMovie(Long id, MovieRequestDto dto) throws Exception {
         log.info("Updating movie: ID={}, DTO={}", id, dto);
         Movie movie = movieRepository.findById(id)
@@ -60,27 +110,230 @@ public class MovieService {
         movie.setDuration(dto.getDuration());
         movie.setReleaseYear(dto.getReleaseYear());
         movie = movieRepository.save(movie);
+        searchIndex.index(movie);
+        leaderboardIndex.update(movie);
         return movieMapper.toSimpleDTO(movie);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     public void deleteMovie(Long id) {
         log.info("Deleting movie: ID={}", id);
         movieRepository.deleteById(id);
+        searchIndex.remove(id);
+        leaderboardIndex.remove(id);
     }
 
+    @Cacheable(cacheNames = CacheConfig.MOVIE_LISTS, key = "'list:' + #title")
     public List<MovieSimpleResponseDto> listSimpleMovies(String title) {
-        List<Movie> movies = (title == null || title.isEmpty())
-                ? movieRepository.findAll()
-                : movieRepository.findByTitleContainingIgnoreCase(title);
+        if (title == null || title.isEmpty()) {
+            return movieRepository.findAllSimple();
+        }
+        // The title trigram index answers the same substring match as the query without scanning the table
+        return searchIndex.isReady()
+                ? searchIndex.findByTitleContaining(title).stream().map(MovieSearchDocument::toSimpleDto).toList()
+                : movieRepository.findSimpleByTitleContaining(title);
+    }
+
+    /**
+     * Validators of {@link #listSimpleMovies(String)}: the row count catches deletes and the latest
+     * updatedAt catches inserts and edits. There is no Last-Modified, since a delete leaves no timestamp.
+     */
+    public HttpValidators getSimpleMoviesValidators(String title) {
+        if (title != null && !title.isEmpty() && searchIndex.isReady()) {
+            List<MovieSearchDocument> matches = searchIndex.findByTitleContaining(title);
+            long lastUpdatedAt = matches.stream().mapToLong(match -> HttpValidators.millis(match.updatedAt())).max().orElse(0);
+            return HttpValidators.of(HttpValidators.NO_LAST_MODIFIED, matches.size(), lastUpdatedAt);
+        }
+        MovieRepository.ListVersion version = (title == null || title.isEmpty())
+                ? movieRepository.findListVersion()
+                : movieRepository.findListVersionByTitleContaining(title);
+        return HttpValidators.of(HttpValidators.NO_LAST_MODIFIED,
+                version.getCount(), HttpValidators.millis(version.getLastUpdatedAt()));
+    }
 
-        return movies.stream()
-                .map(movieMapper::toSimpleDTO)
-                .collect(Collectors.toList());
+    @Cacheable(cacheNames = CacheConfig.MOVIE_LISTS, key = "'page:' + #cursor + ':' + #size")
+    public CursorPageResponseDto<MovieSimpleResponseDto> listSimpleMoviesPage(String cursor, Integer size) {
+        int pageSize = CursorUtils.resolvePageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<MovieSimpleResponseDto> rows = (cursor == null || cursor.isEmpty())
+                ? movieRepository.findSimpleFirstPage(limit)
+                : movieRepository.findSimplePageAfter(CursorUtils.parseLong(CursorUtils.decode(cursor, 1)[0]), limit);
+        return CursorUtils.toPage(rows, pageSize, movie -> CursorUtils.encode(movie.getId()));
+    }
+
+    /**
+     * Ranked full-text search over titles and descriptions with genre facets. Every query word must be a
+     * prefix of a word of the movie. Until the search index is built, titles are matched in the database
+     * and results come unranked and without facets.
+     */
+    public MovieSearchResponseDto searchMovies(String query, Set<Genre> genres, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        int pageSize = CursorUtils.resolvePageSize(size);
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+
+        List<MovieSimpleResponseDto> content;
+        int total;
+        Map<Genre, Integer> facets;
+        if (searchIndex.isReady()) {
+            InvertedIndex.Hits hits = searchIndex.search(query, genres, offset, pageSize);
+            content = hits.documents().stream().map(MovieSearchDocument::toSimpleDto).toList();
+            total = hits.total();
+            facets = hits.genreFacets();
+        } else {
+            List<MovieSimpleResponseDto> matches = movieRepository.findSimpleByTitleContaining(query.trim());
+            int from = Math.min(offset, matches.size());
+            content = matches.subList(from, Math.min(from + pageSize, matches.size()));
+            total = matches.size();
+            facets = Map.of();
+        }
+        return MovieSearchResponseDto.builder()
+                .content(content)
+                .page(pageNumber)
+                .size(pageSize)
+                .totalHits(total)
+                .hasNext((long) offset + content.size() < total)
+                .genreFacets(facets)
+                .build();
+    }
+
+    /**
+     * Typeahead suggestions: the most popular movies with a title word starting with the prefix. Served
+     * from the search index's title trie; until the index is built, a title match in the database stands in.
+     */
+    public List<MovieSuggestionDto> suggestTitles(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int max = limit == null
+                ? InvertedIndex.MAX_SUGGESTIONS
+                : Math.min(Math.max(limit, 1), InvertedIndex.MAX_SUGGESTIONS);
+        if (searchIndex.isReady()) {
+            return searchIndex.suggest(prefix, max).stream().map(MovieSearchDocument::toSuggestionDto).toList();
+        }
+        return movieRepository.findSimpleByTitleContaining(prefix.trim()).stream()
+                .limit(max)
+                .map(movie -> new MovieSuggestionDto(movie.getId(), movie.getTitle(), movie.getPosterUrl(), null))
+                .toList();
+    }
+
+    /**
+     * Browse by genre (any or all of the given genres), release year range and minimum average rating,
+     * in id order with a keyset cursor. Served from the bitmap indexes of the search index; until it is
+     * built, the same filter runs as a database query.
+     */
+    public CursorPageResponseDto<MovieSimpleResponseDto> browseMovies(Set<Genre> genres, String match, Integer fromYear,
+                                                                      Integer toYear, Double minRating,
+                                                                      String cursor, Integer size) {
+        MovieBrowseFilter filter = new MovieBrowseFilter(genres, matchAll(match), fromYear, toYear, minRating);
+        if (fromYear != null && toYear != null && fromYear > toYear) {
+            throw new IllegalArgumentException("fromYear must not be after toYear");
+        }
+        if (minRating != null && (minRating < 0 || minRating > 5)) {
+            throw new IllegalArgumentException("minRating must be between 0 and 5");
+        }
+        int pageSize = CursorUtils.resolvePageSize(size);
+        long afterId = cursor == null || cursor.isEmpty() ? 0 : CursorUtils.parseLong(CursorUtils.decode(cursor, 1)[0]);
+
+        List<MovieSimpleResponseDto> rows;
+        if (searchIndex.isReady()) {
+            rows = searchIndex.browse(filter, afterId, pageSize + 1).stream()
+                    .map(MovieSearchDocument::toSimpleDto)
+                    .toList();
+        } else {
+            int genreMask = GenreMaskConverter.mask(filter.genres());
+            rows = movieRepository.findBrowsePageAfter(afterId, filter.matchAll() ? 0 : genreMask,
+                    filter.matchAll() ? genreMask : 0, fromYear, toYear, minRating, PageRequest.of(0, pageSize + 1));
+        }
+        return CursorUtils.toPage(rows, pageSize, movie -> CursorUtils.encode(movie.getId()));
     }
-    
+
+    private static boolean matchAll(String match) {
+        if (match == null || match.isEmpty() || MATCH_ANY.equals(match)) {
+            return false;
+        }
+        if (MATCH_ALL.equals(match)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported genre match: " + match);
+    }
+
+    /**
+     * Infinite-scroll feed of movies ordered by {@code newest} (createdAt, id) or {@code top-rated}
+     * (averageRating, id). Each page is a single index range scan regardless of how deep the client is.
+     */
+    public CursorPageResponseDto<MovieFeedItemDto> listMovieFeed(String sort, String cursor, Integer size) {
+        int pageSize = CursorUtils.resolvePageSize(size);
+        boolean firstPage = cursor == null || cursor.isEmpty();
+        if (sort == null || sort.isEmpty() || SORT_NEWEST.equals(sort)) {
+            return listNewestFeed(firstPage ? null : CursorUtils.decode(cursor, 2), pageSize);
+        }
+        if (SORT_TOP_RATED.equals(sort)) {
+            return listTopRatedFeed(firstPage ? null : CursorUtils.decode(cursor, 3), pageSize);
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + sort);
+    }
+
+    private CursorPageResponseDto<MovieFeedItemDto> listNewestFeed(String[] cursor, int pageSize) {
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<MovieFeedItemDto> rows = cursor == null
+                ? movieRepository.findNewestFirstPage(limit)
+                : movieRepository.findNewestPageAfter(new Date(CursorUtils.parseLong(cursor[0])),
+                        CursorUtils.parseLong(cursor[1]), limit);
+        return CursorUtils.toPage(rows, pageSize,
+                movie -> CursorUtils.encode(movie.getCreatedAt().getTime(), movie.getId()));
+    }
+
+    private CursorPageResponseDto<MovieFeedItemDto> listTopRatedFeed(String[] cursor, int pageSize) {
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<MovieFeedItemDto> rows = new ArrayList<>();
+        // Unrated movies follow all rated ones; the cursor records which of the two ranges it points into
+        if (cursor != null && !CURSOR_RATED.equals(cursor[0]) && !CURSOR_UNRATED.equals(cursor[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        boolean inUnratedRange = cursor != null && CURSOR_UNRATED.equals(cursor[0]);
+        if (!inUnratedRange) {
+            rows.addAll(cursor == null
+                    ? movieRepository.findTopRatedFirstPage(limit)
+                    : movieRepository.findTopRatedPageAfter(CursorUtils.parseDouble(cursor[1]),
+                            CursorUtils.parseLong(cursor[2]), limit));
+        }
+        if (rows.size() <= pageSize) {
+            PageRequest remaining = PageRequest.of(0, pageSize + 1 - rows.size());
+            rows.addAll(inUnratedRange
+                    ? movieRepository.findUnratedPageAfter(CursorUtils.parseLong(cursor[2]), remaining)
+                    : movieRepository.findUnratedFirstPage(remaining));
+        }
+        return CursorUtils.toPage(rows, pageSize, movie -> movie.getAverageRating() == null
+                ? CursorUtils.encode(CURSOR_UNRATED, "", movie.getId())
+                : CursorUtils.encode(CURSOR_RATED, movie.getAverageRating(), movie.getId()));
+    }
+
+    /**
+     * Validators of {@link #getMovieById(Long)}. Entity edits bump the version, new comments move the latest
+     * comment time, and rating flushes move the rating count; none of them needs the detail DTO.
+     */
+    public HttpValidators getMovieValidators(Long id) {
+        MovieRepository.DetailVersion version = movieRepository.findDetailVersionById(id)
+                .orElseThrow(() -> new RuntimeException("Movie not found"));
+        long lastCommentAt = HttpValidators.millis(version.getLastCommentAt());
+        return HttpValidators.of(Math.max(HttpValidators.millis(version.getUpdatedAt()), lastCommentAt),
+                version.getVersion(), version.getRatingCount(), lastCommentAt);
+    }
+
+    // sync: concurrent misses for the same movie load it once instead of each hitting the database
+    @Cacheable(cacheNames = CacheConfig.MOVIE_DETAILS, key = "#id", sync = true)
     public MovieDetailResponseDto getMovieById(Long id) {
-        Movie movie = movieRepository.findById(id)
+        Movie movie = movieRepository.findDetailById(id)
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
-        return movieMapper.toDetailDTO(movie);
+        return movieMapper.toDetailDTO(movie, commentService.listMovieComments(id, null, null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.film_backend.film.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.film_backend.film.config.CacheConfig;
+import com.film_backend.film.repository.MovieRatingBatchRepository.RatingDelta;
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.util.TransactionCallbacks;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind accumulator for movie ratings. When enabled, comment creation records its rating here
+ * instead of updating the movie row, and {@link #flush()} applies the accumulated per-movie deltas to the
+ * {@code movies} table in one batched statement every few hundred milliseconds.
+ *
+ * <p>Each movie has one {@link LongAdder} holding {@code sum << 32 | count}, so a rating is a single
+ * striped add and is always drained whole. The comments table stays the durable source of truth: a repair
+ * from it goes through {@link #reconcile(IntSupplier)}, and deltas lost to a crash or a failed final flush
+ * are rebuilt by RatingConsistencyScheduler on the next startup.
+ */
+@Component
+public class RatingAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregator.class);
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final MovieRepository movieRepository;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    // Entries are kept after draining; the map is bounded by the number of distinct rated movies
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // Held while pending deltas are applied to, or reconciled with, the movies table
+    private final Lock flushLock = new ReentrantLock();
+
+    public RatingAggregator(MovieRepository movieRepository, CacheManager cacheManager,
+                            @Value("${movies.rating.write-behind.enabled:false}") boolean enabled) {
+        this.movieRepository = movieRepository;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a rating once the surrounding transaction commits, so rolled-back or retried comment
+     * inserts never contribute to the aggregates.
+     */
+    public void record(Long movieId, int rate) {
+        TransactionCallbacks.afterCommit(() -> add(movieId, rate, 1));
+    }
+
+    @Scheduled(fixedDelayString = "${movies.rating.write-behind.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<RatingDelta> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                movieRepository.applyRatingDeltas(deltas);
+                evictMovieDetails(deltas);
+                log.debug("Flushed rating deltas for {} movies.", deltas.size());
+            } catch (DataAccessException e) {
+                // The batch runs in one transaction, so nothing was applied; keep the deltas for the next flush
+                deltas.forEach(delta -> add(delta.movieId(), delta.sum(), delta.count()));
+                log.warn("Rating flush failed for {} movies, will retry: {}", deltas.size(), e.getMessage());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Runs a repair that recomputes the aggregates from the comments table, then discards the pending deltas.
+     * Deltas are only recorded once their comment has committed, so the repair has already counted them and
+     * a later flush would add them a second time.
+     *
+     * <p>A rating whose comment commits while the repair statement runs can still land on either side of it;
+     * that is left to the next repair.
+     *
+     * @return the number of movies the repair updated
+     */
+    public int reconcile(IntSupplier repair) {
+        flushLock.lock();
+        try {
+            int repaired = repair.getAsInt();
+            List<RatingDelta> discarded = drain();
+            if (!discarded.isEmpty()) {
+                log.debug("Discarded rating deltas for {} movies already counted by the repair.", discarded.size());
+            }
+            return repaired;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        List<RatingDelta> unflushed = drain();
+        if (!unflushed.isEmpty()) {
+            log.warn("{} movies have unflushed rating deltas; they will be rebuilt from comments on the next startup.",
+                    unflushed.size());
+        }
+    }
+
+    List<RatingDelta> drain() {
+        List<RatingDelta> deltas = new ArrayList<>();
+        pending.forEach((movieId, adder) -> {
+            long packed = adder.sumThenReset();
+            if (packed != 0) {
+                deltas.add(new RatingDelta(movieId, packed >>> 32, packed & COUNT_MASK));
+            }
+        });
+        return deltas;
+    }
+
+    // Cached details were evicted when the comment committed, but may have been reloaded before this flush
+    private void evictMovieDetails(List<RatingDelta> deltas) {
+        Cache movieDetails = cacheManager.getCache(CacheConfig.MOVIE_DETAILS);
+        if (movieDetails != null) {
+            deltas.forEach(delta -> movieDetails.evict(delta.movieId()));
+        }
+    }
+
+    private void add(Long movieId, long sum, long count) {
+        pending.computeIfAbsent(movieId, id -> new LongAdder()).add(sum << 32 | count);
+    }
+}
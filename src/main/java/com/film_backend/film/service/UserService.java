@@ -3,18 +3,19 @@ package com.film_backend.film.service;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.film_backend.film.dtos.request.UserRequestDto;
 import com.film_backend.film.dtos.response.UserResponseDto;
-import com.film_backend.film.entity.RefreshToken;
 import com.film_backend.film.entity.User;
 import com.film_backend.film.mapper.UserMapper;
 import com.film_backend.film.repository.RefreshTokenRepository;
 import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.security.TokenVersionCache;
+import com.film_backend.film.security.UserDetailsChangedEvent;
 import com.film_backend.film.util.ImageUtil;
 import com.film_backend.film.util.JwtUtil;
 
@@ -27,16 +28,21 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final ImageUtil imageUtil;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenVersionCache tokenVersionCache;
+    private final ApplicationEventPublisher eventPublisher;
     private static final String DEFAULT_PROFILE_PICTURE = "/default.png";
 
     public UserService(UserRepository userRepository, UserMapper userMapper, JwtUtil jwtUtil,
-                       PasswordEncoder passwordEncoder, ImageUtil imageUtil, RefreshTokenRepository refreshTokenRepository) {
+                       PasswordEncoder passwordEncoder, ImageUtil imageUtil, RefreshTokenRepository refreshTokenRepository,
+                       TokenVersionCache tokenVersionCache, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
         this.imageUtil = imageUtil;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenVersionCache = tokenVersionCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public UserResponseDto updateProfile(UserRequestDto dto, String token) {
@@ -57,7 +63,10 @@ public class UserService {
         if (dto.getUsername() != null && !dto.getUsername().isEmpty()) {
             user.setUsername(dto.getUsername());
         }
+        String previousEmail = user.getEmail();
+        boolean emailChanged = false;
         if (dto.getEmail() != null && !dto.getEmail().isEmpty()) {
+            emailChanged = !dto.getEmail().equals(user.getEmail());
             user.setEmail(dto.getEmail());
         }
 
@@ -85,15 +94,16 @@ public class UserService {
 
         user = userRepository.save(user);
 
-        // Add all tokens to blacklist if password changed
+        // Blacklist the access token and revoke every stored refresh token if the password changed
         if (passwordChanged) {
             jwtUtil.blacklistToken(token); 
-            List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser(user);
-            for (RefreshToken refreshToken : refreshTokens) {
-                jwtUtil.blacklistToken(refreshToken.getToken());
-                refreshTokenRepository.deleteByToken(refreshToken.getToken());
-            }
+            refreshTokenRepository.deleteByUser(user);
+        }
+        // Issued tokens carry the old credentials or email in their claims
+        if (passwordChanged || emailChanged) {
+            tokenVersionCache.revokeAll(user.getId());
         }
+        eventPublisher.publishEvent(UserDetailsChangedEvent.of(previousEmail, user.getEmail()));
 
         return userMapper.toDTO(user);
     }
@@ -122,15 +132,13 @@ public class UserService {
             }
         }
 
-        // Add the access token and all refresh tokens to the blacklist
+        // Blacklist the access token and revoke every stored refresh token
         jwtUtil.blacklistToken(token);
-        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser(user);
-        for (RefreshToken refreshToken : refreshTokens) {
-            jwtUtil.blacklistToken(refreshToken.getToken());
-            refreshTokenRepository.deleteByToken(refreshToken.getToken());
-        }
+        refreshTokenRepository.deleteByUser(user);
 
         userRepository.deleteById(userId);
+        tokenVersionCache.evict(userId);
+        eventPublisher.publishEvent(UserDetailsChangedEvent.of(user.getEmail()));
     }
 
     public void logout(String token) {
@@ -148,12 +156,8 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found."));
 
-        // Add the access token and all refresh tokens to the blacklist
+        // Blacklist the access token and revoke every stored refresh token
         jwtUtil.blacklistToken(token);
-        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser(user);
-        for (RefreshToken refreshToken : refreshTokens) {
-            jwtUtil.blacklistToken(refreshToken.getToken());
-            refreshTokenRepository.deleteByToken(refreshToken.getToken());
-        }
+        refreshTokenRepository.deleteByUser(user);
     }
 }
\ No newline at end of file
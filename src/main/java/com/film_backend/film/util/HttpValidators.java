@@ -0,0 +1,29 @@
+package com.film_backend.film.util;
+
+import java.util.Date;
+
+/**
+ * Validators for HTTP conditional GETs, derived from row versions and timestamps instead of the response
+ * body. The ETag is weak because it identifies the state of the data, not the bytes of one serialization.
+ */
+public record HttpValidators(String eTag, long lastModified) {
+
+    // Any negative value makes WebRequest.checkNotModified ignore Last-Modified / If-Modified-Since
+    public static final long NO_LAST_MODIFIED = -1;
+
+    public static HttpValidators of(long lastModified, Object... parts) {
+        StringBuilder eTag = new StringBuilder("W/\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                eTag.append('-');
+            }
+            eTag.append(parts[i]);
+        }
+        // Rows written before updatedAt existed have no usable timestamp; 0 would answer every If-Modified-Since
+        return new HttpValidators(eTag.append('"').toString(), lastModified > 0 ? lastModified : NO_LAST_MODIFIED);
+    }
+
+    public static long millis(Date date) {
+        return date == null ? 0 : date.getTime();
+    }
+}
@@ -1,23 +1,27 @@
 package com.film_backend.film.util;
 
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import com.film_backend.film.entity.TokenBlacklist;
 import com.film_backend.film.entity.User;
 import com.film_backend.film.repository.TokenBlacklistRepository;
+import com.film_backend.film.security.TokenBlacklistCache;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.Data;
@@ -30,6 +34,11 @@ public class JwtUtil {
 
     private static final ZoneId ZONE_ID = ZoneId.of("UTC");
 
+    /** Request attribute under which the authentication filter shares the token it verified. */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtUtil.class.getName() + ".VERIFIED_TOKEN";
+
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -41,13 +50,31 @@ public class JwtUtil {
 
     private final TokenBlacklistRepository tokenBlacklistRepository;
 
+    private final TokenBlacklistCache tokenBlacklistCache;
+
+    // Key and parser are derived once per secret; both are immutable and thread-safe
+    private volatile SigningMaterial signingMaterial;
+
+    private record SigningMaterial(String secret, SecretKey key, JwtParser parser) {
+    }
+
     public Long getRefreshExpiration() {
         return refreshExpiration;
     }
 
-    private Key getSigningKey() {
+    private SigningMaterial getSigningMaterial() {
+        SigningMaterial current = signingMaterial;
+        if (current == null || !current.secret().equals(secret)) {
+            current = createSigningMaterial(secret);
+            signingMaterial = current;
+        }
+        return current;
+    }
+
+    private static SigningMaterial createSigningMaterial(String secret) {
         try {
-            return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return new SigningMaterial(secret, key, Jwts.parser().verifyWith(key).build());
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid JWT secret key", e);
         }
@@ -58,6 +85,7 @@ public class JwtUtil {
         claims.put("id", user.getId());
         claims.put("email", user.getEmail());
         claims.put("role", user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
         return createToken(claims, user.getEmail(), expiration);
     }
 
@@ -69,20 +97,14 @@ public class JwtUtil {
         claims.put("id", user.getId());
         claims.put("email", user.getEmail());
         claims.put("role", user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        // Unique per token, so two tokens issued within the same second do not share a stored digest
+        claims.put(Claims.ID, UUID.randomUUID().toString());
         return createToken(claims, user.getEmail(), refreshExpiration);
     }
 
     public Long extractId(String token) {
-        Claims claims = extractClaims(token);
-        Object id = claims.get("id");
-        if (id == null) {
-            throw new IllegalArgumentException("User ID not found in token");
-        }
-        try {
-            return Long.valueOf(id.toString());
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid user ID format in token");
-        }
+        return verify(token).userId();
     }
 
     private String createToken(Map<String, Object> claims, String subject, long expiration) {
@@ -91,24 +113,51 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration * 1000))
-                .signWith(getSigningKey())
+                .signWith(getSigningMaterial().key())
                 .compact();
     }
 
-    public Claims extractClaims(String token) {
+    /**
+     * Verifies the token's signature and expiry once. Within a request that the authentication filter has
+     * already verified, the same token is served from the request instead of being parsed again.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is expired, malformed or not signed with our key
+     */
+    public VerifiedToken parse(String token) {
+        VerifiedToken verified = fromCurrentRequest(token);
+        if (verified != null) {
+            return verified;
+        }
+        Claims claims = getSigningMaterial().parser().parseSignedClaims(token).getPayload();
+        return new VerifiedToken(token, claims);
+    }
+
+    private static VerifiedToken fromCurrentRequest(String token) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object cached = attributes.getAttribute(VERIFIED_TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof VerifiedToken verified && verified.token().equals(token) && !verified.isExpired()) {
+            return verified;
+        }
+        return null;
+    }
+
+    private VerifiedToken verify(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith((SecretKey) getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parse(token);
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid token");
         }
     }
 
+    public Claims extractClaims(String token) {
+        return verify(token).claims();
+    }
+
     public String extractEmail(String token) {
-        return extractClaims(token).getSubject();
+        return verify(token).email();
     }
 
     public Long getUserIdFromToken(String token) {
@@ -116,33 +165,23 @@ public class JwtUtil {
     }
 
     public String extractRole(String token) {
-        Object role = extractClaims(token).get("role");
-        if (role == null) {
-            throw new IllegalArgumentException("Role not found in token");
-        }
-        return role.toString();
+        return verify(token).role();
     }
 
     public boolean isTokenValid(String token, String email) {
         try {
-            if (tokenBlacklistRepository.existsByToken(token)) {
+            if (tokenBlacklistCache.isBlacklisted(token)) {
                 return false;
             }
-            final String tokenEmail = extractEmail(token);
-            return tokenEmail.equals(email) && !isTokenExpired(token);
-        } catch (io.jsonwebtoken.ExpiredJwtException e) {
-            return false;
+            VerifiedToken verified = parse(token);
+            return verified.email().equals(email) && !verified.isExpired();
         } catch (Exception e) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
-    }
-
     public void blacklistToken(String token) {
-        if (tokenBlacklistRepository.existsByToken(token)) {
+        if (tokenBlacklistCache.isBlacklisted(token)) {
             return;
         }
         try {
@@ -151,6 +190,7 @@ public class JwtUtil {
             blacklistEntry.setBlacklistedAt(LocalDateTime.now(ZONE_ID));
             blacklistEntry.setExpiresAt(getExpirationDateFromToken(token));
             tokenBlacklistRepository.save(blacklistEntry);
+            tokenBlacklistCache.add(token, blacklistEntry.getExpiresAt());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Failed to blacklist token: " + e.getMessage(), e);
         }
@@ -158,7 +198,7 @@ public class JwtUtil {
 
     public LocalDateTime getExpirationDateFromToken(String token) {
         try {
-            Date expirationDate = extractClaims(token).getExpiration();
+            Date expirationDate = verify(token).expiresAt();
             return expirationDate.toInstant()
                     .atZone(ZoneId.systemDefault())
                     .toLocalDateTime();
@@ -0,0 +1,22 @@
+package com.film_backend.film.util;
+
+/**
+ * Ranking score shared by typeahead and the top-rated leaderboards.
+ */
+public final class RatingScores {
+
+    // An unrated movie scores PRIOR_RATING, and each rating moves it 1/(n + PRIOR_WEIGHT) of the way
+    private static final double PRIOR_RATING = 3.0;
+    private static final double PRIOR_WEIGHT = 5.0;
+
+    private RatingScores() {
+    }
+
+    /**
+     * Bayesian average of the rating: a movie needs several ratings to move far from the prior, so one
+     * 5-star rating does not outrank a well-liked movie with hundreds.
+     */
+    public static double bayesianAverage(double ratingSum, long ratingCount) {
+        return (ratingSum + PRIOR_RATING * PRIOR_WEIGHT) / (ratingCount + PRIOR_WEIGHT);
+    }
+}
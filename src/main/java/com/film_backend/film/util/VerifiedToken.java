@@ -0,0 +1,59 @@
+package com.film_backend.film.util;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * A JWT whose signature and expiry were checked once by {@link JwtUtil#parse(String)}. The
+ * authentication filter stores it on the request so later lookups for the same token skip parsing.
+ */
+public record VerifiedToken(String token, Claims claims) {
+
+    public String email() {
+        return claims.getSubject();
+    }
+
+    public Long userId() {
+        Object id = claims.get("id");
+        if (id == null) {
+            throw new IllegalArgumentException("User ID not found in token");
+        }
+        try {
+            return Long.valueOf(id.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid user ID format in token");
+        }
+    }
+
+    public String role() {
+        Object role = claims.get("role");
+        if (role == null) {
+            throw new IllegalArgumentException("Role not found in token");
+        }
+        return role.toString();
+    }
+
+    /**
+     * Token version the token was issued with; tokens issued before versions existed count as version 0.
+     */
+    public long tokenVersion() {
+        Object version = claims.get(JwtUtil.TOKEN_VERSION_CLAIM);
+        if (version == null) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(version.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid token version format in token");
+        }
+    }
+
+    public Date expiresAt() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        return claims.getExpiration().before(new Date());
+    }
+}
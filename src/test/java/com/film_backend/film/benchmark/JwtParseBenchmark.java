@@ -0,0 +1,87 @@
+package com.film_backend.film.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Role;
+import com.film_backend.film.util.JwtUtil;
+import com.film_backend.film.util.VerifiedToken;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request JWT cost in the authentication filter: the previous flow re-derived the key, built a
+ * parser and parsed the token three times (extractEmail, then isTokenValid's extractEmail and expiry
+ * check); the current flow parses once with the cached parser.
+ *
+ * <p>Run with {@code mvn test-compile} and then the {@link #main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "thisisaverylongsecretkeyforjwt1234567890";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(null, null);
+        jwtUtil.setSecret(SECRET);
+        jwtUtil.setExpiration(3600L);
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setRole(Role.USER);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean previousRequestFlow() {
+        String email = legacyExtractClaims(token).getSubject();
+        String tokenEmail = legacyExtractClaims(token).getSubject();
+        boolean expired = legacyExtractClaims(token).getExpiration().before(new Date());
+        return tokenEmail.equals(email) && !expired;
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        VerifiedToken verified = jwtUtil.parse(token);
+        return verified.email() != null && !verified.isExpired();
+    }
+
+    private static Claims legacyExtractClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtParseBenchmark.class.getSimpleName()).build()).run();
+    }
+}
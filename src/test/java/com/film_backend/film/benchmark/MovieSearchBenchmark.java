@@ -0,0 +1,195 @@
+package com.film_backend.film.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.search.InvertedIndex;
+import com.film_backend.film.search.MovieBrowseFilter;
+import com.film_backend.film.search.MovieSearchDocument;
+
+/**
+ * Title search on a generated catalog: the {@code lower(title) like lower('%x%')} query of
+ * MovieRepository.findSimpleByTitleContaining on an in-memory H2 table against the search index
+ * answering the same substring match, a ranked prefix search over titles and descriptions, the
+ * typeahead lookup of the title trie, and a first browse page filtered by genres, years and rating.
+ * Scores are average microseconds per search. H2 stands in for PostgreSQL; both scan every row for a
+ * leading-wildcard LIKE, and a real database adds I/O and network time on top.
+ *
+ * <p>Run with {@code mvn test-compile} and then the {@link #main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MovieSearchBenchmark {
+
+    private static final String LIKE_QUERY = "select id, title, poster_url, video_url from movies "
+            + "where lower(title) like lower(?) order by id";
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ne", "ra", "tu", "shi", "von", "dar", "el", "qui", "zen", "bor", "ith", "gal", "mor"
+    };
+
+    @Param({"1000000"})
+    public int movies;
+
+    private Connection connection;
+    private PreparedStatement likeStatement;
+    private InvertedIndex index;
+    private String[] fragments;
+    private String[] queries;
+    private MovieBrowseFilter[] filters;
+    private int next;
+
+    @Setup
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        String[] vocabulary = new String[4000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:movie_search_benchmark;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table movies (id bigint primary key, title varchar(255), "
+                    + "description varchar(1000), poster_url varchar(255), video_url varchar(255))");
+        }
+        index = new InvertedIndex();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("insert into movies values (?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= movies; id++) {
+                String title = words(random, vocabulary, 1 + random.nextInt(4));
+                String description = words(random, vocabulary, 12);
+                insert.setLong(1, id);
+                insert.setString(2, title);
+                insert.setString(3, description);
+                insert.setString(4, "/posters/" + id + ".jpg");
+                insert.setString(5, "/videos/" + id + ".mp4");
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+                index.add(new MovieSearchDocument(id, title, description, "/posters/" + id + ".jpg",
+                        "/videos/" + id + ".mp4", genres(random), new Date(id), 1 + random.nextDouble() * 4,
+                        (long) random.nextInt(500), 1950 + random.nextInt(75)));
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        likeStatement = connection.prepareStatement(LIKE_QUERY);
+
+        // Fragments a user types into the title box, and multi-word queries for the ranked search
+        fragments = new String[64];
+        queries = new String[64];
+        for (int i = 0; i < fragments.length; i++) {
+            String word = vocabulary[random.nextInt(vocabulary.length)];
+            fragments[i] = word.substring(0, Math.min(word.length(), 3 + random.nextInt(3)));
+            queries[i] = vocabulary[random.nextInt(vocabulary.length)] + " "
+                    + vocabulary[random.nextInt(vocabulary.length)].substring(0, 3);
+        }
+        // Two genres combined with AND or OR, a decade and a minimum rating
+        filters = new MovieBrowseFilter[64];
+        for (int i = 0; i < filters.length; i++) {
+            int fromYear = 1950 + random.nextInt(65);
+            filters[i] = new MovieBrowseFilter(genres(random), random.nextBoolean(), fromYear, fromYear + 9,
+                    1 + random.nextInt(7) * 0.5);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int currentLikeQuery() throws SQLException {
+        likeStatement.setString(1, "%" + nextFragment() + "%");
+        int rows = 0;
+        try (ResultSet resultSet = likeStatement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<MovieSearchDocument> indexTitleContaining() {
+        return index.findByTitleContaining(nextFragment());
+    }
+
+    @Benchmark
+    public InvertedIndex.Hits indexRankedSearch() {
+        String query = queries[next++ & (queries.length - 1)];
+        return index.search(query, null, 0, 20);
+    }
+
+    @Benchmark
+    public List<MovieSearchDocument> indexBrowse() {
+        return index.browse(filters[next++ & (filters.length - 1)], 0, 21);
+    }
+
+    @Benchmark
+    public List<MovieSearchDocument> indexSuggest() {
+        return index.suggest(nextFragment(), InvertedIndex.MAX_SUGGESTIONS);
+    }
+
+    private String nextFragment() {
+        return fragments[next++ & (fragments.length - 1)];
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, n = 2 + random.nextInt(3); i < n; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String word = vocabulary[random.nextInt(vocabulary.length)];
+            words.add(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+        }
+        return String.join(" ", words);
+    }
+
+    private static Set<Genre> genres(Random random) {
+        Genre[] all = Genre.values();
+        return EnumSet.of(all[random.nextInt(all.length)], all[random.nextInt(all.length)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MovieSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
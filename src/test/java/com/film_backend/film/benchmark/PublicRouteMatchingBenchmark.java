@@ -0,0 +1,102 @@
+package com.film_backend.film.benchmark;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.film_backend.film.security.JwtAuthenticationFilter;
+import com.film_backend.film.security.PublicRoutes;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Routing overhead of JwtAuthenticationFilter per request: the previous stream over literal route
+ * strings against the precompiled PublicRoutes matcher, plus a full filter pass on a public route.
+ * Scores are in operations per second; 10k RPS needs well under 100 us per request.
+ *
+ * <p>Run with {@code mvn test-compile} and then the {@link #main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicRouteMatchingBenchmark {
+
+    private static final Set<String> LEGACY_PUBLIC_ROUTES = Set.of(
+            "/api/auth/login",
+            "/api/auth/register/**",
+            "/api/movies/list",
+            "/api/movies/page",
+            "/api/movies/feed",
+            "/api/movies/{id}/comments",
+            "/api/movies/{id}");
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"/api/movies/42", "/api/movies/feed", "/api/users/profile"})
+    public String path;
+
+    private JwtAuthenticationFilter filter;
+    private FilterHarness harness;
+
+    @Setup
+    public void setUp() {
+        // Public routes return before any collaborator is used
+        filter = new JwtAuthenticationFilter(null, null, null, null, false);
+        harness = new FilterHarness(filter);
+    }
+
+    @Benchmark
+    public boolean previousLiteralMatching() {
+        return LEGACY_PUBLIC_ROUTES.stream().anyMatch(publicRoute -> {
+            if (publicRoute.endsWith("/**")) {
+                return path.startsWith(publicRoute.substring(0, publicRoute.length() - 3));
+            }
+            return path.equals(publicRoute);
+        });
+    }
+
+    @Benchmark
+    public boolean precompiledMatching() {
+        return PublicRoutes.matches(path);
+    }
+
+    @Benchmark
+    public int filterPassOnPublicMovieDetail() throws ServletException, IOException {
+        return harness.run("/api/movies/42");
+    }
+
+    // doFilterInternal is protected; doFilter goes through OncePerRequestFilter like a servlet container would
+    private record FilterHarness(JwtAuthenticationFilter filter) {
+        int run(String uri) throws ServletException, IOException {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return response.getStatus();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PublicRouteMatchingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
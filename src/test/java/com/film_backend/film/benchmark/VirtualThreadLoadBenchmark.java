@@ -0,0 +1,128 @@
+package com.film_backend.film.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.film_backend.film.config.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * A burst of concurrent requests against a 10-connection Hikari pool on H2. Each request looks a row up
+ * while holding a connection for {@code dbMillis}, then blocks {@code ioMillis} without one (writing
+ * the response to a slow client, a downstream call). Modes: the default Tomcat pool of 200 platform
+ * threads, a virtual thread per request, and virtual threads behind ConnectionLimitingDataSource.
+ * Scores are milliseconds per burst; sleeps stand in for the network latency H2 does not have.
+ *
+ * <p>Run with {@code mvn test-compile} and then the {@link #main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtual-guarded"})
+    public String mode;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"1"})
+    public int dbMillis;
+
+    @Param({"50"})
+    public int ioMillis;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws SQLException {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:virtual_thread_benchmark;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(POOL_SIZE);
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists movies (id bigint primary key, title varchar(255))");
+            statement.execute("merge into movies select x, 'Movie ' || x from system_range(1, 1000)");
+        }
+        dataSource = mode.equals("virtual-guarded")
+                ? new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout())
+                : pool;
+        executor = mode.equals("platform")
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<String>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long id = 1 + i % 1000;
+            responses.add(executor.submit(() -> handle(id)));
+        }
+        int served = 0;
+        for (Future<String> response : responses) {
+            if (response.get() != null) {
+                served++;
+            }
+        }
+        return served;
+    }
+
+    private String handle(long id) throws SQLException, InterruptedException {
+        String title;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("select title from movies where id = ?")) {
+            select.setLong(1, id);
+            try (ResultSet resultSet = select.executeQuery()) {
+                title = resultSet.next() ? resultSet.getString(1) : null;
+            }
+            Thread.sleep(dbMillis);
+        }
+        Thread.sleep(ioMillis);
+        return title;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VirtualThreadLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.film_backend.film.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource pool;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionLimitingDataSource(pool, 2, 50);
+    }
+
+    @Test
+    void getConnection_failsAfterTheTimeoutWhenEveryPermitIsTaken() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("within 50 ms");
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    void close_releasesThePermitOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void close_handsThePermitToAWaitingCaller() throws Exception {
+        dataSource = new ConnectionLimitingDataSource(pool, 1, 5_000);
+        Connection first = dataSource.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.queueLength() == 0) {
+            Thread.onSpinWait();
+        }
+
+        first.close();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(dataSource.availablePermits()).isZero();
+    }
+
+    @Test
+    void getConnection_releasesThePermitWhenThePoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool timeout");
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void otherCalls_goToThePooledConnection() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+
+        dataSource.getConnection().setAutoCommit(false);
+
+        verify(pooled).setAutoCommit(false);
+    }
+
+    @Test
+    void equalsAndHashCode_followTheProxyIdentity() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        assertThat(first).isEqualTo(first);
+        assertThat(first.hashCode()).isEqualTo(first.hashCode()).isEqualTo(System.identityHashCode(first));
+        assertThat(first).isNotEqualTo(second);
+        assertThat(first).isNotEqualTo(pooled);
+    }
+
+    @Test
+    void unwrap_answersForTheProxyAndExposesThePooledConnection() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        Connection connection = dataSource.getConnection();
+
+        assertThat(connection.isWrapperFor(ConnectionProxy.class)).isTrue();
+        assertThat(connection.unwrap(ConnectionProxy.class)).isSameAs(connection);
+        assertThat(((ConnectionProxy) connection).getTargetConnection()).isSameAs(pooled);
+    }
+
+    @Test
+    void otherCalls_rethrowTheDelegatesSqlException() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        SQLException failure = new SQLException("connection reset");
+        doThrow(failure).when(pooled).commit();
+
+        assertThatThrownBy(() -> dataSource.getConnection().commit()).isSameAs(failure);
+    }
+
+    @Test
+    void guardConfig_wrapsHikariOnlyWhenEnabled() {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setMaximumPoolSize(7);
+
+        Object guarded = new ConnectionGuardConfig(true).postProcessAfterInitialization(hikari, "dataSource");
+        Object unguarded = new ConnectionGuardConfig(false).postProcessAfterInitialization(hikari, "dataSource");
+
+        assertThat(guarded).isInstanceOfSatisfying(ConnectionLimitingDataSource.class,
+                limited -> assertThat(limited.maxConnections()).isEqualTo(7));
+        assertThat(unguarded).isSameAs(hikari);
+    }
+}
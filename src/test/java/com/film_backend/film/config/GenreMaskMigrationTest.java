@@ -0,0 +1,86 @@
+package com.film_backend.film.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.repository.MovieRepository;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class GenreMaskMigrationTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.MOVIE_DETAILS);
+
+    // DDL is not rolled back with the test transaction
+    @AfterEach
+    void dropLegacyTable() {
+        jdbcTemplate.execute("drop table if exists movie_genres");
+    }
+
+    @Test
+    void migrateOnStartup_copiesLegacyGenresIntoEmptyMasks() {
+        // Given: two movies from before the mask column, and one already written with it
+        Long legacy = movieRepository.save(movie("Inception", Set.of())).getId();
+        Long legacyToo = movieRepository.save(movie("Heat", Set.of())).getId();
+        Long current = movieRepository.save(movie("Collateral", Set.of(Genre.THRILLER))).getId();
+        entityManager.flush();
+        jdbcTemplate.execute("create table movie_genres (movie_id bigint not null, genre varchar(255) not null, "
+                + "primary key (movie_id, genre))");
+        jdbcTemplate.update("insert into movie_genres values (?, 'SCIFI'), (?, 'ACTION'), (?, 'DRAMA'), (?, 'HORROR')",
+                legacy, legacy, legacyToo, current);
+        cacheManager.getCache(CacheConfig.MOVIE_DETAILS).put(legacy, "detail");
+
+        // When
+        new GenreMaskMigration(jdbcTemplate, cacheManager, true).migrateOnStartup();
+        entityManager.clear();
+
+        // Then
+        assertThat(movieRepository.findDetailById(legacy).orElseThrow().getGenres())
+                .containsExactlyInAnyOrder(Genre.SCIFI, Genre.ACTION);
+        assertThat(movieRepository.findDetailById(legacyToo).orElseThrow().getGenres()).containsExactly(Genre.DRAMA);
+        assertThat(movieRepository.findDetailById(current).orElseThrow().getGenres()).containsExactly(Genre.THRILLER);
+        assertThat(cacheManager.getCache(CacheConfig.MOVIE_DETAILS).get(legacy)).isNull();
+    }
+
+    @Test
+    void migrateOnStartup_isANoOpWithoutTheLegacyTable() {
+        Long id = movieRepository.save(movie("Inception", Set.of(Genre.SCIFI))).getId();
+        entityManager.flush();
+
+        new GenreMaskMigration(jdbcTemplate, cacheManager, true).migrateOnStartup();
+        entityManager.clear();
+
+        assertThat(movieRepository.findDetailById(id).orElseThrow().getGenres()).containsExactly(Genre.SCIFI);
+    }
+
+    private static Movie movie(String title, Set<Genre> genres) {
+        return Movie.builder()
+                .title(title)
+                .description("description")
+                .duration(120)
+                .releaseYear(2010)
+                .genres(genres)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.film_backend.film.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.repository.MovieRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Altering a sequence commits on H2, so the test manages its own data instead of rolling back
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MovieIdSequenceMigrationTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void deleteMovies() {
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    void alignSequence_movesTheSequencePastIdsWrittenByTheIdentityColumn() {
+        // Given: a row from before the sequence, far above the ids it hands out
+        jdbcTemplate.update("insert into movies (id, title, description, duration, release_year, genre_mask, "
+                + "rating_sum, rating_count, version) values (100000, 'Heat', 'Heist', 170, 1995, 1, 0, 0, 0)");
+
+        // When
+        new MovieIdSequenceMigration(jdbcTemplate, entityManagerFactory).alignSequence();
+
+        // Then: the next block of ids is (100000, 100050]
+        assertThat(nextValue()).isEqualTo(100000L + Movie.ID_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void alignSequence_leavesASequenceThatIsAlreadyAhead() {
+        movieRepository.save(movie("Inception"));
+        long before = nextValue();
+
+        new MovieIdSequenceMigration(jdbcTemplate, entityManagerFactory).alignSequence();
+
+        // The migration itself draws one value
+        assertThat(nextValue()).isEqualTo(before + 2L * Movie.ID_ALLOCATION_SIZE);
+    }
+
+    private long nextValue() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(Movie.ID_SEQUENCE), Long.class);
+    }
+
+    private Movie movie(String title) {
+        return Movie.builder()
+                .title(title)
+                .description("A movie")
+                .duration(120)
+                .releaseYear(2010)
+                .genres(Set.of(Genre.DRAMA))
+                .build();
+    }
+}
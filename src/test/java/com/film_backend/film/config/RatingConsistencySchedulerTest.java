@@ -0,0 +1,108 @@
+package com.film_backend.film.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.service.RatingAggregator;
+
+class RatingConsistencySchedulerTest {
+
+    private MovieRepository movieRepository;
+    private CacheManager cacheManager;
+    private RatingAggregator ratingAggregator;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository = mock(MovieRepository.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MOVIE_DETAILS);
+    }
+
+    @Test
+    void checkRatingConsistency_shouldRepairDriftedAggregates() {
+        // Given
+        when(movieRepository.repairRatingAggregates()).thenReturn(2);
+        cacheManager.getCache(CacheConfig.MOVIE_DETAILS).put(1L, "detail");
+        RatingConsistencyScheduler scheduler = scheduler(false, false);
+
+        // When
+        scheduler.checkRatingConsistency();
+
+        // Then
+        verify(movieRepository, times(1)).repairRatingAggregates();
+        assertThat(cacheManager.getCache(CacheConfig.MOVIE_DETAILS).get(1L)).isNull();
+    }
+
+    @Test
+    void backfillRatingAggregates_shouldRunWhenEnabled() {
+        // Given
+        RatingConsistencyScheduler scheduler = scheduler(true, false);
+
+        // When
+        scheduler.backfillRatingAggregates();
+
+        // Then
+        verify(movieRepository, times(1)).repairRatingAggregates();
+    }
+
+    @Test
+    void backfillRatingAggregates_shouldBeSkippedWhenDisabled() {
+        // Given
+        RatingConsistencyScheduler scheduler = scheduler(false, false);
+
+        // When
+        scheduler.backfillRatingAggregates();
+
+        // Then
+        verify(movieRepository, never()).repairRatingAggregates();
+        verify(movieRepository, never()).repairRatingAggregatesCommentedSince(any(Date.class));
+    }
+
+    @Test
+    void backfillRatingAggregates_shouldRepairRecentlyCommentedMoviesWithWriteBehind() {
+        // Given
+        RatingConsistencyScheduler scheduler = scheduler(false, true);
+
+        // When
+        scheduler.backfillRatingAggregates();
+
+        // Then
+        verify(movieRepository, times(1)).repairRatingAggregatesCommentedSince(any(Date.class));
+        verify(movieRepository, never()).repairRatingAggregates();
+    }
+
+    @Test
+    void checkRatingConsistency_shouldDiscardDeltasTheRepairAlreadyCounted() {
+        // Given
+        RatingConsistencyScheduler scheduler = scheduler(false, true);
+        ratingAggregator.record(1L, 5);
+
+        // When
+        scheduler.checkRatingConsistency();
+        ratingAggregator.flush();
+
+        // Then
+        verify(movieRepository, times(1)).repairRatingAggregates();
+        verify(movieRepository, never()).applyRatingDeltas(anyList());
+    }
+
+    private RatingConsistencyScheduler scheduler(boolean backfillOnStartup, boolean writeBehind) {
+        ratingAggregator = new RatingAggregator(movieRepository, cacheManager, writeBehind);
+        return new RatingConsistencyScheduler(movieRepository, ratingAggregator, cacheManager, backfillOnStartup,
+                Duration.ofHours(24));
+    }
+}
@@ -0,0 +1,84 @@
+package com.film_backend.film.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.film_backend.film.entity.RefreshToken;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Role;
+import com.film_backend.film.repository.RefreshTokenRepository;
+import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.security.RefreshTokenService;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class RefreshTokenHashMigrationTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // DDL is not rolled back with the test transaction
+    @AfterEach
+    void dropLegacyTable() {
+        jdbcTemplate.execute("drop table if exists refresh_tokens");
+    }
+
+    @Test
+    void migrateOnStartup_storesDigestsOfUnexpiredLegacyTokens() {
+        // Given: a live token stored twice by the legacy table, and an expired one. The DDL commits
+        // implicitly on H2, so it runs before anything is written in the test transaction
+        jdbcTemplate.execute("create table refresh_tokens (id bigint auto_increment primary key, token varchar(512), "
+                + "user_id bigint, created_at timestamp, expires_at timestamp)");
+        User user = userRepository.save(User.builder()
+                .username("legacy-tokens")
+                .email("legacy-tokens@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+        entityManager.flush();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp nextWeek = Timestamp.valueOf(LocalDateTime.now().plusDays(7));
+        Timestamp lastWeek = Timestamp.valueOf(LocalDateTime.now().minusDays(7));
+        String insert = "insert into refresh_tokens (token, user_id, created_at, expires_at) values (?, ?, ?, ?)";
+        jdbcTemplate.update(insert, "live", user.getId(), now, nextWeek);
+        jdbcTemplate.update(insert, "live", user.getId(), now, nextWeek);
+        jdbcTemplate.update(insert, "expired", user.getId(), lastWeek, lastWeek);
+
+        // When
+        new RefreshTokenHashMigration(jdbcTemplate, true).migrateOnStartup();
+        entityManager.clear();
+
+        // Then
+        RefreshToken migrated = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("live")).orElseThrow();
+        assertThat(migrated.getUser().getId()).isEqualTo(user.getId());
+        assertThat(migrated.getFamilyId()).isNotNull();
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("expired"))).isEmpty();
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from refresh_tokens", Integer.class)).isZero();
+    }
+
+    @Test
+    void migrateOnStartup_isANoOpWithoutTheLegacyTable() {
+        new RefreshTokenHashMigration(jdbcTemplate, true).migrateOnStartup();
+
+        assertThat(refreshTokenRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+package com.film_backend.film.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.film_backend.film.entity.RefreshToken;
+import com.film_backend.film.entity.TokenBlacklist;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Role;
+import com.film_backend.film.repository.RefreshTokenRepository;
+import com.film_backend.film.repository.TokenBlacklistRepository;
+import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.security.RefreshTokenService;
+
+// Runs outside a test transaction, like the scheduled job itself
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenCleanupSchedulerJpaTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now(ZoneId.of("UTC"));
+
+    @Autowired
+    private TokenBlacklistRepository tokenBlacklistRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("cleanup")
+                .email("cleanup@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteByUser(user);
+        tokenBlacklistRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void cleanExpiredTokens_deletesOnlyExpiredRows() {
+        tokenBlacklistRepository.save(blacklisted("expired", NOW.minusMinutes(1)));
+        tokenBlacklistRepository.save(blacklisted("live", NOW.plusHours(1)));
+        refreshTokenRepository.save(refreshToken("expired", NOW.minusMinutes(1), NOW.minusHours(1)));
+        refreshTokenRepository.save(refreshToken("live", NOW.plusDays(1), null));
+
+        new TokenCleanupScheduler(tokenBlacklistRepository, refreshTokenRepository).cleanExpiredTokens();
+
+        assertThat(tokenBlacklistRepository.findAll()).extracting(TokenBlacklist::getToken).containsExactly("live");
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("expired"))).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("live"))).isPresent();
+    }
+
+    private static TokenBlacklist blacklisted(String token, LocalDateTime expiresAt) {
+        TokenBlacklist blacklisted = new TokenBlacklist();
+        blacklisted.setToken(token);
+        blacklisted.setBlacklistedAt(NOW.minusHours(2));
+        blacklisted.setExpiresAt(expiresAt);
+        return blacklisted;
+    }
+
+    private RefreshToken refreshToken(String token, LocalDateTime expiresAt, LocalDateTime usedAt) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(RefreshTokenService.hash(token));
+        refreshToken.setFamilyId(UUID.randomUUID());
+        refreshToken.setUser(user);
+        refreshToken.setCreatedAt(NOW.minusDays(7));
+        refreshToken.setExpiresAt(expiresAt);
+        refreshToken.setUsedAt(usedAt);
+        return refreshToken;
+    }
+}
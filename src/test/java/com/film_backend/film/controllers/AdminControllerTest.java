@@ -6,7 +6,9 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,10 +23,13 @@ import org.springframework.http.ResponseEntity;
 
 import com.film_backend.film.dtos.request.MovieRequestDto;
 import com.film_backend.film.dtos.request.UserRequestDto;
+import com.film_backend.film.dtos.response.MovieImportJobDto;
 import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
 import com.film_backend.film.dtos.response.UserResponseDto;
 import com.film_backend.film.exception.UserNotFoundException;
+import com.film_backend.film.enums.ImportJobStatus;
 import com.film_backend.film.service.AdminService;
+import com.film_backend.film.service.MovieImportService;
 import com.film_backend.film.service.MovieService;
 
 public class AdminControllerTest {
@@ -35,6 +40,9 @@ public class AdminControllerTest {
     @Mock
     private MovieService movieService;
 
+    @Mock
+    private MovieImportService movieImportService;
+
     @InjectMocks
     private AdminController adminController;
 
@@ -157,4 +165,38 @@ public class AdminControllerTest {
         assertEquals(200, response.getStatusCode().value());
         verify(movieService).deleteMovie(1L);
     }
+
+    @Test
+    void testImportMovies_acceptsTheUpload() {
+        InputStream body = new ByteArrayInputStream("[]".getBytes());
+        MovieImportJobDto job = MovieImportJobDto.builder().id(7L).status(ImportJobStatus.QUEUED).build();
+        when(movieImportService.startImport(body, "application/json")).thenReturn(job);
+
+        ResponseEntity<MovieImportJobDto> response = adminController.importMovies(body, "application/json");
+
+        assertEquals(202, response.getStatusCode().value());
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    void testGetImportJob_success() {
+        MovieImportJobDto job = MovieImportJobDto.builder().id(7L).status(ImportJobStatus.RUNNING).build();
+        when(movieImportService.getJob(7L)).thenReturn(job);
+
+        ResponseEntity<MovieImportJobDto> response = adminController.getImportJob(7L);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(job, response.getBody());
+    }
+
+    @Test
+    void testResumeImportJob_success() {
+        MovieImportJobDto job = MovieImportJobDto.builder().id(7L).status(ImportJobStatus.QUEUED).build();
+        when(movieImportService.resume(7L)).thenReturn(job);
+
+        ResponseEntity<MovieImportJobDto> response = adminController.resumeImportJob(7L);
+
+        assertEquals(202, response.getStatusCode().value());
+        assertEquals(job, response.getBody());
+    }
 }
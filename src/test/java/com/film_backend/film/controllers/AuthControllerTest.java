@@ -3,15 +3,12 @@ package com.film_backend.film.controllers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.Optional;
-
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,19 +17,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import com.film_backend.film.dtos.request.LoginRequestDto;
 import com.film_backend.film.dtos.request.UserRequestDto;
 import com.film_backend.film.dtos.response.ApiErrorResponse;
 import com.film_backend.film.dtos.response.AuthResponseDto;
 import com.film_backend.film.dtos.response.UserResponseDto;
-import com.film_backend.film.entity.RefreshToken;
 import com.film_backend.film.entity.User;
-import com.film_backend.film.repository.RefreshTokenRepository;
-import com.film_backend.film.repository.TokenBlacklistRepository;
-import com.film_backend.film.repository.UserRepository;
 import com.film_backend.film.security.AuthService;
-import com.film_backend.film.util.JwtUtil;
 
 @ExtendWith(MockitoExtension.class)
 class AuthControllerTest {
@@ -40,18 +33,6 @@ class AuthControllerTest {
     @Mock
     private AuthService authService;
 
-    @Mock
-    private RefreshTokenRepository refreshTokenRepository;
-
-    @Mock
-    private JwtUtil jwtUtil;
-
-    @Mock
-    private TokenBlacklistRepository tokenBlacklistRepository;
-
-    @Mock
-    private UserRepository userRepository;
-
     @InjectMocks
     private AuthController authController;
 
@@ -130,15 +111,17 @@ class AuthControllerTest {
     @Test
     void login_ValidCredentials_ReturnsOkWithAuthResponse() {
         // Arrange
-        when(authService.login(loginRequestDto)).thenReturn(authResponseDto);
+        when(authService.login(loginRequestDto, "10.0.0.1")).thenReturn(authResponseDto);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
 
         // Act
-        ResponseEntity<AuthResponseDto> response = authController.login(loginRequestDto);
+        ResponseEntity<AuthResponseDto> response = authController.login(loginRequestDto, request);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(authResponseDto, response.getBody());
-        verify(authService).login(loginRequestDto);
+        verify(authService).login(loginRequestDto, "10.0.0.1");
         verifyNoMoreInteractions(authService);
     }
 
@@ -146,14 +129,12 @@ class AuthControllerTest {
     @Test
     void refreshToken_ValidToken_ReturnsOkWithAuthResponse() {
         // Arrange
-        String newAccessToken = "new-access-token";
-        String newRefreshToken = "new-refresh-token";
-        when(jwtUtil.extractEmail(extractedToken)).thenReturn("test@example.com");
-        when(jwtUtil.isTokenValid(extractedToken, "test@example.com")).thenReturn(true);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(jwtUtil.generateToken(user)).thenReturn(newAccessToken);
-        when(jwtUtil.generateRefreshToken(user)).thenReturn(newRefreshToken);
-        when(jwtUtil.getRefreshExpiration()).thenReturn(86400L); // 1 day in seconds
+        AuthResponseDto rotated = AuthResponseDto.builder()
+                .token("new-access-token")
+                .refreshToken("new-refresh-token")
+                .user(userResponseDto)
+                .build();
+        when(authService.refreshToken(extractedToken)).thenReturn(rotated);
 
         // Act
         ResponseEntity<?> response = authController.refreshToken(validToken);
@@ -162,16 +143,10 @@ class AuthControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         AuthResponseDto responseBody = (AuthResponseDto) response.getBody();
         assertNotNull(responseBody);
-        assertEquals(newAccessToken, responseBody.getToken());
-        assertEquals(newRefreshToken, responseBody.getRefreshToken());
-        verify(jwtUtil).extractEmail(extractedToken);
-        verify(jwtUtil).isTokenValid(extractedToken, "test@example.com");
-        verify(userRepository).findByEmail("test@example.com");
-        verify(jwtUtil).generateToken(user);
-        verify(jwtUtil).generateRefreshToken(user);
-        verify(refreshTokenRepository).deleteByToken(extractedToken);
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
-        verifyNoInteractions(authService, tokenBlacklistRepository);
+        assertEquals("new-access-token", responseBody.getToken());
+        assertEquals("new-refresh-token", responseBody.getRefreshToken());
+        assertNull(responseBody.getUser());
+        verify(authService).refreshToken(extractedToken);
     }
 
     @Test
@@ -187,7 +162,7 @@ class AuthControllerTest {
         assertEquals("Refresh token is required.", errorResponse.getError());
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
         assertNotNull(errorResponse.getTimestamp());
-        verifyNoInteractions(jwtUtil, userRepository, refreshTokenRepository, authService, tokenBlacklistRepository);
+        verifyNoInteractions(authService);
     }
 
     @Test
@@ -203,7 +178,7 @@ class AuthControllerTest {
         assertEquals("Refresh token is required.", errorResponse.getError());
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
         assertNotNull(errorResponse.getTimestamp());
-        verifyNoInteractions(jwtUtil, userRepository, refreshTokenRepository, authService, tokenBlacklistRepository);
+        verifyNoInteractions(authService);
     }
 
     @Test
@@ -222,14 +197,14 @@ class AuthControllerTest {
         assertEquals("Invalid token format: Bearer token required.", errorResponse.getError());
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
         assertNotNull(errorResponse.getTimestamp());
-        verifyNoInteractions(jwtUtil, userRepository, refreshTokenRepository, authService, tokenBlacklistRepository);
+        verifyNoInteractions(authService);
     }
 
     @Test
     void refreshToken_InvalidOrExpiredToken_ReturnsBadRequestWithError() {
         // Arrange
-        when(jwtUtil.extractEmail(extractedToken)).thenReturn("test@example.com");
-        when(jwtUtil.isTokenValid(extractedToken, "test@example.com")).thenReturn(false);
+        when(authService.refreshToken(extractedToken))
+                .thenThrow(new IllegalArgumentException("Refresh token is invalid or expired."));
 
         // Act
         ResponseEntity<?> response = authController.refreshToken(validToken);
@@ -239,20 +214,16 @@ class AuthControllerTest {
         ApiErrorResponse errorResponse = (ApiErrorResponse) response.getBody();
         assertNotNull(errorResponse);
         assertEquals("INVALID_INPUT", errorResponse.getErrorCode());
-        assertEquals("Invalid or expired refresh token.", errorResponse.getError());
+        assertEquals("Refresh token is invalid or expired.", errorResponse.getError());
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
         assertNotNull(errorResponse.getTimestamp());
-        verify(jwtUtil).extractEmail(extractedToken);
-        verify(jwtUtil).isTokenValid(extractedToken, "test@example.com");
-        verifyNoInteractions(userRepository, refreshTokenRepository, authService, tokenBlacklistRepository);
     }
 
     @Test
-    void refreshToken_UserNotFound_ReturnsBadRequestWithError() {
+    void refreshToken_ReusedToken_ReturnsBadRequestWithError() {
         // Arrange
-        when(jwtUtil.extractEmail(extractedToken)).thenReturn("test@example.com");
-        when(jwtUtil.isTokenValid(extractedToken, "test@example.com")).thenReturn(true);
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+        when(authService.refreshToken(extractedToken))
+                .thenThrow(new IllegalArgumentException("Refresh token was already used. Please log in again."));
 
         // Act
         ResponseEntity<?> response = authController.refreshToken(validToken);
@@ -261,14 +232,7 @@ class AuthControllerTest {
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         ApiErrorResponse errorResponse = (ApiErrorResponse) response.getBody();
         assertNotNull(errorResponse);
-        assertEquals("INVALID_INPUT", errorResponse.getErrorCode());
-        assertEquals("User not found.", errorResponse.getError());
-        assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
-        assertNotNull(errorResponse.getTimestamp());
-        verify(jwtUtil).extractEmail(extractedToken);
-        verify(jwtUtil).isTokenValid(extractedToken, "test@example.com");
-        verify(userRepository).findByEmail("test@example.com");
-        verifyNoInteractions(refreshTokenRepository, authService, tokenBlacklistRepository);
+        assertEquals("Refresh token was already used. Please log in again.", errorResponse.getError());
     }
 
     // Tests for logout
@@ -285,8 +249,7 @@ class AuthControllerTest {
         assertNull(response.getBody());
         verify(authService).logout(extractedToken);
         verifyNoMoreInteractions(authService);
-        verifyNoInteractions(jwtUtil, userRepository, refreshTokenRepository, tokenBlacklistRepository);
-    }
+            }
 
     @Test
     void logout_NullToken_ReturnsBadRequestWithError() {
@@ -301,7 +264,7 @@ class AuthControllerTest {
         assertEquals("Token is required.", errorResponse.getError());
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
         assertNotNull(errorResponse.getTimestamp());
-        verifyNoInteractions(authService, jwtUtil, userRepository, refreshTokenRepository, tokenBlacklistRepository);
+        verifyNoInteractions(authService);
     }
 
     @Test
@@ -317,7 +280,7 @@ class AuthControllerTest {
         assertEquals("Token is required.", errorResponse.getError());
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
         assertNotNull(errorResponse.getTimestamp());
-        verifyNoInteractions(authService, jwtUtil, userRepository, refreshTokenRepository, tokenBlacklistRepository);
+        verifyNoInteractions(authService);
     }
 
     @Test
@@ -336,6 +299,6 @@ class AuthControllerTest {
         assertEquals("Invalid token format: Bearer token required.", errorResponse.getError());
         assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
         assertNotNull(errorResponse.getTimestamp());
-        verifyNoInteractions(authService, jwtUtil, userRepository, refreshTokenRepository, tokenBlacklistRepository);
+        verifyNoInteractions(authService);
     }
 }
\ No newline at end of file
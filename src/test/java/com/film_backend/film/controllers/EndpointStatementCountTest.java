@@ -0,0 +1,201 @@
+package com.film_backend.film.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.film_backend.film.entity.Comment;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.enums.Role;
+import com.film_backend.film.repository.CommentRepository;
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.security.CustomUserDetailsService;
+import com.film_backend.film.security.TokenVersionCache;
+import com.film_backend.film.util.JwtUtil;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Statement counts of the read paths, measured through the endpoints so that fetches added by services and
+ * mappers count too. Each path runs against {@value #AUTHORS} distinct authors or users, so a per-row fetch
+ * would show up as extra statements.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=statement-count-test-secret-0123456789abcdef",
+        "jwt.expiration=1800",
+        "jwt.refresh.expiration=86400",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class EndpointStatementCountTest {
+
+    private static final int AUTHORS = 5;
+
+    // Scheduled jobs would run statements of their own while a request is measured
+    @MockitoBean
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Movie movie;
+    private final List<User> authors = new ArrayList<>();
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder()
+                .title("Inception")
+                .description("A mind-bending thriller")
+                .duration(148)
+                .releaseYear(2010)
+                .genres(Set.of(Genre.SCIFI, Genre.ACTION))
+                .build());
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = userRepository.save(User.builder()
+                    .username("author" + i)
+                    .email("author" + i + "@example.com")
+                    .password("password")
+                    .role(Role.USER)
+                    .build());
+            authors.add(author);
+            commentRepository.save(Comment.builder().content("Comment " + i).rate(i % 5 + 1).user(author).movie(movie).build());
+        }
+        admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@example.com")
+                .password("password")
+                .role(Role.ADMIN)
+                .build());
+
+        // User details and token versions are cached per user; load them before measuring, as on a warm node
+        List<User> users = new ArrayList<>(authors);
+        users.add(admin);
+        users.forEach(user -> {
+            userDetailsService.loadUserByUsername(user.getEmail());
+            tokenVersionCache.isCurrent(user.getId(), 0L);
+        });
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        movieRepository.deleteAll();
+        userRepository.deleteAll();
+        authors.clear();
+    }
+
+    @Test
+    void movieDetail() throws Exception {
+        measure(get("/api/movies/{id}", movie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments.length()").value(AUTHORS));
+
+        // ETag probe, the movie, and the first comment page with its authors joined in
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void movieComments() throws Exception {
+        measure(get("/api/movies/{id}/comments", movie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(AUTHORS));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void adminUserList() throws Exception {
+        measure(get("/api/admin/users").header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(AUTHORS + 1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void adminUserDetail() throws Exception {
+        measure(get("/api/admin/users/{id}", authors.get(0).getId()).header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("author0"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void profileUpdate() throws Exception {
+        User author = authors.get(0);
+
+        measure(put("/api/users/profile")
+                .header(HttpHeaders.AUTHORIZATION, bearer(author))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"renamed\",\"email\":\"author0@example.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("renamed"));
+
+        // Loads the user and writes it back; the comments stay unloaded
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private ResultActions measure(RequestBuilder request) throws Exception {
+        statistics.clear();
+        return mockMvc.perform(request);
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtUtil.generateToken(user);
+    }
+}
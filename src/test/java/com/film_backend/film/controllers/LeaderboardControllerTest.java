@@ -0,0 +1,39 @@
+package com.film_backend.film.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.film_backend.film.dtos.response.LeaderboardEntryDto;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.service.LeaderboardService;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardControllerTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @InjectMocks
+    private LeaderboardController leaderboardController;
+
+    @Test
+    void getLeaderboard_returnsTheEntries() {
+        List<LeaderboardEntryDto> entries = List.of(LeaderboardEntryDto.builder().id(1L).title("Heat").build());
+        when(leaderboardService.getLeaderboard("top-rated", Genre.DRAMA, 5)).thenReturn(entries);
+
+        ResponseEntity<List<LeaderboardEntryDto>> response = leaderboardController.getLeaderboard("top-rated", Genre.DRAMA, 5);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(entries);
+    }
+}
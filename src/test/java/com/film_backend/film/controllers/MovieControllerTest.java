@@ -2,42 +2,72 @@ package com.film_backend.film.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import com.film_backend.film.dtos.response.CursorPageResponseDto;
 import com.film_backend.film.dtos.response.MovieDetailResponseDto;
+import com.film_backend.film.dtos.response.MovieSearchResponseDto;
 import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
+import com.film_backend.film.dtos.response.MovieSuggestionDto;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.exception.ServiceUnavailableException;
+import com.film_backend.film.service.CommentService;
+import com.film_backend.film.service.MovieExportService;
 import com.film_backend.film.service.MovieService;
+import com.film_backend.film.util.HttpValidators;
 
 class MovieControllerTest {
 
-    @InjectMocks
     private MovieController movieController;
 
     @Mock
     private MovieService movieService;
 
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private MovieExportService movieExportService;
+
     private MovieSimpleResponseDto movieSimpleResponseDto;
     private MovieDetailResponseDto movieDetailResponseDto;
     private List<MovieSimpleResponseDto> movieList;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private ServletWebRequest webRequest;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        movieController = new MovieController(movieService, commentService, movieExportService, Duration.ofMinutes(30));
 
         // Initialize DTOs
         movieSimpleResponseDto = new MovieSimpleResponseDto();
@@ -47,6 +77,12 @@ class MovieControllerTest {
         // Add fields as needed, e.g., movieDetailResponseDto.setId(1L);
 
         movieList = Arrays.asList(movieSimpleResponseDto);
+
+        servletRequest = new MockHttpServletRequest("GET", "/api/movies/1");
+        servletResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(servletRequest, servletResponse);
+        when(movieService.getSimpleMoviesValidators(any())).thenReturn(HttpValidators.of(HttpValidators.NO_LAST_MODIFIED, 3, 1000L));
+        when(movieService.getMovieValidators(anyLong())).thenReturn(HttpValidators.of(1_700_000_000_000L, 2, 5, 1_700_000_000_000L));
     }
 
     @Test
@@ -56,7 +92,7 @@ class MovieControllerTest {
         when(movieService.listSimpleMovies(eq(title))).thenReturn(movieList);
 
         // Act
-        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(title);
+        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(title, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -70,7 +106,7 @@ class MovieControllerTest {
         when(movieService.listSimpleMovies(null)).thenReturn(movieList);
 
         // Act
-        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(null);
+        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(null, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -85,7 +121,7 @@ class MovieControllerTest {
         when(movieService.listSimpleMovies(eq(emptyTitle))).thenReturn(movieList);
 
         // Act
-        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(emptyTitle);
+        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(emptyTitle, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -103,12 +139,127 @@ class MovieControllerTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> movieController.listMovies(title)
+                () -> movieController.listMovies(title, webRequest)
         );
         assertEquals("Invalid title", exception.getMessage());
         verify(movieService, times(1)).listSimpleMovies(title);
     }
 
+    @Test
+    void testListMoviesPage_Success() {
+        // Arrange
+        CursorPageResponseDto<MovieSimpleResponseDto> page = CursorPageResponseDto.<MovieSimpleResponseDto>builder()
+                .content(movieList)
+                .size(1)
+                .hasNext(true)
+                .nextCursor("1")
+                .build();
+        when(movieService.listSimpleMoviesPage(null, 20)).thenReturn(page);
+
+        // Act
+        ResponseEntity<CursorPageResponseDto<MovieSimpleResponseDto>> response = movieController.listMoviesPage(null, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(movieService, times(1)).listSimpleMoviesPage(null, 20);
+    }
+
+    @Test
+    void testSearchMovies_Success() {
+        // Arrange
+        MovieSearchResponseDto result = MovieSearchResponseDto.builder().content(movieList).totalHits(1).build();
+        when(movieService.searchMovies("dream", Set.of(Genre.DRAMA), 0, 10)).thenReturn(result);
+
+        // Act
+        ResponseEntity<MovieSearchResponseDto> response = movieController.searchMovies("dream", Set.of(Genre.DRAMA), 0, 10);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    void testBrowseMovies_Success() {
+        // Arrange
+        CursorPageResponseDto<MovieSimpleResponseDto> page = CursorPageResponseDto.<MovieSimpleResponseDto>builder()
+                .content(movieList).size(1).build();
+        when(movieService.browseMovies(Set.of(Genre.DRAMA), "all", 2000, null, 4.0, null, 20)).thenReturn(page);
+
+        // Act
+        ResponseEntity<CursorPageResponseDto<MovieSimpleResponseDto>> response =
+                movieController.browseMovies(Set.of(Genre.DRAMA), "all", 2000, null, 4.0, null, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void testSuggestMovies_Success() {
+        // Arrange
+        List<MovieSuggestionDto> suggestions = List.of(new MovieSuggestionDto(1L, "Inception", null, 4.5));
+        when(movieService.suggestTitles("inc", 5)).thenReturn(suggestions);
+
+        // Act
+        ResponseEntity<List<MovieSuggestionDto>> response = movieController.suggestMovies("inc", 5);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(suggestions, response.getBody());
+    }
+
+    @Test
+    void testExportMovies_streamsTheExportIntoTheResponseAndReleasesTheSlot() throws Exception {
+        // Arrange
+        Runnable releaseSlot = mock(Runnable.class);
+        when(movieExportService.mediaType("csv")).thenReturn(MediaType.parseMediaType("text/csv"));
+        when(movieExportService.reserveSlot()).thenReturn(releaseSlot);
+
+        // Act
+        WebAsyncTask<Void> task = movieController.exportMovies("csv", servletResponse);
+        task.getCallable().call();
+
+        // Assert
+        assertEquals(Duration.ofMinutes(30).toMillis(), task.getTimeout());
+        assertEquals("text/csv", servletResponse.getContentType());
+        assertEquals("attachment; filename=\"movies.csv\"", servletResponse.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        verify(movieExportService).export("csv", servletResponse.getOutputStream());
+        verify(releaseSlot).run();
+    }
+
+    @Test
+    void testExportMovies_releasesTheSlotWhenTheExportFails() throws Exception {
+        Runnable releaseSlot = mock(Runnable.class);
+        when(movieExportService.mediaType("csv")).thenReturn(MediaType.parseMediaType("text/csv"));
+        when(movieExportService.reserveSlot()).thenReturn(releaseSlot);
+        doThrow(new IOException("Broken pipe")).when(movieExportService).export(eq("csv"), any());
+
+        WebAsyncTask<Void> task = movieController.exportMovies("csv", servletResponse);
+
+        assertThrows(IOException.class, () -> task.getCallable().call());
+        verify(releaseSlot).run();
+    }
+
+    @Test
+    void testExportMovies_rejectsAnUnsupportedFormatBeforeReservingASlot() throws Exception {
+        when(movieExportService.mediaType("xml")).thenThrow(new IllegalArgumentException("Unsupported export format: xml"));
+
+        assertThrows(IllegalArgumentException.class, () -> movieController.exportMovies("xml", servletResponse));
+        verify(movieExportService, never()).reserveSlot();
+        verify(movieExportService, never()).export(anyString(), any());
+    }
+
+    @Test
+    void testExportMovies_isRefusedWhenEverySlotIsTaken() throws Exception {
+        when(movieExportService.mediaType("csv")).thenReturn(MediaType.parseMediaType("text/csv"));
+        when(movieExportService.reserveSlot())
+                .thenThrow(new ServiceUnavailableException("Too many catalog exports in progress. Please retry later."));
+
+        assertThrows(ServiceUnavailableException.class, () -> movieController.exportMovies("csv", servletResponse));
+        verify(movieExportService, never()).export(anyString(), any());
+    }
+
     @Test
     void testGetMovieById_Success() {
         // Arrange
@@ -116,7 +267,7 @@ class MovieControllerTest {
         when(movieService.getMovieById(eq(movieId))).thenReturn(movieDetailResponseDto);
 
         // Act
-        ResponseEntity<MovieDetailResponseDto> response = movieController.getMovieById(movieId);
+        ResponseEntity<MovieDetailResponseDto> response = movieController.getMovieById(movieId, webRequest);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -134,9 +285,79 @@ class MovieControllerTest {
         // Act & Assert
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
-                () -> movieController.getMovieById(movieId)
+                () -> movieController.getMovieById(movieId, webRequest)
         );
         assertEquals("Movie not found", exception.getMessage());
         verify(movieService, times(1)).getMovieById(movieId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testListMovies_SetsValidatorHeaders() {
+        // Arrange
+        when(movieService.listSimpleMovies(null)).thenReturn(movieList);
+
+        // Act
+        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(null, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("W/\"3-1000\"", servletResponse.getHeader("ETag"));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testListMovies_MatchingETag_NotModified() {
+        // Arrange
+        servletRequest.addHeader("If-None-Match", "W/\"3-1000\"");
+
+        // Act
+        ResponseEntity<List<MovieSimpleResponseDto>> response = movieController.listMovies(null, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(null, response.getBody());
+        verify(movieService, never()).listSimpleMovies(any());
+    }
+
+    @Test
+    void testGetMovieById_MatchingETag_NotModified() {
+        // Arrange
+        servletRequest.addHeader("If-None-Match", "W/\"2-5-1700000000000\"");
+
+        // Act
+        ResponseEntity<MovieDetailResponseDto> response = movieController.getMovieById(1L, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(movieService, never()).getMovieById(anyLong());
+    }
+
+    @Test
+    void testGetMovieById_StaleETag_ReturnsBody() {
+        // Arrange
+        servletRequest.addHeader("If-None-Match", "W/\"1-5-1700000000000\"");
+        when(movieService.getMovieById(1L)).thenReturn(movieDetailResponseDto);
+
+        // Act
+        ResponseEntity<MovieDetailResponseDto> response = movieController.getMovieById(1L, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(movieDetailResponseDto, response.getBody());
+        assertEquals("W/\"2-5-1700000000000\"", servletResponse.getHeader("ETag"));
+    }
+
+    @Test
+    void testGetMovieById_NotModifiedSince_NotModified() {
+        // Arrange
+        servletRequest.addHeader("If-Modified-Since", 1_700_000_000_000L);
+
+        // Act
+        ResponseEntity<MovieDetailResponseDto> response = movieController.getMovieById(1L, webRequest);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(1_700_000_000_000L, servletResponse.getDateHeader("Last-Modified"));
+        verify(movieService, never()).getMovieById(anyLong());
+    }
+}
@@ -0,0 +1,31 @@
+package com.film_backend.film.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.film_backend.film.enums.Genre;
+
+class GenreMaskConverterTest {
+
+    private final GenreMaskConverter converter = new GenreMaskConverter();
+
+    @Test
+    void convertToDatabaseColumn_setsOneBitPerGenreOrdinal() {
+        assertThat(converter.convertToDatabaseColumn(Set.of(Genre.ACTION, Genre.COMEDY))).isEqualTo(0b101);
+        assertThat(converter.convertToDatabaseColumn(Set.of())).isZero();
+        assertThat(converter.convertToDatabaseColumn(null)).isZero();
+    }
+
+    @Test
+    void convertToEntityAttribute_roundTripsEveryGenre() {
+        Set<Genre> all = EnumSet.allOf(Genre.class);
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(all))).isEqualTo(all);
+        assertThat(converter.convertToEntityAttribute(0b10000)).containsExactly(Genre.SCIFI);
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+    }
+}
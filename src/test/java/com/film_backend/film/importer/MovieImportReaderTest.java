@@ -0,0 +1,126 @@
+package com.film_backend.film.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.enums.ImportFormat;
+
+class MovieImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void json_readsEachElementAndRejectsOnlyTheBadOnes() throws IOException {
+        String json = "[{\"title\":\"Heat\",\"genres\":[\"DRAMA\"],\"duration\":170},"
+                + "{\"title\":\"Alien\",\"genres\":[\"SPACE\"]},"
+                + "42,"
+                + "{\"title\":\"Up\",\"releaseYear\":2009}]";
+
+        List<MovieImportRow> rows = readAll(ImportFormat.JSON, json);
+
+        assertThat(rows).extracting(MovieImportRow::rowNumber).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(rows.get(0).movie().getTitle()).isEqualTo("Heat");
+        assertThat(rows.get(0).movie().getGenres()).containsExactly(Genre.DRAMA);
+        assertThat(rows.get(1).error()).isEqualTo("Invalid value for genres");
+        assertThat(rows.get(2).error()).isEqualTo("Expected a JSON object");
+        assertThat(rows.get(3).movie().getReleaseYear()).isEqualTo(2009);
+    }
+
+    @Test
+    void json_failsWhenTheBodyIsNotAnArray() {
+        assertThatThrownBy(() -> readAll(ImportFormat.JSON, "{\"title\":\"Heat\"}"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Expected a JSON array of movies");
+    }
+
+    @Test
+    void json_failsOnTruncatedInput() {
+        assertThatThrownBy(() -> readAll(ImportFormat.JSON, "[{\"title\":\"Heat\"},{\"title\""))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void ndjson_readsOneMoviePerLineAndSkipsBlankLines() throws IOException {
+        String ndjson = "{\"title\":\"Heat\"}\n\n{not json}\r\n{\"title\":\"Up\"}\n";
+
+        List<MovieImportRow> rows = readAll(ImportFormat.NDJSON, ndjson);
+
+        assertThat(rows).extracting(MovieImportRow::rowNumber).containsExactly(1L, 2L, 3L);
+        assertThat(rows.get(0).movie().getTitle()).isEqualTo("Heat");
+        assertThat(rows.get(1).error()).isNotBlank();
+        assertThat(rows.get(2).movie().getTitle()).isEqualTo("Up");
+    }
+
+    @Test
+    void csv_mapsHeaderColumnsInAnyOrderAndCase() throws IOException {
+        String csv = "ReleaseYear,title,genres,duration,description,posterUrl,videoUrl\r\n"
+                + "1995,Heat,DRAMA|thriller,170,\"Heist, with \"\"Neil\"\"\nand Vincent\",/p.jpg,/v.mp4\r\n"
+                + "\r\n"
+                + "2009,Up,COMEDY,,,,\n";
+
+        List<MovieImportRow> rows = readAll(ImportFormat.CSV, csv);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).movie().getReleaseYear()).isEqualTo(1995);
+        assertThat(rows.get(0).movie().getGenres()).containsExactlyInAnyOrder(Genre.DRAMA, Genre.THRILLER);
+        assertThat(rows.get(0).movie().getDescription()).isEqualTo("Heist, with \"Neil\"\nand Vincent");
+        assertThat(rows.get(0).movie().getVideoUrl()).isEqualTo("/v.mp4");
+        assertThat(rows.get(1).rowNumber()).isEqualTo(2);
+        assertThat(rows.get(1).movie().getDuration()).isNull();
+        assertThat(rows.get(1).movie().getDescription()).isNull();
+    }
+
+    @Test
+    void csv_rejectsRowsWithBadValues() throws IOException {
+        String csv = "title,genres,duration\n"
+                + "Heat,DRAMA,long\n"
+                + "Alien,SPACE,117\n"
+                + "Up,COMEDY\n";
+
+        List<MovieImportRow> rows = readAll(ImportFormat.CSV, csv);
+
+        assertThat(rows).extracting(MovieImportRow::error).containsExactly(
+                "Invalid number for duration: long", "Unknown genre: SPACE", "Expected 3 columns but found 2");
+    }
+
+    @Test
+    void csv_failsOnAnUnknownColumn() {
+        assertThatThrownBy(() -> readAll(ImportFormat.CSV, "title,rating\nHeat,5\n"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unknown CSV column: rating");
+    }
+
+    @Test
+    void csv_skipsTheExportOnlyColumns() throws IOException {
+        String csv = "id,title,description,genres,posterUrl,videoUrl,duration,releaseYear,averageRating,ratingCount\n"
+                + "7,Heat,Heist,DRAMA|THRILLER,/p.jpg,,170,1995,4.5,2\n";
+
+        List<MovieImportRow> rows = readAll(ImportFormat.CSV, csv);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).error()).isNull();
+        assertThat(rows.get(0).movie().getTitle()).isEqualTo("Heat");
+        assertThat(rows.get(0).movie().getGenres()).containsExactlyInAnyOrder(Genre.DRAMA, Genre.THRILLER);
+        assertThat(rows.get(0).movie().getReleaseYear()).isEqualTo(1995);
+    }
+
+    private List<MovieImportRow> readAll(ImportFormat format, String body) throws IOException {
+        List<MovieImportRow> rows = new ArrayList<>();
+        try (MovieImportReader reader = MovieImportReader.open(format, new StringReader(body), objectMapper)) {
+            MovieImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
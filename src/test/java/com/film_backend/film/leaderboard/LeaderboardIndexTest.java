@@ -0,0 +1,163 @@
+package com.film_backend.film.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.film_backend.film.dtos.response.LeaderboardEntryDto;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.repository.CommentRepository;
+import com.film_backend.film.repository.MovieRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardIndexTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private LeaderboardIndex index;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        index = new LeaderboardIndex(movieRepository, commentRepository, true, 10, 100);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void rebuild_seedsEveryBoardFromTheDatabase() {
+        seed();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(Leaderboard.TOP_RATED, null)).containsExactly(1L, 2L);
+        assertThat(ids(Leaderboard.MOST_REVIEWED, null)).containsExactly(2L, 1L);
+        assertThat(ids(Leaderboard.TRENDING, null)).containsExactly(2L, 1L);
+        assertThat(ids(Leaderboard.TOP_RATED, Genre.DRAMA)).containsExactly(1L);
+        assertThat(ids(Leaderboard.TOP_RATED, Genre.HORROR)).isEmpty();
+        LeaderboardEntryDto first = index.top(Leaderboard.TOP_RATED, null, 1).get(0);
+        assertThat(first.getTitle()).isEqualTo("Heat");
+        assertThat(first.getAverageRating()).isEqualTo(5.0);
+        assertThat(first.getRatingCount()).isEqualTo(10L);
+    }
+
+    @Test
+    void applyRating_isVisibleAfterTheNextSnapshot() {
+        seed();
+
+        index.applyRating(3L, 5, now);
+        index.applyRating(3L, 5, now);
+        index.applyRating(3L, 5, now);
+
+        assertThat(ids(Leaderboard.TRENDING, null)).containsExactly(2L, 1L);
+        index.publish();
+        assertThat(ids(Leaderboard.TRENDING, null)).containsExactly(3L, 2L, 1L);
+        assertThat(ids(Leaderboard.MOST_REVIEWED, Genre.COMEDY)).containsExactly(2L, 3L);
+        assertThat(ids(Leaderboard.TOP_RATED, null)).containsExactly(1L, 3L, 2L);
+        assertThat(index.top(Leaderboard.TRENDING, null, 1).get(0).getScore()).isEqualTo(3.0);
+    }
+
+    @Test
+    void applyRating_ignoresMoviesItDoesNotKnow() {
+        seed();
+
+        index.applyRating(99L, 5, now);
+        index.publish();
+
+        assertThat(ids(Leaderboard.TRENDING, null)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void applyMovie_movesTheMovieBetweenGenreBoardsAndKeepsItsRatings() {
+        seed();
+        index.applyRating(1L, 1, now);
+        Movie movie = Movie.builder().id(1L).title("Heat").genres(Set.of(Genre.ACTION)).ratingSum(0L).ratingCount(0L).build();
+
+        index.applyMovie(movie);
+        index.publish();
+
+        assertThat(ids(Leaderboard.TOP_RATED, Genre.DRAMA)).isEmpty();
+        assertThat(ids(Leaderboard.MOST_REVIEWED, Genre.ACTION)).containsExactly(1L);
+        assertThat(index.top(Leaderboard.MOST_REVIEWED, Genre.ACTION, 1).get(0).getRatingCount()).isEqualTo(11L);
+    }
+
+    @Test
+    void applyRemoval_dropsTheMovieFromEveryBoard() {
+        seed();
+
+        index.applyRemoval(2L);
+        index.publish();
+
+        assertThat(ids(Leaderboard.TOP_RATED, null)).containsExactly(1L);
+        assertThat(ids(Leaderboard.MOST_REVIEWED, Genre.COMEDY)).isEmpty();
+        assertThat(ids(Leaderboard.TRENDING, null)).containsExactly(1L);
+    }
+
+    @Test
+    void top_isCutToTheLimit() {
+        seed();
+
+        assertThat(index.top(Leaderboard.TOP_RATED, null, 1)).hasSize(1);
+    }
+
+    @Test
+    void rebuild_isSkippedWhenDisabled() {
+        index = new LeaderboardIndex(movieRepository, commentRepository, false, 10, 100);
+
+        index.rebuild();
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.top(Leaderboard.TOP_RATED, null, 10)).isEmpty();
+        verifyNoInteractions(movieRepository, commentRepository);
+    }
+
+    // Heat: ten 5-star ratings. Airplane: forty 3-star ratings. Memento: no ratings yet
+    private void seed() {
+        when(movieRepository.findStandingsAfter(anyLong(), any(Pageable.class))).thenReturn(List.of(
+                new MovieStanding(1L, "Heat", null, Set.of(Genre.DRAMA), 50, 10),
+                new MovieStanding(2L, "Airplane", null, Set.of(Genre.COMEDY), 120, 40),
+                new MovieStanding(3L, "Memento", null, Set.of(Genre.COMEDY), 0, 0)));
+        when(commentRepository.findRatedSince(any(Date.class), anyLong(), any(Pageable.class))).thenReturn(List.of(
+                rating(1L, 1L), rating(2L, 2L), rating(3L, 2L)));
+        index.rebuild();
+    }
+
+    private CommentRepository.RatingTime rating(Long id, Long movieId) {
+        return new CommentRepository.RatingTime() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getMovieId() {
+                return movieId;
+            }
+
+            @Override
+            public Date getCreatedAt() {
+                return new Date(now - 60_000);
+            }
+        };
+    }
+
+    private List<Long> ids(Leaderboard leaderboard, Genre genre) {
+        return index.top(leaderboard, genre, 10).stream().map(LeaderboardEntryDto::getId).toList();
+    }
+}
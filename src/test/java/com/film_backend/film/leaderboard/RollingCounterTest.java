@@ -0,0 +1,63 @@
+package com.film_backend.film.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RollingCounterTest {
+
+    private static final long HOUR = RollingCounter.BUCKET_MILLIS;
+    private static final long START = 1_000 * HOUR;
+
+    @Test
+    void add_countsEventsWithinTheWindow() {
+        RollingCounter counter = new RollingCounter(24);
+        counter.advance(START);
+
+        counter.add(1, START);
+        counter.add(1, START - 5 * HOUR);
+        counter.add(2, START - HOUR);
+
+        assertThat(counter.count(1)).isEqualTo(2);
+        assertThat(counter.count(2)).isEqualTo(1);
+        assertThat(counter.count(3)).isZero();
+    }
+
+    @Test
+    void add_ignoresEventsOlderThanTheWindow() {
+        RollingCounter counter = new RollingCounter(24);
+        counter.advance(START);
+
+        counter.add(1, START - 24 * HOUR);
+
+        assertThat(counter.count(1)).isZero();
+    }
+
+    @Test
+    void advance_expiresBucketsThatLeaveTheWindow() {
+        RollingCounter counter = new RollingCounter(24);
+        counter.add(1, START);
+        counter.add(1, START + HOUR);
+        counter.add(2, START + HOUR);
+
+        assertThat(counter.advance(START + 24 * HOUR)).isTrue();
+        assertThat(counter.count(1)).isEqualTo(1);
+
+        assertThat(counter.advance(START + 30 * HOUR)).isTrue();
+        assertThat(counter.count(1)).isZero();
+        assertThat(counter.totals()).isEmpty();
+        assertThat(counter.advance(START + 31 * HOUR)).isFalse();
+    }
+
+    @Test
+    void remove_forgetsTheMovie() {
+        RollingCounter counter = new RollingCounter(24);
+        counter.add(1, START);
+
+        counter.remove(1);
+        counter.advance(START + 24 * HOUR);
+
+        assertThat(counter.count(1)).isZero();
+        assertThat(counter.totals()).isEmpty();
+    }
+}
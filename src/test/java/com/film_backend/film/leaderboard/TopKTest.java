@@ -0,0 +1,68 @@
+package com.film_backend.film.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+    @Test
+    void top_ordersByScoreThenId() {
+        TopK board = new TopK(4);
+        board.offer(3, 2.0);
+        board.offer(1, 5.0);
+        board.offer(2, 2.0);
+
+        assertThat(board.top(3)).extracting(TopK.Entry::movieId).containsExactly(1L, 2L, 3L);
+        assertThat(board.top(2)).hasSize(2);
+    }
+
+    @Test
+    void offer_replacesThePreviousScoreOfAMovie() {
+        TopK board = new TopK(4);
+        board.offer(1, 5.0);
+        board.offer(2, 4.0);
+
+        board.offer(1, 3.0);
+
+        assertThat(board.top(4)).extracting(TopK.Entry::movieId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void offer_evictsTheLowestScoreBeyondCapacity() {
+        TopK board = new TopK(2);
+        board.offer(1, 1.0);
+        board.offer(2, 2.0);
+        board.offer(3, 3.0);
+        board.offer(4, 0.5);
+
+        assertThat(board.top(2)).extracting(TopK.Entry::movieId).containsExactly(3L, 2L);
+        assertThat(board.isExact(2)).isTrue();
+    }
+
+    @Test
+    void isExact_isFalseOnceATrackedScoreFallsBelowAnEvictedOne() {
+        TopK board = new TopK(2);
+        board.offer(1, 3.0);
+        board.offer(2, 2.0);
+        board.offer(3, 1.0);
+
+        board.offer(2, 0.5);
+
+        // Movie 3 was evicted with 1.0 and may now belong in the top two
+        assertThat(board.isExact(1)).isTrue();
+        assertThat(board.isExact(2)).isFalse();
+    }
+
+    @Test
+    void remove_dropsTheMovie() {
+        TopK board = new TopK(2);
+        board.offer(1, 3.0);
+        board.offer(2, 2.0);
+
+        board.remove(1);
+
+        assertThat(board.top(2)).extracting(TopK.Entry::movieId).containsExactly(2L);
+        assertThat(board.isExact(1)).isTrue();
+    }
+}
@@ -0,0 +1,147 @@
+package com.film_backend.film.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import com.film_backend.film.dtos.response.CommentResponseDto;
+import com.film_backend.film.entity.Comment;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.entity.RefreshToken;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.enums.Role;
+import com.film_backend.film.mapper.CommentMapper;
+import com.film_backend.film.security.RefreshTokenService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the fetch plans of the read paths: associations are lazy by default, so each path must load
+ * exactly what it maps through its query or entity graph instead of issuing one select per row.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(CommentMapper.class)
+class FetchPlanStatementCountTest {
+
+    private static final int COMMENTS = 5;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentMapper commentMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Movie movie;
+    private User firstUser;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder()
+                .title("Inception")
+                .description("A mind-bending thriller")
+                .duration(148)
+                .releaseYear(2010)
+                .genres(Set.of(Genre.SCIFI, Genre.ACTION))
+                .build());
+        for (int i = 0; i < COMMENTS; i++) {
+            // A distinct author per comment, so a per-row user fetch would show up as extra statements
+            User user = userRepository.save(User.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .password("password")
+                    .role(Role.USER)
+                    .build());
+            if (i == 0) {
+                firstUser = user;
+            }
+            commentRepository.save(Comment.builder().content("Comment " + i).rate(i % 5 + 1).user(user).movie(movie).build());
+            RefreshToken refreshToken = new RefreshToken();
+            refreshToken.setTokenHash(RefreshTokenService.hash("refresh-" + i));
+            refreshToken.setFamilyId(UUID.randomUUID());
+            refreshToken.setUser(firstUser);
+            refreshToken.setCreatedAt(LocalDateTime.now());
+            refreshToken.setExpiresAt(LocalDateTime.now().plusDays(7));
+            refreshTokenRepository.save(refreshToken);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findDetailById_loadsMovieAndGenresInOneStatement() {
+        Movie detail = movieRepository.findDetailById(movie.getId()).orElseThrow();
+
+        assertThat(detail.getGenres()).containsExactlyInAnyOrder(Genre.SCIFI, Genre.ACTION);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findFeedFirstPage_projectsCommentsAndAuthorsInOneStatement() {
+        List<CommentResponseDto> page = commentRepository.findFeedFirstPage(movie.getId(), PageRequest.of(0, 21));
+
+        assertThat(page).hasSize(COMMENTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByMovieId_fetchesAuthorsWithTheComments() {
+        List<CommentResponseDto> dtos = commentRepository.findByMovieId(movie.getId()).stream()
+                .map(commentMapper::toDTO)
+                .toList();
+
+        assertThat(dtos).extracting(CommentResponseDto::getUsername)
+                .containsExactlyInAnyOrder("user0", "user1", "user2", "user3", "user4");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByUser_doesNotLoadTheOwningUser() {
+        List<UUID> tokens = refreshTokenRepository.findByUser(firstUser).stream()
+                .map(RefreshToken::getFamilyId)
+                .toList();
+
+        assertThat(tokens).hasSize(COMMENTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_doesNotLoadCommentsOrTokens() {
+        User user = userRepository.findById(firstUser.getId()).orElseThrow();
+
+        assertThat(user.getUsername()).isEqualTo("user0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.film_backend.film.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.film_backend.film.entity.Comment;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.enums.Role;
+import com.film_backend.film.leaderboard.MovieStanding;
+import com.film_backend.film.repository.CommentRepository.RatingTime;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * The keyset queries LeaderboardIndex loads its boards with.
+ */
+@DataJpaTest
+class LeaderboardQueriesJpaTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Movie> movies = new ArrayList<>();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("leaderboard")
+                .email("leaderboard@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            movies.add(movieRepository.save(Movie.builder()
+                    .title("Movie " + i)
+                    .description("Description " + i)
+                    .duration(100)
+                    .releaseYear(2000 + i)
+                    .genres(i == 0 ? Set.of(Genre.DRAMA, Genre.COMEDY) : Set.of(Genre.DRAMA))
+                    .ratingSum(4L * i)
+                    .ratingCount((long) i)
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findStandingsAfter_shouldPageByIdWithRatingTotalsAndGenres() {
+        // When
+        List<MovieStanding> first = movieRepository.findStandingsAfter(0L, PageRequest.of(0, 2));
+        List<MovieStanding> rest = movieRepository.findStandingsAfter(first.get(1).id(), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(first).extracting(MovieStanding::id).containsExactly(movies.get(0).getId(), movies.get(1).getId());
+        assertThat(first.get(0).genres()).containsExactlyInAnyOrder(Genre.DRAMA, Genre.COMEDY);
+        assertThat(first.get(1).ratingSum()).isEqualTo(4L);
+        assertThat(first.get(1).ratingCount()).isEqualTo(1L);
+        assertThat(rest).extracting(MovieStanding::id).containsExactly(movies.get(2).getId());
+        assertThat(rest.get(0).title()).isEqualTo("Movie 2");
+    }
+
+    @Test
+    void findRatedSince_shouldReturnRecentRatingsAfterTheKey() {
+        // Given
+        Comment old = commentRepository.save(comment(movies.get(0)));
+        Comment recent = commentRepository.save(comment(movies.get(1)));
+        Comment latest = commentRepository.save(comment(movies.get(2)));
+        entityManager.createQuery("update Comment c set c.createdAt = :createdAt where c.id = :id")
+                .setParameter("createdAt", new Date(System.currentTimeMillis() - 2 * 86_400_000L))
+                .setParameter("id", old.getId())
+                .executeUpdate();
+        Date since = new Date(System.currentTimeMillis() - 86_400_000L);
+
+        // When
+        List<RatingTime> ratings = commentRepository.findRatedSince(since, 0L, PageRequest.of(0, 10));
+        List<RatingTime> afterRecent = commentRepository.findRatedSince(since, recent.getId(), PageRequest.of(0, 10));
+
+        // Then
+        assertThat(ratings).extracting(RatingTime::getId).containsExactly(recent.getId(), latest.getId());
+        assertThat(ratings).extracting(RatingTime::getMovieId)
+                .containsExactly(movies.get(1).getId(), movies.get(2).getId());
+        assertThat(ratings).allSatisfy(rating -> assertThat(rating.getCreatedAt()).isAfterOrEqualTo(since));
+        assertThat(afterRecent).extracting(RatingTime::getId).containsExactly(latest.getId());
+    }
+
+    private Comment comment(Movie movie) {
+        return Comment.builder().content("Rated").rate(4).user(user).movie(movie).build();
+    }
+}
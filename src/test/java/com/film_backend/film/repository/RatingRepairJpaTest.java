@@ -0,0 +1,111 @@
+package com.film_backend.film.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.film_backend.film.entity.Comment;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.enums.Role;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * The native repairs that rebuild the rating counters of drifted movies from the comments table.
+ */
+@DataJpaTest
+class RatingRepairJpaTest {
+
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Movie recent;
+    private Movie old;
+    private Movie consistent;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .username("repair")
+                .email("repair@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+        // Both drifted movies lost a rating; the third one's counters match its comment
+        recent = movieRepository.save(movie("Recent", 0L, 0L));
+        old = movieRepository.save(movie("Old", 0L, 0L));
+        consistent = movieRepository.save(movie("Consistent", 3L, 1L));
+        commentRepository.save(Comment.builder().content("Recent").rate(4).user(user).movie(recent).build());
+        Comment oldComment = commentRepository.save(Comment.builder().content("Old").rate(2).user(user).movie(old).build());
+        commentRepository.save(Comment.builder().content("Consistent").rate(3).user(user).movie(consistent).build());
+        entityManager.flush();
+        entityManager.createQuery("update Comment c set c.createdAt = :createdAt where c.id = :id")
+                .setParameter("createdAt", new Date(System.currentTimeMillis() - 3 * DAY_MILLIS))
+                .setParameter("id", oldComment.getId())
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void repairRatingAggregates_shouldRebuildEveryDriftedMovie() {
+        // When
+        int repaired = movieRepository.repairRatingAggregates();
+        entityManager.clear();
+
+        // Then
+        assertThat(repaired).isEqualTo(2);
+        assertRating(recent, 4L, 1L, 4.0);
+        assertRating(old, 2L, 1L, 2.0);
+    }
+
+    @Test
+    void repairRatingAggregatesCommentedSince_shouldOnlyRebuildRecentlyCommentedMovies() {
+        // When
+        int repaired = movieRepository.repairRatingAggregatesCommentedSince(new Date(System.currentTimeMillis() - DAY_MILLIS));
+        entityManager.clear();
+
+        // Then
+        assertThat(repaired).isEqualTo(1);
+        assertRating(recent, 4L, 1L, 4.0);
+        assertRating(old, 0L, 0L, null);
+    }
+
+    private void assertRating(Movie movie, long ratingSum, long ratingCount, Double averageRating) {
+        Movie reloaded = movieRepository.findById(movie.getId()).orElseThrow();
+        assertThat(reloaded.getRatingSum()).isEqualTo(ratingSum);
+        assertThat(reloaded.getRatingCount()).isEqualTo(ratingCount);
+        assertThat(reloaded.getAverageRating()).isEqualTo(averageRating);
+    }
+
+    private static Movie movie(String title, long ratingSum, long ratingCount) {
+        return Movie.builder()
+                .title(title)
+                .description(title + " description")
+                .duration(100)
+                .releaseYear(2020)
+                .genres(Set.of(Genre.DRAMA))
+                .ratingSum(ratingSum)
+                .ratingCount(ratingCount)
+                .averageRating(ratingCount == 0 ? null : (double) ratingSum / ratingCount)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.film_backend.film.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.film_backend.film.enums.Genre;
+
+class BrowseIndexTest {
+
+    private BrowseIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BrowseIndex();
+        index.add(document(1L, 1999, 4.6, Genre.SCIFI, Genre.ACTION));
+        index.add(document(2L, 2003, 3.4, Genre.DRAMA));
+        index.add(document(3L, 2010, 4.1, Genre.SCIFI, Genre.THRILLER));
+        index.add(document(4L, 2014, null, Genre.SCIFI, Genre.DRAMA));
+        index.add(document(5L, null, 2.0, Genre.COMEDY));
+    }
+
+    @Test
+    void browse_withoutCriteriaListsEveryMovieInIdOrder() {
+        assertThat(ids(filter(Set.of(), false, null, null, null), 0, 10)).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void browse_matchesAnyOrAllOfTheGenres() {
+        assertThat(ids(filter(Set.of(Genre.DRAMA, Genre.COMEDY), false, null, null, null), 0, 10))
+                .containsExactly(2L, 4L, 5L);
+        assertThat(ids(filter(Set.of(Genre.SCIFI, Genre.DRAMA), true, null, null, null), 0, 10))
+                .containsExactly(4L);
+        assertThat(ids(filter(Set.of(Genre.SCIFI, Genre.HORROR), true, null, null, null), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void browse_combinesGenresWithYearRangeAndMinimumRating() {
+        assertThat(ids(filter(Set.of(Genre.SCIFI), false, 2000, 2014, null), 0, 10)).containsExactly(3L, 4L);
+        assertThat(ids(filter(Set.of(), false, null, 2005, null), 0, 10)).containsExactly(1L, 2L);
+        assertThat(ids(filter(Set.of(Genre.SCIFI), false, null, null, 4.5), 0, 10)).containsExactly(1L);
+        // 4.6 falls in the same half-star band as 4.7, so the lowest band is checked movie by movie
+        assertThat(ids(filter(Set.of(Genre.SCIFI), false, null, null, 4.7), 0, 10)).isEmpty();
+        assertThat(ids(filter(Set.of(), false, null, null, 3.0), 0, 10)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void browse_pagesAfterTheGivenId() {
+        MovieBrowseFilter scifi = filter(Set.of(Genre.SCIFI), false, null, null, null);
+
+        assertThat(ids(scifi, 0, 2)).containsExactly(1L, 3L);
+        assertThat(ids(scifi, 3, 2)).containsExactly(4L);
+        assertThat(ids(scifi, 4, 2)).isEmpty();
+    }
+
+    @Test
+    void browse_continuesAcrossSparseIdRanges() {
+        index.add(document(70_000L, 2011, 4.0, Genre.SCIFI));
+        index.add(document(5_000_000L, 2012, 4.2, Genre.SCIFI));
+        MovieBrowseFilter recentScifi = filter(Set.of(Genre.SCIFI), false, 2010, null, null);
+
+        assertThat(ids(recentScifi, 0, 10)).containsExactly(3L, 4L, 70_000L, 5_000_000L);
+        assertThat(ids(recentScifi, 4, 2)).containsExactly(70_000L, 5_000_000L);
+    }
+
+    @Test
+    void addAndRemove_keepEveryBitmapCurrent() {
+        index.add(document(2L, 2012, 4.8, Genre.SCIFI));
+        index.remove(1L);
+
+        assertThat(ids(filter(Set.of(Genre.SCIFI), false, 2010, 2012, 4.0), 0, 10)).containsExactly(2L, 3L);
+        assertThat(ids(filter(Set.of(Genre.DRAMA), false, null, null, null), 0, 10)).containsExactly(4L);
+        assertThat(ids(filter(Set.of(Genre.ACTION), false, null, null, null), 0, 10)).isEmpty();
+    }
+
+    private List<Long> ids(MovieBrowseFilter filter, long afterId, int limit) {
+        return index.browse(filter, afterId, limit).stream().map(MovieSearchDocument::id).toList();
+    }
+
+    private static MovieBrowseFilter filter(Set<Genre> genres, boolean matchAll, Integer fromYear, Integer toYear,
+                                            Double minRating) {
+        return new MovieBrowseFilter(genres, matchAll, fromYear, toYear, minRating);
+    }
+
+    private static MovieSearchDocument document(Long id, Integer releaseYear, Double averageRating, Genre... genres) {
+        return new MovieSearchDocument(id, "Movie " + id, null, null, null, Set.of(genres), new Date(id), averageRating,
+                averageRating == null ? 0L : 10L, releaseYear);
+    }
+}
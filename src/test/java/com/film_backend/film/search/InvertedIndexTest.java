@@ -0,0 +1,112 @@
+package com.film_backend.film.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.film_backend.film.enums.Genre;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(document(1L, "Inception", "A thief steals secrets through dream-sharing technology", Genre.SCIFI, Genre.ACTION));
+        index.add(document(2L, "The Dreamers", "Three young cinephiles in Paris", Genre.DRAMA));
+        index.add(document(3L, "Heat", "A heist crew and a detective in Los Angeles", Genre.ACTION, Genre.THRILLER));
+        index.add(document(4L, "Dream Scenario", "A professor starts appearing in strangers' dreams", Genre.COMEDY));
+    }
+
+    @Test
+    void search_matchesWordPrefixesAndRanksTitleMatchesFirst() {
+        InvertedIndex.Hits hits = index.search("dream", null, 0, 10);
+
+        // Title matches outrank the description match, and an exact word outranks a prefix
+        assertThat(hits.documents()).extracting(MovieSearchDocument::id).containsExactly(4L, 2L, 1L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    void search_requiresEveryQueryWord() {
+        InvertedIndex.Hits hits = index.search("heist detect", null, 0, 10);
+
+        assertThat(hits.documents()).extracting(MovieSearchDocument::id).containsExactly(3L);
+    }
+
+    @Test
+    void search_countsFacetsBeforeApplyingTheGenreFilter() {
+        InvertedIndex.Hits hits = index.search("dream", Set.of(Genre.DRAMA, Genre.COMEDY), 0, 10);
+
+        assertThat(hits.documents()).extracting(MovieSearchDocument::id).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(hits.total()).isEqualTo(2);
+        assertThat(hits.genreFacets()).containsEntry(Genre.SCIFI, 1).containsEntry(Genre.DRAMA, 1)
+                .containsEntry(Genre.COMEDY, 1).doesNotContainKey(Genre.THRILLER);
+    }
+
+    @Test
+    void search_pagesThroughRankedHits() {
+        InvertedIndex.Hits hits = index.search("dream", null, 1, 1);
+
+        assertThat(hits.documents()).extracting(MovieSearchDocument::id).containsExactly(2L);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    void findByTitleContaining_matchesSubstringsLikeTheDatabaseQuery() {
+        assertThat(index.findByTitleContaining("EAM")).extracting(MovieSearchDocument::id).containsExactly(2L, 4L);
+        assertThat(index.findByTitleContaining("ception")).extracting(MovieSearchDocument::id).containsExactly(1L);
+        assertThat(index.findByTitleContaining("m s")).extracting(MovieSearchDocument::id).containsExactly(4L);
+        assertThat(index.findByTitleContaining("he")).extracting(MovieSearchDocument::id).containsExactly(2L, 3L);
+        assertThat(index.findByTitleContaining("dreamz")).isEmpty();
+    }
+
+    @Test
+    void add_reindexingAMovieReplacesItsTermsAndGenres() {
+        index.add(document(3L, "Collateral", "A cab driver and a hitman", Genre.THRILLER));
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.search("heist", null, 0, 10).total()).isZero();
+        assertThat(index.findByTitleContaining("heat")).isEmpty();
+        assertThat(index.search("cab", null, 0, 10).genreFacets()).containsOnlyKeys(Genre.THRILLER);
+    }
+
+    @Test
+    void remove_dropsTheMovieFromEveryLookup() {
+        index.remove(4L);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("dream", null, 0, 10).documents()).extracting(MovieSearchDocument::id)
+                .containsExactly(2L, 1L);
+        assertThat(index.findByTitleContaining("scenario")).isEmpty();
+        assertThat(index.search("dream", null, 0, 10).genreFacets()).doesNotContainKey(Genre.COMEDY);
+    }
+
+    @Test
+    void addRating_movesTheMovieBetweenRatingBandsAndTypeaheadRanks() {
+        MovieBrowseFilter atLeastFourAndAHalf = new MovieBrowseFilter(Set.of(), false, null, null, 4.5);
+        assertThat(index.suggest("dream", 10)).extracting(MovieSearchDocument::id).containsExactly(2L, 4L);
+
+        index.addRating(4L, 5);
+
+        assertThat(index.suggest("dream", 10)).extracting(MovieSearchDocument::id).containsExactly(4L, 2L);
+        assertThat(index.browse(atLeastFourAndAHalf, 0, 10)).extracting(MovieSearchDocument::id).containsExactly(4L);
+
+        index.addRating(4L, 3);
+
+        assertThat(index.browse(atLeastFourAndAHalf, 0, 10)).isEmpty();
+        assertThat(index.browse(new MovieBrowseFilter(Set.of(), false, null, null, 4.0), 0, 10))
+                .extracting(MovieSearchDocument::averageRating).containsExactly(4.0);
+        assertThat(index.search("scenario", null, 0, 10).documents()).extracting(MovieSearchDocument::ratingCount)
+                .containsExactly(2L);
+    }
+
+    private static MovieSearchDocument document(Long id, String title, String description, Genre... genres) {
+        return new MovieSearchDocument(id, title, description, null, null, Set.of(genres), new Date(id), null, 0L, null);
+    }
+}
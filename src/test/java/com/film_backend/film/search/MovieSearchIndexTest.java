@@ -0,0 +1,136 @@
+package com.film_backend.film.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.repository.MovieRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MovieSearchIndexTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    private MovieSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new MovieSearchIndex(movieRepository, true, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_loadsEveryBatchWithItsGenres() {
+        when(movieRepository.findSearchDocumentsAfter(eq(0L), any()))
+                .thenReturn(List.of(row(1L, "Inception", Genre.SCIFI), row(2L, "Heat")));
+        when(movieRepository.findSearchDocumentsAfter(eq(2L), any())).thenReturn(List.of(row(3L, "Collateral")));
+
+        assertThat(searchIndex.isReady()).isFalse();
+        searchIndex.rebuild();
+
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.findByTitleContaining("e")).extracting(MovieSearchDocument::id).containsExactly(1L, 2L, 3L);
+        assertThat(searchIndex.search("inception", Set.of(Genre.SCIFI), 0, 10).total()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_isSkippedWhenDisabled() {
+        searchIndex = new MovieSearchIndex(movieRepository, false, 2);
+
+        searchIndex.rebuild();
+
+        assertThat(searchIndex.isReady()).isFalse();
+        verify(movieRepository, never()).findSearchDocumentsAfter(any(), any());
+    }
+
+    @Test
+    void index_appliesOnlyAfterTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        searchIndex.index(movie(1L, "Inception"));
+
+        assertThat(searchIndex.findByTitleContaining("inception")).isEmpty();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(searchIndex.findByTitleContaining("inception")).extracting(MovieSearchDocument::id).containsExactly(1L);
+    }
+
+    @Test
+    void remove_withoutTransactionAppliesImmediately() {
+        searchIndex.index(movie(1L, "Inception"));
+
+        searchIndex.remove(1L);
+
+        assertThat(searchIndex.findByTitleContaining("inception")).isEmpty();
+    }
+
+    @Test
+    void rebuild_keepsWritesMadeWhileItRuns() {
+        // The loader reads the old title, but the movie is renamed and committed before its batch is added
+        when(movieRepository.findSearchDocumentsAfter(eq(0L), any())).thenAnswer(invocation -> {
+            searchIndex.index(movie(1L, "Inception Director's Cut"));
+            return List.of(row(1L, "Inception"));
+        });
+
+        searchIndex.rebuild();
+
+        assertThat(searchIndex.findByTitleContaining("inception")).extracting(MovieSearchDocument::title)
+                .containsExactly("Inception Director's Cut");
+    }
+
+    @Test
+    void record_appliesTheRatingToTheRatingFilterAfterTheTransactionCommits() {
+        when(movieRepository.findSearchDocumentsAfter(eq(0L), any())).thenReturn(List.of(
+                new MovieSearchDocument(1L, "Inception", "description", null, null, Set.of(), new Date(1L), 4.0, 2L,
+                        null)));
+        searchIndex.rebuild();
+        MovieBrowseFilter atLeastFour = new MovieBrowseFilter(Set.of(), false, null, null, 4.0);
+        TransactionSynchronizationManager.initSynchronization();
+
+        searchIndex.record(1L, 1);
+
+        assertThat(searchIndex.browse(atLeastFour, 0, 10)).hasSize(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(searchIndex.browse(atLeastFour, 0, 10)).isEmpty();
+        assertThat(searchIndex.suggest("inception", 10)).extracting(MovieSearchDocument::averageRating)
+                .containsExactly(3.0);
+    }
+
+    private static MovieSearchDocument row(Long id, String title, Genre... genres) {
+        return new MovieSearchDocument(id, title, "description", null, null, Set.of(genres), new Date(id), null, 0L,
+                null);
+    }
+
+    private static Movie movie(Long id, String title) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setDescription("description");
+        movie.setGenres(Set.of(Genre.DRAMA));
+        return movie;
+    }
+}
@@ -0,0 +1,78 @@
+package com.film_backend.film.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TitleTrieTest {
+
+    private TitleTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TitleTrie(3);
+        trie.add(document(1L, "The Dark Knight", 4.8, 900L));
+        trie.add(document(2L, "Dark City", 4.0, 120L));
+        trie.add(document(3L, "Darkest Hour", 3.9, 60L));
+        trie.add(document(4L, "Darkman", 3.2, 40L));
+        trie.add(document(5L, "Amélie", 4.6, 300L));
+    }
+
+    @Test
+    void suggest_matchesAnyWordStartAndRanksByPopularity() {
+        assertThat(trie.suggest("dar", 10)).extracting(MovieSearchDocument::id).containsExactly(1L, 2L, 3L);
+        assertThat(trie.suggest("knig", 10)).extracting(MovieSearchDocument::id).containsExactly(1L);
+        assertThat(trie.suggest("dark k", 10)).extracting(MovieSearchDocument::id).containsExactly(1L);
+        assertThat(trie.suggest("ark", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_honoursTheLimitAndFoldsCaseAndDiacritics() {
+        assertThat(trie.suggest("DARK", 2)).extracting(MovieSearchDocument::id).containsExactly(1L, 2L);
+        assertThat(trie.suggest("ame", 10)).extracting(MovieSearchDocument::id).containsExactly(5L);
+        assertThat(trie.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_listsAMovieOnceWhenSeveralWordsMatch() {
+        trie.add(document(6L, "Dark Dark Darker", 5.0, 1000L));
+
+        assertThat(trie.suggest("dark", 10)).extracting(MovieSearchDocument::id).containsExactly(6L, 1L, 2L);
+    }
+
+    @Test
+    void add_reindexingAMovieReplacesItsTitleAndScore() {
+        trie.remove(document(4L, "Darkman", 3.2, 40L));
+        trie.add(document(4L, "Darkman", 5.0, 2000L));
+        trie.remove(document(2L, "Dark City", 4.0, 120L));
+        trie.add(document(2L, "Metropolis", 4.0, 120L));
+
+        assertThat(trie.suggest("dark", 10)).extracting(MovieSearchDocument::id).containsExactly(4L, 1L, 3L);
+        assertThat(trie.suggest("city", 10)).isEmpty();
+        assertThat(trie.suggest("metro", 10)).extracting(MovieSearchDocument::id).containsExactly(2L);
+    }
+
+    @Test
+    void remove_promotesTheNextBestFromTheSubtree() {
+        trie.remove(document(1L, "The Dark Knight", 4.8, 900L));
+        trie.remove(document(3L, "Darkest Hour", 3.9, 60L));
+
+        assertThat(trie.suggest("dark", 10)).extracting(MovieSearchDocument::id).containsExactly(2L, 4L);
+        assertThat(trie.suggest("knight", 10)).isEmpty();
+        assertThat(trie.suggest("darke", 10)).isEmpty();
+    }
+
+    @Test
+    void normalize_collapsesPunctuationAndStripsMarks() {
+        assertThat(TitleTrie.normalize("  Léon: The   Professional! ")).isEqualTo("leon the professional");
+    }
+
+    private static MovieSearchDocument document(Long id, String title, Double averageRating, Long ratingCount) {
+        return new MovieSearchDocument(id, title, null, null, null, Set.of(), new Date(id), averageRating, ratingCount,
+                null);
+    }
+}
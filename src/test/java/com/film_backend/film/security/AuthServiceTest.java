@@ -4,9 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -16,6 +17,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.film_backend.film.dtos.request.LoginRequestDto;
@@ -24,12 +27,16 @@ import com.film_backend.film.dtos.response.AuthResponseDto;
 import com.film_backend.film.dtos.response.UserResponseDto;
 import com.film_backend.film.entity.TokenBlacklist;
 import com.film_backend.film.entity.User;
+import com.film_backend.film.exception.TooManyRequestsException;
+import com.film_backend.film.exception.UnauthorizedException;
 import com.film_backend.film.mapper.UserMapper;
 import com.film_backend.film.repository.TokenBlacklistRepository;
 import com.film_backend.film.repository.UserRepository;
 import com.film_backend.film.util.ImageUtil;
 import com.film_backend.film.util.JwtUtil;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class AuthServiceTest {
 
     @Mock
@@ -50,6 +57,18 @@ class AuthServiceTest {
     @Mock
     private TokenBlacklistRepository tokenBlacklistRepository;
 
+    @Mock
+    private TokenBlacklistCache tokenBlacklistCache;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     private AuthService authService;
 
     @BeforeEach
@@ -59,10 +78,14 @@ class AuthServiceTest {
                 userRepository,
                 passwordEncoder,
                 jwtUtil,
-                mock(AuthenticationManager.class),
+                authenticationManager,
                 userMapper,
                 imageUtil,
                 tokenBlacklistRepository,
+                tokenBlacklistCache,
+                loginRateLimiter,
+                refreshTokenService,
+                new SimpleMeterRegistry(),
                 "/default.png"
         );
     }
@@ -115,10 +138,10 @@ class AuthServiceTest {
 
         when(userRepository.findByEmail(anyString())).thenReturn(java.util.Optional.of(user));
         when(jwtUtil.generateToken(any(User.class))).thenReturn(token);
-        when(jwtUtil.generateRefreshToken(any(User.class))).thenReturn(refreshToken);
+        when(refreshTokenService.issue(user)).thenReturn(refreshToken);
         when(userMapper.toDTO(any(User.class))).thenReturn(new UserResponseDto());
 
-        AuthResponseDto response = authService.login(loginRequestDto);
+        AuthResponseDto response = authService.login(loginRequestDto, "10.0.0.1");
 
         assertNotNull(response);
         assertEquals(token, response.getToken());
@@ -133,11 +156,54 @@ class AuthServiceTest {
 
         when(userRepository.findByEmail(anyString())).thenReturn(java.util.Optional.empty());
 
-        assertThrows(IllegalArgumentException.class, () -> authService.login(loginRequestDto));
+        assertThrows(IllegalArgumentException.class, () -> authService.login(loginRequestDto, "10.0.0.1"));
     }
 
     @Test
-    void refreshToken_ShouldReturnNewTokens() {
+    void login_ShouldVerifyCredentialsAndRefillTheAccountBucket() {
+        LoginRequestDto loginRequestDto = new LoginRequestDto();
+        loginRequestDto.setEmail("test@example.com");
+        loginRequestDto.setPassword("password");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(java.util.Optional.of(new User()));
+
+        authService.login(loginRequestDto, "10.0.0.1");
+
+        verify(loginRateLimiter).acquire("test@example.com", "10.0.0.1");
+        verify(authenticationManager).authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("test@example.com", "password"));
+        verify(loginRateLimiter).onSuccess("test@example.com");
+    }
+
+    @Test
+    void login_ShouldThrowUnauthorized_WhenPasswordIsWrong() {
+        LoginRequestDto loginRequestDto = new LoginRequestDto();
+        loginRequestDto.setEmail("test@example.com");
+        loginRequestDto.setPassword("wrong");
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> authService.login(loginRequestDto, "10.0.0.1"));
+
+        assertEquals("Invalid email or password.", exception.getMessage());
+        verify(loginRateLimiter, never()).onSuccess(anyString());
+        verify(jwtUtil, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    void login_ShouldNotHashPasswords_WhenThrottled() {
+        LoginRequestDto loginRequestDto = new LoginRequestDto();
+        loginRequestDto.setEmail("test@example.com");
+        loginRequestDto.setPassword("password");
+        doThrow(new TooManyRequestsException("Too many login attempts", 12))
+                .when(loginRateLimiter).acquire("test@example.com", "10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> authService.login(loginRequestDto, "10.0.0.1"));
+
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    void refreshToken_ShouldRotateTheRefreshToken() {
         String refreshToken = "refreshToken";
         String newToken = "newToken";
         String newRefreshToken = "newRefreshToken";
@@ -148,10 +214,8 @@ class AuthServiceTest {
 
         when(jwtUtil.extractEmail(anyString())).thenReturn("test@example.com");
         when(jwtUtil.isTokenValid(anyString(), anyString())).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(anyString())).thenReturn(1L);
-        when(userRepository.findById(anyLong())).thenReturn(java.util.Optional.of(user));
+        when(refreshTokenService.rotate(refreshToken)).thenReturn(new RefreshTokenService.Rotation(user, newRefreshToken));
         when(jwtUtil.generateToken(any(User.class))).thenReturn(newToken);
-        when(jwtUtil.generateRefreshToken(any(User.class))).thenReturn(newRefreshToken);
         when(userMapper.toDTO(any(User.class))).thenReturn(new UserResponseDto());
 
         AuthResponseDto response = authService.refreshToken(refreshToken);
@@ -161,6 +225,16 @@ class AuthServiceTest {
         assertEquals(newRefreshToken, response.getRefreshToken());
     }
 
+    @Test
+    void refreshToken_ShouldNotRotate_WhenTheJwtIsInvalid() {
+        when(jwtUtil.extractEmail(anyString())).thenReturn("test@example.com");
+        when(jwtUtil.isTokenValid(anyString(), anyString())).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> authService.refreshToken("refreshToken"));
+
+        verify(refreshTokenService, never()).rotate(anyString());
+    }
+
     @Test
     void logout_ShouldBlacklistToken() {
         String token = "token";
@@ -172,5 +246,21 @@ class AuthServiceTest {
         authService.logout(token);
 
         verify(tokenBlacklistRepository, times(1)).save(any(TokenBlacklist.class));
+        verify(tokenBlacklistCache, times(1)).add(eq(token), any());
+    }
+
+    @Test
+    void logout_ShouldRevokeTheRefreshTokensOfTheUser() {
+        User user = new User();
+        user.setEmail("test@example.com");
+
+        when(jwtUtil.extractEmail(anyString())).thenReturn("test@example.com");
+        when(jwtUtil.isTokenValid(anyString(), anyString())).thenReturn(true);
+        when(jwtUtil.getExpirationDateFromToken(anyString())).thenReturn(java.time.LocalDateTime.now().plusHours(1));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(java.util.Optional.of(user));
+
+        authService.logout("token");
+
+        verify(refreshTokenService).revokeAll(user);
     }
 }
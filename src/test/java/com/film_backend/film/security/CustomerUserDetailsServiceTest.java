@@ -2,6 +2,8 @@ package com.film_backend.film.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
@@ -9,7 +11,6 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,19 +20,25 @@ import com.film_backend.film.entity.User;
 import com.film_backend.film.enums.Role;
 import com.film_backend.film.repository.UserRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class CustomerUserDetailsServiceTest {
 
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private CustomUserDetailsService userDetailsService;
 
     private User user;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsService = new CustomUserDetailsService(userRepository, meterRegistry, 100, 300);
+
         // Test için örnek kullanıcı oluştur
         user = new User();
         user.setId(1L);
@@ -67,4 +74,52 @@ class CustomerUserDetailsServiceTest {
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessage("User not found with email: nonexistent@example.com");
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsername_shouldServeRepeatedLookupsFromCache() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("test@example.com");
+        UserDetails second = userDetailsService.loadUserByUsername("test@example.com");
+
+        assertThat(second.getPassword()).isEqualTo("encodedPassword");
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void loadUserByUsername_shouldReturnCopiesOfCachedEntry() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails first = userDetailsService.loadUserByUsername("test@example.com");
+        ((org.springframework.security.core.userdetails.User) first).eraseCredentials();
+
+        assertThat(userDetailsService.loadUserByUsername("test@example.com").getPassword())
+                .isEqualTo("encodedPassword");
+    }
+
+    @Test
+    void onUserDetailsChanged_shouldEvictCachedUser() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        userDetailsService.loadUserByUsername("test@example.com");
+
+        userDetailsService.onUserDetailsChanged(UserDetailsChangedEvent.of("test@example.com"));
+        userDetailsService.loadUserByUsername("test@example.com");
+
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void updatePassword_shouldStoreTheNewHashAndEvictCachedUser() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        UserDetails loaded = userDetailsService.loadUserByUsername("test@example.com");
+
+        UserDetails updated = userDetailsService.updatePassword(loaded, "rehashedPassword");
+        userDetailsService.loadUserByUsername("test@example.com");
+
+        assertThat(updated.getPassword()).isEqualTo("rehashedPassword");
+        verify(userRepository).updatePasswordByEmail("test@example.com", "rehashedPassword");
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+}
@@ -3,8 +3,10 @@ package com.film_backend.film.security;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -12,7 +14,6 @@ import java.util.Collections;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -21,9 +22,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import com.film_backend.film.repository.TokenBlacklistRepository;
 import com.film_backend.film.util.JwtUtil;
+import com.film_backend.film.util.VerifiedToken;
 
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 
@@ -36,9 +38,11 @@ class JwtAuthenticationFilterTest {
     private CustomUserDetailsService userDetailsService;
 
     @Mock
-    private TokenBlacklistRepository tokenBlacklistRepository;
+    private TokenBlacklistCache tokenBlacklistCache;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
 
-    @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Mock
@@ -50,11 +54,35 @@ class JwtAuthenticationFilterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtUtil, userDetailsService, tokenBlacklistCache, tokenVersionCache, false);
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
         SecurityContextHolder.clearContext();
     }
 
+    @Test
+    void testPublicMovieDetailSkipsJwtCheck() throws ServletException, IOException {
+        request.setRequestURI("/api/movies/42");
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(200, response.getStatus());
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(jwtUtil, tokenBlacklistCache);
+    }
+
+    @Test
+    void testPublicRouteUnderContextPath() throws ServletException, IOException {
+        request.setContextPath("/film");
+        request.setRequestURI("/film/api/auth/register/user");
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(jwtUtil, tokenBlacklistCache);
+    }
+
     @Test
     void testMissingAuthorizationHeader() throws ServletException, IOException {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -76,7 +104,7 @@ class JwtAuthenticationFilterTest {
         String token = "blacklistedToken";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(tokenBlacklistRepository.existsByToken(token)).thenReturn(true);
+        when(tokenBlacklistCache.isBlacklisted(token)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         assertEquals(401, response.getStatus());
@@ -88,8 +116,8 @@ class JwtAuthenticationFilterTest {
         String token = "expiredToken";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(tokenBlacklistRepository.existsByToken(token)).thenReturn(false);
-        when(jwtUtil.extractEmail(token)).thenThrow(new io.jsonwebtoken.ExpiredJwtException(null, null, "Expired"));
+        when(tokenBlacklistCache.isBlacklisted(token)).thenReturn(false);
+        when(jwtUtil.parse(token)).thenThrow(new io.jsonwebtoken.ExpiredJwtException(null, null, "Expired"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         assertEquals(401, response.getStatus());
@@ -101,8 +129,8 @@ class JwtAuthenticationFilterTest {
         String token = "malformedToken";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(tokenBlacklistRepository.existsByToken(token)).thenReturn(false);
-        when(jwtUtil.extractEmail(token)).thenThrow(new io.jsonwebtoken.MalformedJwtException("Malformed"));
+        when(tokenBlacklistCache.isBlacklisted(token)).thenReturn(false);
+        when(jwtUtil.parse(token)).thenThrow(new io.jsonwebtoken.MalformedJwtException("Malformed"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         assertEquals(401, response.getStatus());
@@ -114,8 +142,8 @@ class JwtAuthenticationFilterTest {
         String token = "invalidToken";
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(tokenBlacklistRepository.existsByToken(token)).thenReturn(false);
-        when(jwtUtil.extractEmail(token)).thenThrow(new RuntimeException("Invalid"));
+        when(tokenBlacklistCache.isBlacklisted(token)).thenReturn(false);
+        when(jwtUtil.parse(token)).thenThrow(new RuntimeException("Invalid"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
         assertEquals(401, response.getStatus());
@@ -129,9 +157,10 @@ class JwtAuthenticationFilterTest {
 
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(tokenBlacklistRepository.existsByToken(token)).thenReturn(false);
-        when(jwtUtil.extractEmail(token)).thenReturn(email);
-        when(jwtUtil.isTokenValid(token, email)).thenReturn(true);
+        when(tokenBlacklistCache.isBlacklisted(token)).thenReturn(false);
+        VerifiedToken verifiedToken = statelessToken(token, 0L);
+        when(jwtUtil.parse(token)).thenReturn(verifiedToken);
+        when(tokenVersionCache.isCurrent(7L, 0L)).thenReturn(true);
 
         UserDetails userDetails = new org.springframework.security.core.userdetails.User(
                 email, "", Collections.emptyList());
@@ -144,6 +173,84 @@ class JwtAuthenticationFilterTest {
         assertEquals(200, response.getStatus()); // default for MockHttpServletResponse
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertTrue(SecurityContextHolder.getContext().getAuthentication() instanceof UsernamePasswordAuthenticationToken);
+        assertSame(verifiedToken, request.getAttribute(JwtUtil.VERIFIED_TOKEN_ATTRIBUTE));
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void testStatelessModeBuildsPrincipalFromClaims() throws Exception {
+        String token = "validToken";
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtUtil, userDetailsService, tokenBlacklistCache, tokenVersionCache, true);
+
+        when(jwtUtil.parse(token)).thenReturn(statelessToken(token, 2L));
+        when(tokenVersionCache.isCurrent(7L, 2L)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("user@example.com", SecurityContextHolder.getContext().getAuthentication().getName());
+        assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("USER")));
+        verifyNoInteractions(userDetailsService);
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    void testStatelessModeRejectsOutdatedTokenVersion() throws Exception {
+        String token = "oldToken";
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(
+                jwtUtil, userDetailsService, tokenBlacklistCache, tokenVersionCache, true);
+
+        when(jwtUtil.parse(token)).thenReturn(statelessToken(token, 1L));
+        when(tokenVersionCache.isCurrent(7L, 1L)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Token has been revoked."));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService, filterChain);
+    }
+
+    @Test
+    void testStatefulModeRejectsOutdatedTokenVersion() throws Exception {
+        String token = "rotatedByThief";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        when(jwtUtil.parse(token)).thenReturn(statelessToken(token, 1L));
+        when(tokenVersionCache.isCurrent(7L, 1L)).thenReturn(false);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Token has been revoked."));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService, filterChain);
+    }
+
+    @Test
+    void testTokenWithoutUserIdIsInvalid() throws Exception {
+        String token = "legacyToken";
+        request.addHeader("Authorization", "Bearer " + token);
+
+        when(jwtUtil.parse(token)).thenReturn(new VerifiedToken(token, Jwts.claims().subject("user@example.com").build()));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Invalid token."));
+        verifyNoInteractions(userDetailsService, filterChain);
+    }
+
+    private static VerifiedToken statelessToken(String token, long version) {
+        return new VerifiedToken(token, Jwts.claims()
+                .subject("user@example.com")
+                .add("id", 7L)
+                .add("role", "USER")
+                .add(JwtUtil.TOKEN_VERSION_CLAIM, version)
+                .build());
+    }
 }
@@ -0,0 +1,98 @@
+package com.film_backend.film.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.film_backend.film.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Accounts: 3 attempts, then one every 20 s; IPs: 5 attempts, then one every 10 s
+        limiter = new LoginRateLimiter(meterRegistry, true, 3, 3, 5, 6, 1000);
+    }
+
+    @Test
+    void acquire_throttlesAnAccountOnceItsBurstIsSpent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("user@example.com", "10.0.0." + i, 0);
+        }
+
+        assertThatThrownBy(() -> limiter.acquire("User@Example.com ", "10.0.0.9", SECOND))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(19));
+        assertThat(meterRegistry.get("security.login.throttled").tag("scope", "account").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_refillsTokensOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("user@example.com", "10.0.0." + i, 0);
+        }
+
+        assertThatCode(() -> limiter.acquire("user@example.com", "10.0.0.9", 20 * SECOND)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limiter.acquire("user@example.com", "10.0.0.9", 21 * SECOND))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void acquire_throttlesAnAddressTryingManyAccounts() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user" + i + "@example.com", "10.0.0.1", 0);
+        }
+
+        assertThatThrownBy(() -> limiter.acquire("user9@example.com", "10.0.0.1", 0))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(10));
+        assertThat(meterRegistry.get("security.login.throttled").tag("scope", "ip").counter().count()).isEqualTo(1);
+        assertThatCode(() -> limiter.acquire("user9@example.com", "10.0.0.2", 0)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void onSuccess_refillsTheAccountBucket() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("user@example.com", "10.0.0." + i, 0);
+        }
+
+        limiter.onSuccess("user@example.com");
+
+        assertThatCode(() -> limiter.acquire("user@example.com", "10.0.0.9", 0)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void acquire_forgetsLeastRecentlyUsedKeysBeyondTheBound() {
+        limiter = new LoginRateLimiter(meterRegistry, true, 1, 1, 100, 1, LoginRateLimiter.STRIPES);
+        limiter.acquire("victim@example.com", null, 0);
+
+        // One key per stripe: every other key pushes the victim's bucket out of its stripe eventually
+        for (int i = 0; i < 10_000; i++) {
+            limiter.acquire("user" + i + "@example.com", null, 0);
+        }
+
+        assertThatCode(() -> limiter.acquire("victim@example.com", null, 0)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void acquire_allowsEverythingWhenDisabled() {
+        limiter = new LoginRateLimiter(meterRegistry, false, 1, 1, 1, 1, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("user@example.com", "10.0.0.1", 0);
+        }
+    }
+}
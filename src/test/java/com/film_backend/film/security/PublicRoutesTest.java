@@ -0,0 +1,32 @@
+package com.film_backend.film.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PublicRoutesTest {
+
+    @Test
+    void matches_shouldAcceptPublicRoutes() {
+        assertThat(PublicRoutes.matches("/api/auth/login")).isTrue();
+        assertThat(PublicRoutes.matches("/api/auth/register/admin")).isTrue();
+        assertThat(PublicRoutes.matches("/api/movies/feed")).isTrue();
+        assertThat(PublicRoutes.matches("/api/movies/search")).isTrue();
+        assertThat(PublicRoutes.matches("/api/movies/suggest")).isTrue();
+        assertThat(PublicRoutes.matches("/api/movies/browse")).isTrue();
+        assertThat(PublicRoutes.matches("/api/movies/42")).isTrue();
+        assertThat(PublicRoutes.matches("/api/movies/42/comments")).isTrue();
+        assertThat(PublicRoutes.matches("/api/leaderboards/trending")).isTrue();
+    }
+
+    @Test
+    void matches_shouldRejectProtectedRoutes() {
+        assertThat(PublicRoutes.matches("/api/auth/logout")).isFalse();
+        assertThat(PublicRoutes.matches("/api/movies/42/comments/7")).isFalse();
+        assertThat(PublicRoutes.matches("/api/admin/movies/42")).isFalse();
+        assertThat(PublicRoutes.matches("/api/users/profile")).isFalse();
+        assertThat(PublicRoutes.matches("/api/movies/")).isFalse();
+        assertThat(PublicRoutes.matches("/api/movies/export")).isFalse();
+        assertThat(PublicRoutes.matches("/api/movies/export/comments")).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.film_backend.film.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.film_backend.film.entity.RefreshToken;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Role;
+import com.film_backend.film.repository.RefreshTokenRepository;
+import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.util.JwtUtil;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final TokenVersionCache tokenVersionCache = mock(TokenVersionCache.class);
+    private final AtomicInteger issued = new AtomicInteger();
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("rotation")
+                .email("rotation@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build());
+        when(jwtUtil.generateRefreshToken(user)).thenAnswer(invocation -> "refresh-" + issued.incrementAndGet());
+        when(jwtUtil.getRefreshExpiration()).thenReturn(3600L);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, jwtUtil, tokenVersionCache);
+    }
+
+    @Test
+    void issue_storesOnlyTheDigestOfTheToken() {
+        String token = refreshTokenService.issue(user);
+
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token)).orElseThrow();
+        assertThat(stored.getTokenHash()).hasSize(32).isNotEqualTo(token.getBytes());
+        assertThat(stored.getUser().getId()).isEqualTo(user.getId());
+        assertThat(stored.getUsedAt()).isNull();
+    }
+
+    @Test
+    void rotate_consumesTheTokenAndIssuesASuccessorInTheSameFamily() {
+        String token = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(token);
+        entityManager.clear();
+
+        assertThat(rotation.user().getId()).isEqualTo(user.getId());
+        RefreshToken used = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token)).orElseThrow();
+        RefreshToken successor = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(rotation.refreshToken()))
+                .orElseThrow();
+        assertThat(used.getUsedAt()).isNotNull();
+        assertThat(successor.getUsedAt()).isNull();
+        assertThat(successor.getFamilyId()).isEqualTo(used.getFamilyId());
+    }
+
+    @Test
+    void rotate_revokesTheFamilyWhenAUsedTokenIsPresentedAgain() {
+        String stolen = refreshTokenService.issue(user);
+        String successor = refreshTokenService.rotate(stolen).refreshToken();
+        String otherSession = refreshTokenService.issue(user);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(stolen))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Refresh token was already used. Please log in again.");
+        entityManager.clear();
+
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(stolen))).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(successor))).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(otherSession))).isPresent();
+        verify(tokenVersionCache).revokeAll(user.getId());
+    }
+
+    @Test
+    void rotate_rejectsUnknownTokens() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("never-issued"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Refresh token is invalid or expired.");
+        verify(tokenVersionCache, never()).revokeAll(user.getId());
+    }
+
+    @Test
+    void rotate_rejectsExpiredTokens() {
+        String token = refreshTokenService.issue(user);
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token)).orElseThrow();
+        stored.setExpiresAt(LocalDateTime.now().minusYears(1));
+        refreshTokenRepository.saveAndFlush(stored);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Refresh token is invalid or expired.");
+    }
+
+    @Test
+    void revokeAll_deletesEveryFamilyOfTheUser() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.issue(user);
+
+        refreshTokenService.revokeAll(user);
+        entityManager.clear();
+
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(first))).isEmpty();
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(second))).isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package com.film_backend.film.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.film_backend.film.entity.TokenBlacklist;
+import com.film_backend.film.repository.TokenBlacklistRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBlacklistCacheTest {
+
+    @Mock
+    private TokenBlacklistRepository tokenBlacklistRepository;
+
+    private TokenBlacklistCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenBlacklistCache(tokenBlacklistRepository, 1000, 0.001, 100);
+    }
+
+    @Test
+    void isBlacklisted_shouldUseDatabaseBeforeWarmUp() {
+        when(tokenBlacklistRepository.existsByToken("token")).thenReturn(true);
+
+        assertThat(cache.isBlacklisted("token")).isTrue();
+    }
+
+    @Test
+    void isBlacklisted_shouldAnswerUnknownTokensWithoutDatabase() {
+        when(tokenBlacklistRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        cache.warmUp();
+
+        assertThat(cache.isBlacklisted("fresh-token")).isFalse();
+        verify(tokenBlacklistRepository, never()).existsByToken(anyString());
+    }
+
+    @Test
+    void warmUp_shouldLoadActiveTokens() {
+        when(tokenBlacklistRepository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(entry("revoked", LocalDateTime.now().plusHours(1))));
+
+        cache.warmUp();
+
+        assertThat(cache.isBlacklisted("revoked")).isTrue();
+        verify(tokenBlacklistRepository, never()).existsByToken(anyString());
+    }
+
+    @Test
+    void add_shouldTakeEffectImmediately() {
+        when(tokenBlacklistRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        cache.warmUp();
+
+        cache.add("logged-out", LocalDateTime.now().plusMinutes(30));
+
+        assertThat(cache.isBlacklisted("logged-out")).isTrue();
+        verify(tokenBlacklistRepository, never()).existsByToken(anyString());
+    }
+
+    @Test
+    void isBlacklisted_shouldFallBackToDatabaseWhenExactEntryIsMissing() {
+        cache = new TokenBlacklistCache(tokenBlacklistRepository, 1000, 0.001, 1);
+        when(tokenBlacklistRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        cache.warmUp();
+        cache.add("first", LocalDateTime.now().plusMinutes(30));
+        cache.add("second", LocalDateTime.now().plusMinutes(30));
+        when(tokenBlacklistRepository.existsByToken("second")).thenReturn(true);
+
+        assertThat(cache.isBlacklisted("second")).isTrue();
+        verify(tokenBlacklistRepository).existsByToken("second");
+    }
+
+    @Test
+    void refresh_shouldPickUpTokensRevokedElsewhere() {
+        when(tokenBlacklistRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        cache.warmUp();
+        when(tokenBlacklistRepository.findByBlacklistedAtAfter(any()))
+                .thenReturn(List.of(entry("other-node", LocalDateTime.now().plusHours(1))));
+
+        cache.refresh();
+
+        assertThat(cache.isBlacklisted("other-node")).isTrue();
+    }
+
+    private static TokenBlacklist entry(String token, LocalDateTime expiresAt) {
+        TokenBlacklist entry = new TokenBlacklist();
+        entry.setToken(token);
+        entry.setBlacklistedAt(LocalDateTime.now());
+        entry.setExpiresAt(expiresAt);
+        return entry;
+    }
+}
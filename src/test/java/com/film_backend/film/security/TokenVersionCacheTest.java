@@ -0,0 +1,78 @@
+package com.film_backend.film.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.film_backend.film.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenVersionCache(userRepository, 100, 60);
+    }
+
+    @Test
+    void isCurrent_shouldServeRepeatedChecksFromCache() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+
+        assertThat(cache.isCurrent(1L, 0L)).isTrue();
+        assertThat(cache.isCurrent(1L, 0L)).isTrue();
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void revokeAll_shouldRejectTokensIssuedBefore() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L), Optional.of(1L));
+        assertThat(cache.isCurrent(1L, 0L)).isTrue();
+
+        cache.revokeAll(1L);
+
+        verify(userRepository).incrementTokenVersion(1L);
+        assertThat(cache.isCurrent(1L, 0L)).isFalse();
+        assertThat(cache.isCurrent(1L, 1L)).isTrue();
+    }
+
+    @Test
+    void revokeAll_shouldDropAVersionReloadedBeforeTheCommit() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L), Optional.of(1L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.revokeAll(1L);
+            // A concurrent request reloads the version the uncommitted bump has not replaced yet
+            assertThat(cache.isCurrent(1L, 0L)).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.isCurrent(1L, 0L)).isFalse();
+    }
+
+    @Test
+    void isCurrent_shouldRejectTokensOfDeletedUsers() {
+        when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.empty());
+
+        assertThat(cache.isCurrent(2L, 0L)).isFalse();
+    }
+}
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -33,6 +34,8 @@ import com.film_backend.film.exception.ResourceNotFoundException;
 import com.film_backend.film.mapper.UserMapper;
 import com.film_backend.film.repository.RefreshTokenRepository;
 import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.security.TokenVersionCache;
+import com.film_backend.film.security.UserDetailsChangedEvent;
 import com.film_backend.film.util.ImageUtil;
 import com.film_backend.film.util.JwtUtil;
 
@@ -60,6 +63,12 @@ class AdminServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminService adminService;
 
@@ -117,7 +126,7 @@ class AdminServiceTest {
         assertEquals(userResponseDto, result);
         verify(userRepository).save(user);
         verify(jwtUtil).blacklistToken(token);
-        verify(refreshTokenRepository).findByUser(user);
+        verify(refreshTokenRepository).deleteByUser(user);
     }
 
     /**
@@ -251,7 +260,6 @@ class AdminServiceTest {
         when(jwtUtil.extractId(token)).thenReturn(1L);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.countByRole("ADMIN")).thenReturn(2L);
-        when(refreshTokenRepository.findByUser(user)).thenReturn(List.of());
 
         // Act
         adminService.deleteAdmin(token);
@@ -259,7 +267,8 @@ class AdminServiceTest {
         // Assert
         verify(userRepository).delete(user);
         verify(jwtUtil).blacklistToken(token);
-        verify(refreshTokenRepository).findByUser(user);
+        verify(refreshTokenRepository).deleteByUser(user);
+        verify(eventPublisher).publishEvent(UserDetailsChangedEvent.of(email));
     }
 
     /**
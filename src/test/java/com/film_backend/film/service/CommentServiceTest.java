@@ -2,9 +2,11 @@ package com.film_backend.film.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,16 +16,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import com.film_backend.film.dtos.request.CommentRequestDto;
 import com.film_backend.film.dtos.response.CommentResponseDto;
+import com.film_backend.film.dtos.response.CursorPageResponseDto;
 import com.film_backend.film.entity.Comment;
 import com.film_backend.film.entity.Movie;
 import com.film_backend.film.entity.User;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
 import com.film_backend.film.mapper.CommentMapper;
 import com.film_backend.film.repository.CommentRepository;
 import com.film_backend.film.repository.MovieRepository;
 import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.search.MovieSearchIndex;
+import com.film_backend.film.util.CursorUtils;
 import com.film_backend.film.util.JwtUtil;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +51,15 @@ class CommentServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private RatingAggregator ratingAggregator;
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @Mock
+    private MovieSearchIndex searchIndex;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -88,8 +104,6 @@ class CommentServiceTest {
         when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
         when(commentMapper.toEntity(commentRequestDto, user, movie)).thenReturn(comment);
         when(commentRepository.save(comment)).thenReturn(comment);
-        when(commentRepository.findByMovieId(1L)).thenReturn(List.of(comment));
-        when(movieRepository.save(movie)).thenReturn(movie);
         when(commentMapper.toDTO(comment)).thenReturn(commentResponseDto);
 
         
@@ -98,10 +112,31 @@ class CommentServiceTest {
         
         assertThat(result).isEqualTo(commentResponseDto);
         verify(commentRepository).save(comment);
-        verify(movieRepository).save(movie);
+        verify(movieRepository).applyRating(1L, 5);
+        verify(leaderboardIndex).record(1L, 5);
+        verify(searchIndex).record(1L, 5);
+        verify(commentRepository, never()).findByMovieId(1L);
+        verify(movieRepository, never()).save(movie);
         verify(commentMapper).toDTO(comment);
     }
 
+    @Test
+    void createComment_writeBehindRecordsRatingInsteadOfUpdatingMovie() {
+        String token = "validToken";
+        when(jwtUtil.extractEmail(token)).thenReturn("user@example.com");
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(commentMapper.toEntity(commentRequestDto, user, movie)).thenReturn(comment);
+        when(commentRepository.save(comment)).thenReturn(comment);
+        when(commentMapper.toDTO(comment)).thenReturn(commentResponseDto);
+        when(ratingAggregator.isEnabled()).thenReturn(true);
+
+        commentService.createComment(commentRequestDto, token);
+
+        verify(ratingAggregator).record(1L, 5);
+        verify(movieRepository, never()).applyRating(1L, 5);
+    }
+
     @Test
     void createComment_kullanıcıBulunamazsaHataFırlatır() {
        
@@ -128,4 +163,33 @@ class CommentServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Movie not found");
     }
+
+    @Test
+    void listMovieComments_firstPageReturnsCursorOfLastComment() {
+        Date createdAt = new Date(1_700_000_000_000L);
+        commentResponseDto.setCreatedAt(createdAt);
+        CommentResponseDto older = new CommentResponseDto();
+        older.setId(2L);
+        older.setCreatedAt(new Date(1_600_000_000_000L));
+        when(commentRepository.findFeedFirstPage(1L, PageRequest.of(0, 2))).thenReturn(List.of(commentResponseDto, older));
+
+        CursorPageResponseDto<CommentResponseDto> result = commentService.listMovieComments(1L, null, 1);
+
+        assertThat(result.getContent()).containsExactly(commentResponseDto);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(CursorUtils.encode(createdAt.getTime(), 1L));
+    }
+
+    @Test
+    void listMovieComments_nextPageSeeksPastCursor() {
+        String cursor = CursorUtils.encode(1_700_000_000_000L, 5L);
+        when(commentRepository.findFeedPageAfter(1L, new Date(1_700_000_000_000L), 5L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(commentResponseDto));
+
+        CursorPageResponseDto<CommentResponseDto> result = commentService.listMovieComments(1L, cursor, null);
+
+        assertThat(result.getContent()).containsExactly(commentResponseDto);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.film_backend.film.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.film_backend.film.dtos.response.LeaderboardEntryDto;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.leaderboard.Leaderboard;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    @Test
+    void getLeaderboard_readsTheBoardOfThePath() {
+        when(leaderboardIndex.size()).thenReturn(100);
+        List<LeaderboardEntryDto> entries = List.of(LeaderboardEntryDto.builder().id(1L).build());
+        when(leaderboardIndex.top(Leaderboard.TRENDING, Genre.DRAMA, 5)).thenReturn(entries);
+
+        assertThat(leaderboardService.getLeaderboard("trending", Genre.DRAMA, 5)).isEqualTo(entries);
+    }
+
+    @Test
+    void getLeaderboard_defaultsAndClampsTheLimit() {
+        when(leaderboardIndex.size()).thenReturn(100);
+
+        leaderboardService.getLeaderboard("top-rated", null, null);
+        leaderboardService.getLeaderboard("most-reviewed", null, 1000);
+        leaderboardService.getLeaderboard("most-reviewed", null, 0);
+
+        verify(leaderboardIndex).top(Leaderboard.TOP_RATED, null, 20);
+        verify(leaderboardIndex).top(Leaderboard.MOST_REVIEWED, null, 100);
+        verify(leaderboardIndex).top(Leaderboard.MOST_REVIEWED, null, 1);
+    }
+
+    @Test
+    void getLeaderboard_rejectsAnUnknownBoard() {
+        assertThatThrownBy(() -> leaderboardService.getLeaderboard("worst", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown leaderboard: worst");
+    }
+}
@@ -0,0 +1,139 @@
+package com.film_backend.film.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.enums.ImportFormat;
+import com.film_backend.film.exception.ServiceUnavailableException;
+import com.film_backend.film.importer.MovieImportReader;
+import com.film_backend.film.importer.MovieImportRow;
+import com.film_backend.film.repository.MovieRepository;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+class MovieExportServiceTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MovieExportService exportService;
+    private Movie heat;
+    private Movie alien;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new MovieExportService(movieRepository, objectMapper, 2);
+        heat = movieRepository.save(movie("Heat", "A heist, with \"Neil\"\nand Vincent", Set.of(Genre.DRAMA, Genre.THRILLER)));
+        alien = movieRepository.save(movie("Alien", "In space", Set.of(Genre.HORROR)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void export_writesOneJsonObjectPerLineInIdOrder() throws Exception {
+        String ndjson = export(MovieExportService.FORMAT_NDJSON);
+
+        List<String> lines = ndjson.lines().toList();
+        assertThat(ndjson).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(heat.getId());
+        assertThat(first.get("description").asText()).isEqualTo("A heist, with \"Neil\"\nand Vincent");
+        assertThat(first.get("genres")).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(1)).get("title").asText()).isEqualTo("Alien");
+    }
+
+    @Test
+    void export_writesCsvWithQuotedFields() throws Exception {
+        String csv = export(MovieExportService.FORMAT_CSV);
+
+        assertThat(csv).isEqualTo("id,title,description,genres,posterUrl,videoUrl,duration,releaseYear,"
+                + "averageRating,ratingCount\n"
+                + heat.getId() + ",Heat,\"A heist, with \"\"Neil\"\"\nand Vincent\",DRAMA|THRILLER,/p.jpg,,120,2010,,0\n"
+                + alien.getId() + ",Alien,In space,HORROR,/p.jpg,,120,2010,,0\n");
+    }
+
+    @Test
+    void export_csvCanBeImportedAgain() throws Exception {
+        String csv = export(MovieExportService.FORMAT_CSV);
+
+        List<MovieImportRow> rows = new ArrayList<>();
+        try (MovieImportReader reader = MovieImportReader.open(ImportFormat.CSV, new StringReader(csv), objectMapper)) {
+            MovieImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+
+        assertThat(rows).extracting(MovieImportRow::error).containsOnlyNulls();
+        assertThat(rows).extracting(row -> row.movie().getTitle()).containsExactly("Heat", "Alien");
+        assertThat(rows.get(0).movie().getDescription()).isEqualTo("A heist, with \"Neil\"\nand Vincent");
+    }
+
+    @Test
+    void mediaType_followsTheFormat() {
+        assertThat(exportService.mediaType("csv").toString()).isEqualTo("text/csv;charset=UTF-8");
+        assertThat(exportService.mediaType("ndjson")).isEqualTo(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void mediaType_rejectsAnUnsupportedFormat() {
+        assertThatThrownBy(() -> exportService.mediaType("xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported export format: xml");
+    }
+
+    @Test
+    void reserveSlot_refusesExportsBeyondTheLimitUntilASlotIsReleased() {
+        Runnable first = exportService.reserveSlot();
+        exportService.reserveSlot();
+
+        assertThatThrownBy(exportService::reserveSlot)
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Too many catalog exports in progress. Please retry later.");
+
+        first.run();
+        first.run();
+        exportService.reserveSlot();
+        assertThatThrownBy(exportService::reserveSlot).isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private String export(String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Movie movie(String title, String description, Set<Genre> genres) {
+        return Movie.builder()
+                .title(title)
+                .description(description)
+                .posterUrl("/p.jpg")
+                .duration(120)
+                .releaseYear(2010)
+                .genres(genres)
+                .build();
+    }
+}
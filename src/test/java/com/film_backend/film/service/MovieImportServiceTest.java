@@ -0,0 +1,270 @@
+package com.film_backend.film.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.film_backend.film.config.CacheConfig;
+import com.film_backend.film.dtos.response.MovieImportJobDto;
+import com.film_backend.film.dtos.response.MovieImportRowErrorDto;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.entity.MovieImportJob;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.enums.ImportFormat;
+import com.film_backend.film.enums.ImportJobStatus;
+import com.film_backend.film.exception.ResourceNotFoundException;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
+import com.film_backend.film.mapper.MovieMapper;
+import com.film_backend.film.repository.MovieImportErrorRepository;
+import com.film_backend.film.repository.MovieImportJobRepository;
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.search.MovieSearchIndex;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+
+// Each batch commits in its own transaction, so the test runs outside the usual rolled-back one
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MovieImportServiceTest {
+
+    private static final String CSV_HEADER = "title,description,genres,posterUrl,videoUrl,duration,releaseYear\n";
+
+    @Autowired
+    private MovieImportJobRepository jobRepository;
+
+    @Autowired
+    private MovieImportErrorRepository errorRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.MOVIE_LISTS);
+    private final MovieSearchIndex searchIndex = mock(MovieSearchIndex.class);
+    private final LeaderboardIndex leaderboardIndex = mock(LeaderboardIndex.class);
+    private MovieImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new MovieImportService(jobRepository, errorRepository, new MovieMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), entityManager,
+                transactionManager, cacheManager, searchIndex, leaderboardIndex, 2, directory.toString(), 1000,
+                Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        errorRepository.deleteAll();
+        jobRepository.deleteAll();
+        movieRepository.deleteAll();
+    }
+
+    @Test
+    void startImport_insertsValidRowsAndReportsRejectedOnes() throws Exception {
+        cacheManager.getCache(CacheConfig.MOVIE_LISTS).put("list:null", "stale");
+        String csv = CSV_HEADER
+                + "Heat,Heist,DRAMA|THRILLER,/heat.jpg,/heat.mp4,170,1995\n"
+                + ",No title,DRAMA,/p.jpg,/v.mp4,100,2000\n"
+                + "Alien,Space,HORROR,/alien.jpg,/alien.mp4,117,1979\n"
+                + "Up,Balloons,COMEDY,/up.jpg,/up.mp4,96,1800\n"
+                + "Heat 2,Sequel,DRAMA,/heat2.jpg,/heat2.mp4,150,2026\n";
+
+        MovieImportJobDto started = importService.startImport(body(csv), "text/csv");
+        MovieImportJobDto job = awaitFinished(started.getId());
+
+        assertThat(started.getFormat()).isEqualTo(ImportFormat.CSV);
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(5);
+        assertThat(job.getImportedRows()).isEqualTo(3);
+        assertThat(job.getFailedRows()).isEqualTo(2);
+        assertThat(job.getErrors()).extracting(MovieImportRowErrorDto::getRow).containsExactly(2L, 4L);
+        assertThat(job.getErrors().get(0).getMessage()).isEqualTo("Title is required");
+        assertThat(job.getErrors().get(1).getMessage()).isEqualTo("Release year must be after 1888");
+        assertThat(movieRepository.findAll()).extracting(Movie::getTitle)
+                .containsExactlyInAnyOrder("Heat", "Alien", "Heat 2");
+        assertThat(cacheManager.getCache(CacheConfig.MOVIE_LISTS).get("list:null")).isNull();
+        verify(searchIndex, times(3)).index(any(Movie.class));
+        verify(leaderboardIndex, times(3)).update(any(Movie.class));
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void startImport_readsJsonArrays() {
+        String json = "[" + jsonMovie("Heat") + "," + jsonMovie("Alien") + "," + jsonMovie("Up") + "]";
+
+        MovieImportJobDto job = awaitFinished(importService.startImport(body(json), "application/json").getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getImportedRows()).isEqualTo(3);
+        assertThat(movieRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void startImport_singlesOutRowsTheDatabaseRejects() {
+        // Passes validation but does not fit the title column, which fails its whole batch first
+        String ndjson = jsonMovie("Heat") + "\n" + jsonMovie("x".repeat(300)) + "\n" + jsonMovie("Alien") + "\n";
+
+        MovieImportJobDto job = awaitFinished(importService.startImport(body(ndjson), "application/x-ndjson").getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getImportedRows()).isEqualTo(2);
+        assertThat(job.getErrors()).containsExactly(new MovieImportRowErrorDto(2L, "Rejected by the database"));
+        assertThat(movieRepository.findAll()).extracting(Movie::getTitle).containsExactlyInAnyOrder("Heat", "Alien");
+    }
+
+    @Test
+    void startImport_failsOnAMalformedFileAndKeepsIt() throws IOException {
+        String json = "[" + jsonMovie("Heat") + "," + jsonMovie("Alien") + ",{\"title\"";
+
+        MovieImportJobDto job = awaitFinished(importService.startImport(body(json), "application/json").getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getMessage()).isNotBlank();
+        assertThat(job.getProcessedRows()).isEqualTo(2);
+        assertThat(movieRepository.count()).isEqualTo(2);
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void resume_continuesAfterTheLastCommittedRow() throws IOException {
+        // A job that had committed its first two rows when it stopped
+        Path file = Files.writeString(directory.resolve("import.ndjson"),
+                jsonMovie("Heat") + "\n" + jsonMovie("Alien") + "\n" + jsonMovie("Up") + "\n");
+        MovieImportJob failed = jobRepository.save(MovieImportJob.builder()
+                .status(ImportJobStatus.FAILED)
+                .format(ImportFormat.NDJSON)
+                .sourcePath(file.toString())
+                .processedRows(2)
+                .importedRows(2)
+                .message("Connection reset")
+                .build());
+
+        importService.resume(failed.getId());
+        MovieImportJobDto job = awaitFinished(failed.getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getMessage()).isNull();
+        assertThat(job.getProcessedRows()).isEqualTo(3);
+        assertThat(job.getImportedRows()).isEqualTo(3);
+        assertThat(movieRepository.findAll()).extracting(Movie::getTitle).containsExactly("Up");
+    }
+
+    @Test
+    void shutdown_leavesAnInterruptedJobRunningForTheNextStart() throws InterruptedException {
+        // The first batch blocks until the shutdown interrupts it, like a JDBC call or a connection wait
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            batchStarted.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new CannotCreateTransactionException("Interrupted while waiting for a connection", e);
+            }
+            return null;
+        }).when(searchIndex).index(any(Movie.class));
+        String ndjson = jsonMovie("Heat") + "\n" + jsonMovie("Alien") + "\n" + jsonMovie("Up") + "\n";
+
+        Long jobId = importService.startImport(body(ndjson), "application/x-ndjson").getId();
+        assertThat(batchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        importService.shutdown();
+
+        MovieImportJobDto job = importService.getJob(jobId);
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.RUNNING);
+        assertThat(job.getMessage()).isNull();
+        assertThat(job.getProcessedRows()).isZero();
+        assertThat(movieRepository.count()).isZero();
+    }
+
+    @Test
+    void resume_rejectsACompletedJob() {
+        MovieImportJob completed = jobRepository.save(MovieImportJob.builder()
+                .status(ImportJobStatus.COMPLETED)
+                .format(ImportFormat.CSV)
+                .sourcePath("done.csv")
+                .build());
+
+        assertThatThrownBy(() -> importService.resume(completed.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Import job is already completed");
+    }
+
+    @Test
+    void startImport_rejectsAnUnsupportedContentType() {
+        assertThatThrownBy(() -> importService.startImport(body("<movies/>"), "application/xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported import format: application/xml");
+        assertThat(jobRepository.count()).isZero();
+    }
+
+    @Test
+    void getJob_throwsForAnUnknownJob() {
+        assertThatThrownBy(() -> importService.getJob(404L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private MovieImportJobDto awaitFinished(Long jobId) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        MovieImportJobDto job = importService.getJob(jobId);
+        while (List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING).contains(job.getStatus())
+                && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            job = importService.getJob(jobId);
+        }
+        return job;
+    }
+
+    private static String jsonMovie(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"A movie\",\"genres\":[\"" + Genre.DRAMA + "\"],"
+                + "\"posterUrl\":\"/p.jpg\",\"videoUrl\":\"/v.mp4\",\"duration\":120,\"releaseYear\":2010}";
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
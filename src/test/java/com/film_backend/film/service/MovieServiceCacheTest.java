@@ -0,0 +1,222 @@
+package com.film_backend.film.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.film_backend.film.config.CacheConfig;
+import com.film_backend.film.dtos.request.CommentRequestDto;
+import com.film_backend.film.dtos.request.MovieRequestDto;
+import com.film_backend.film.dtos.response.MovieDetailResponseDto;
+import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
+import com.film_backend.film.entity.Comment;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.entity.User;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
+import com.film_backend.film.mapper.CommentMapper;
+import com.film_backend.film.mapper.MovieMapper;
+import com.film_backend.film.repository.CommentRepository;
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.search.MovieSearchIndex;
+import com.film_backend.film.util.JwtUtil;
+
+@SpringJUnitConfig
+class MovieServiceCacheTest {
+
+    // In-memory stand-in for the Caffeine (or distributed) cache manager of the application
+    @Configuration
+    @EnableCaching
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.MOVIE_DETAILS, CacheConfig.MOVIE_LISTS);
+        }
+
+        @Bean
+        CommentService commentService(CommentRepository commentRepository, UserRepository userRepository,
+                                      MovieRepository movieRepository, CommentMapper commentMapper, JwtUtil jwtUtil,
+                                      RatingAggregator ratingAggregator, LeaderboardIndex leaderboardIndex,
+                                      MovieSearchIndex searchIndex) {
+            return new CommentService(commentRepository, userRepository, movieRepository, commentMapper, jwtUtil,
+                    ratingAggregator, leaderboardIndex, searchIndex);
+        }
+
+        @Bean
+        MovieService movieService(MovieRepository movieRepository, MovieMapper movieMapper,
+                                  CommentService commentService, MovieSearchIndex searchIndex,
+                                  LeaderboardIndex leaderboardIndex) {
+            return new MovieService(movieRepository, movieMapper, commentService, searchIndex, leaderboardIndex);
+        }
+    }
+
+    @MockitoBean
+    private MovieRepository movieRepository;
+
+    @MockitoBean
+    private MovieMapper movieMapper;
+
+    @MockitoBean
+    private MovieSearchIndex searchIndex;
+
+    @MockitoBean
+    private CommentRepository commentRepository;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private CommentMapper commentMapper;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private RatingAggregator ratingAggregator;
+
+    @MockitoBean
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        reset(movieRepository, movieMapper, commentRepository);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        for (long id = 1; id <= 2; id++) {
+            Movie movie = new Movie();
+            movie.setId(id);
+            when(movieRepository.findDetailById(id)).thenReturn(Optional.of(movie));
+            when(movieRepository.findById(id)).thenReturn(Optional.of(movie));
+            when(movieMapper.toDetailDTO(eq(movie), any())).thenReturn(MovieDetailResponseDto.builder().id(id).build());
+        }
+        when(movieRepository.findAllSimple()).thenReturn(List.of(new MovieSimpleResponseDto(1L, "Inception", null, null)));
+    }
+
+    @Test
+    void getMovieById_isServedFromCacheAfterTheFirstRead() {
+        MovieDetailResponseDto first = movieService.getMovieById(1L);
+        MovieDetailResponseDto second = movieService.getMovieById(1L);
+
+        assertThat(second).isSameAs(first);
+        verify(movieRepository, times(1)).findDetailById(1L);
+    }
+
+    @Test
+    void listSimpleMovies_isServedFromCacheAfterTheFirstRead() {
+        movieService.listSimpleMovies(null);
+        movieService.listSimpleMovies(null);
+
+        verify(movieRepository, times(1)).findAllSimple();
+    }
+
+    @Test
+    void createMovie_evictsListsButKeepsDetails() throws Exception {
+        movieService.getMovieById(1L);
+        movieService.listSimpleMovies(null);
+        Movie created = new Movie();
+        when(movieMapper.toEntity(any())).thenReturn(created);
+        when(movieRepository.save(created)).thenReturn(created);
+
+        movieService.createMovie(movieRequest());
+        movieService.getMovieById(1L);
+        movieService.listSimpleMovies(null);
+
+        verify(movieRepository, times(1)).findDetailById(1L);
+        verify(movieRepository, times(2)).findAllSimple();
+    }
+
+    @Test
+    void updateMovie_evictsOnlyThatMovieAndTheLists() throws Exception {
+        movieService.getMovieById(1L);
+        movieService.getMovieById(2L);
+        movieService.listSimpleMovies(null);
+        when(movieRepository.save(any(Movie.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        movieService.updateMovie(1L, movieRequest());
+        movieService.getMovieById(1L);
+        movieService.getMovieById(2L);
+        movieService.listSimpleMovies(null);
+
+        verify(movieRepository, times(2)).findDetailById(1L);
+        verify(movieRepository, times(1)).findDetailById(2L);
+        verify(movieRepository, times(2)).findAllSimple();
+    }
+
+    @Test
+    void deleteMovie_evictsOnlyThatMovieAndTheLists() {
+        movieService.getMovieById(1L);
+        movieService.getMovieById(2L);
+        movieService.listSimpleMovies(null);
+
+        movieService.deleteMovie(1L);
+        movieService.getMovieById(2L);
+        movieService.listSimpleMovies(null);
+
+        assertThat(cacheManager.getCache(CacheConfig.MOVIE_DETAILS).get(1L)).isNull();
+        verify(movieRepository, times(1)).findDetailById(2L);
+        verify(movieRepository, times(2)).findAllSimple();
+    }
+
+    @Test
+    void createComment_evictsTheDetailOfTheCommentedMovie() {
+        movieService.getMovieById(1L);
+        movieService.getMovieById(2L);
+        User user = new User();
+        when(jwtUtil.extractEmail("token")).thenReturn("user@example.com");
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        Comment comment = Comment.builder().rate(4).build();
+        when(commentMapper.toEntity(any(), any(), any())).thenReturn(comment);
+        when(commentRepository.save(comment)).thenReturn(comment);
+        CommentRequestDto dto = new CommentRequestDto();
+        dto.setMovieId(1L);
+        dto.setContent("Great");
+        dto.setRate(4);
+
+        commentService.createComment(dto, "token");
+        movieService.getMovieById(1L);
+        movieService.getMovieById(2L);
+
+        verify(movieRepository).applyRating(anyLong(), eq(4));
+        verify(movieRepository, times(2)).findDetailById(1L);
+        verify(movieRepository, times(1)).findDetailById(2L);
+    }
+
+    private MovieRequestDto movieRequest() {
+        return MovieRequestDto.builder()
+                .title("Inception")
+                .genres(Set.of(Genre.SCIFI))
+                .description("A mind-bending thriller")
+                .duration(148)
+                .releaseYear(2010)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.film_backend.film.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.film_backend.film.dtos.request.MovieRequestDto;
+import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
+import com.film_backend.film.entity.Movie;
+import com.film_backend.film.enums.Genre;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
+import com.film_backend.film.mapper.MovieMapper;
+import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.search.MovieSearchIndex;
+
+@SpringJUnitConfig
+@TestPropertySource(properties = "movies.write.retry.delay-ms=1")
+class MovieServiceRetryTest {
+
+    @Configuration
+    @EnableRetry
+    static class Config {
+        @Bean
+        MovieService movieService(MovieRepository movieRepository, MovieMapper movieMapper,
+                                  CommentService commentService, MovieSearchIndex searchIndex,
+                                  LeaderboardIndex leaderboardIndex) {
+            return new MovieService(movieRepository, movieMapper, commentService, searchIndex, leaderboardIndex);
+        }
+    }
+
+    @MockitoBean
+    private MovieRepository movieRepository;
+
+    @MockitoBean
+    private MovieMapper movieMapper;
+
+    @MockitoBean
+    private MovieSearchIndex searchIndex;
+
+    @MockitoBean
+    private CommentService commentService;
+
+    @MockitoBean
+    private LeaderboardIndex leaderboardIndex;
+
+    @Autowired
+    private MovieService movieService;
+
+    private MovieRequestDto dto;
+
+    @BeforeEach
+    void setUp() {
+        reset(movieRepository, movieMapper);
+        dto = MovieRequestDto.builder()
+                .title("Inception")
+                .genres(Set.of(Genre.SCIFI))
+                .description("A mind-bending thriller")
+                .posterUrl("http://poster.url")
+                .videoUrl("http://video.url")
+                .duration(148)
+                .releaseYear(2010)
+                .build();
+    }
+
+    @Test
+    void updateMovie_retriesAfterOptimisticLockConflict() throws Exception {
+        Movie movie = new Movie();
+        movie.setId(1L);
+        MovieSimpleResponseDto response = new MovieSimpleResponseDto(1L, "Inception", null, null);
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(movieRepository.save(any(Movie.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Movie.class, 1L))
+                .thenReturn(movie);
+        when(movieMapper.toSimpleDTO(movie)).thenReturn(response);
+
+        MovieSimpleResponseDto result = movieService.updateMovie(1L, dto);
+
+        assertThat(result).isEqualTo(response);
+        verify(movieRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void updateMovie_givesUpAfterMaxAttempts() {
+        Movie movie = new Movie();
+        movie.setId(1L);
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
+        when(movieRepository.save(any(Movie.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Movie.class, 1L));
+
+        assertThatThrownBy(() -> movieService.updateMovie(1L, dto))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(movieRepository, times(3)).save(any(Movie.class));
+    }
+}
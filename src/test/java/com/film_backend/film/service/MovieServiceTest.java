@@ -2,11 +2,18 @@ package com.film_backend.film.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -16,14 +23,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import com.film_backend.film.dtos.request.MovieRequestDto;
+import com.film_backend.film.dtos.response.CommentResponseDto;
+import com.film_backend.film.dtos.response.CursorPageResponseDto;
 import com.film_backend.film.dtos.response.MovieDetailResponseDto;
+import com.film_backend.film.dtos.response.MovieFeedItemDto;
+import com.film_backend.film.dtos.response.MovieSearchResponseDto;
 import com.film_backend.film.dtos.response.MovieSimpleResponseDto;
+import com.film_backend.film.dtos.response.MovieSuggestionDto;
 import com.film_backend.film.entity.Movie;
 import com.film_backend.film.enums.Genre;
+import com.film_backend.film.leaderboard.LeaderboardIndex;
 import com.film_backend.film.mapper.MovieMapper;
 import com.film_backend.film.repository.MovieRepository;
+import com.film_backend.film.search.InvertedIndex;
+import com.film_backend.film.search.MovieBrowseFilter;
+import com.film_backend.film.search.MovieSearchDocument;
+import com.film_backend.film.search.MovieSearchIndex;
+import com.film_backend.film.util.CursorUtils;
+import com.film_backend.film.util.HttpValidators;
 
 @ExtendWith(MockitoExtension.class)
 class MovieServiceTest {
@@ -34,6 +54,15 @@ class MovieServiceTest {
     @Mock
     private MovieMapper movieMapper;
 
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private MovieSearchIndex searchIndex;
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -88,6 +117,8 @@ class MovieServiceTest {
         assertThat(result).isEqualTo(movieSimpleResponseDto);
         verify(movieRepository).save(movie);
         verify(movieMapper).toSimpleDTO(movie);
+        verify(searchIndex).index(movie);
+        verify(leaderboardIndex).update(movie);
     }
 
     @Test
@@ -112,6 +143,8 @@ class MovieServiceTest {
         assertThat(result).isEqualTo(movieSimpleResponseDto);
         verify(movieRepository).save(movie);
         assertThat(movie.getTitle()).isEqualTo(movieRequestDto.getTitle());
+        verify(searchIndex).index(movie);
+        verify(leaderboardIndex).update(movie);
     }
 
     @Test
@@ -132,13 +165,14 @@ class MovieServiceTest {
 
         // Assert
         verify(movieRepository).deleteById(1L);
+        verify(searchIndex).remove(1L);
+        verify(leaderboardIndex).remove(1L);
     }
 
     @Test
     void listSimpleMovies_listAllMovies() {
         // Arrange
-        when(movieRepository.findAll()).thenReturn(List.of(movie));
-        when(movieMapper.toSimpleDTO(movie)).thenReturn(movieSimpleResponseDto);
+        when(movieRepository.findAllSimple()).thenReturn(List.of(movieSimpleResponseDto));
 
         // Act
         List<MovieSimpleResponseDto> result = movieService.listSimpleMovies(null);
@@ -151,8 +185,7 @@ class MovieServiceTest {
     @Test
     void listSimpleMovies_filterByTitle() {
         // Arrange
-        when(movieRepository.findByTitleContainingIgnoreCase("Inception")).thenReturn(List.of(movie));
-        when(movieMapper.toSimpleDTO(movie)).thenReturn(movieSimpleResponseDto);
+        when(movieRepository.findSimpleByTitleContaining("Inception")).thenReturn(List.of(movieSimpleResponseDto));
 
         // Act
         List<MovieSimpleResponseDto> result = movieService.listSimpleMovies("Inception");
@@ -162,27 +195,298 @@ class MovieServiceTest {
         assertThat(result.get(0)).isEqualTo(movieSimpleResponseDto);
     }
 
+    @Test
+    void listSimpleMovies_filterByTitleUsesSearchIndexOnceReady() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.findByTitleContaining("cept")).thenReturn(List.of(MovieSearchDocument.of(movie)));
+
+        // Act
+        List<MovieSimpleResponseDto> result = movieService.listSimpleMovies("cept");
+
+        // Assert
+        assertThat(result).extracting(MovieSimpleResponseDto::getTitle).containsExactly("Inception");
+        verify(movieRepository, never()).findSimpleByTitleContaining(any());
+    }
+
+    @Test
+    void searchMovies_returnsRankedPageWithFacets() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("dream heist", Set.of(Genre.SCIFI), 20, 20)).thenReturn(new InvertedIndex.Hits(
+                List.of(MovieSearchDocument.of(movie)), 21, Map.of(Genre.SCIFI, 21, Genre.ACTION, 4)));
+
+        // Act
+        MovieSearchResponseDto result = movieService.searchMovies("dream heist", Set.of(Genre.SCIFI), 1, null);
+
+        // Assert
+        assertThat(result.getContent()).extracting(MovieSimpleResponseDto::getId).containsExactly(1L);
+        assertThat(result.getTotalHits()).isEqualTo(21);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getGenreFacets()).containsEntry(Genre.ACTION, 4);
+    }
+
+    @Test
+    void searchMovies_fallsBackToTitleQueryUntilIndexIsReady() {
+        // Arrange
+        when(movieRepository.findSimpleByTitleContaining("Inception")).thenReturn(List.of(movieSimpleResponseDto));
+
+        // Act
+        MovieSearchResponseDto result = movieService.searchMovies(" Inception ", null, null, null);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(movieSimpleResponseDto);
+        assertThat(result.getGenreFacets()).isEmpty();
+        verify(searchIndex, never()).search(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchMovies_blankQueryThrowsError() {
+        // Act & Assert
+        assertThatThrownBy(() -> movieService.searchMovies("  ", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Search query is required");
+    }
+
+    @Test
+    void suggestTitles_servesTheTrieClampingTheLimit() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.suggest("inc", InvertedIndex.MAX_SUGGESTIONS)).thenReturn(List.of(MovieSearchDocument.of(movie)));
+
+        // Act
+        List<MovieSuggestionDto> result = movieService.suggestTitles("inc", 50);
+
+        // Assert
+        assertThat(result).extracting(MovieSuggestionDto::getTitle).containsExactly("Inception");
+        verify(movieRepository, never()).findSimpleByTitleContaining(any());
+    }
+
+    @Test
+    void suggestTitles_fallsBackToTitleQueryUntilIndexIsReady() {
+        // Arrange
+        MovieSimpleResponseDto second = new MovieSimpleResponseDto(2L, "Inception 2", null, null);
+        when(movieRepository.findSimpleByTitleContaining("Inc")).thenReturn(List.of(movieSimpleResponseDto, second));
+
+        // Act
+        List<MovieSuggestionDto> result = movieService.suggestTitles(" Inc", 1);
+
+        // Assert
+        assertThat(result).extracting(MovieSuggestionDto::getId).containsExactly(movieSimpleResponseDto.getId());
+        verify(searchIndex, never()).suggest(any(), anyInt());
+    }
+
+    @Test
+    void suggestTitles_blankPrefixReturnsNothing() {
+        assertThat(movieService.suggestTitles(" ", null)).isEmpty();
+        verify(movieRepository, never()).findSimpleByTitleContaining(any());
+    }
+
+    @Test
+    void browseMovies_readsThePageFromTheBitmapIndex() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        MovieBrowseFilter filter = new MovieBrowseFilter(Set.of(Genre.SCIFI, Genre.DRAMA), true, 2000, 2020, 4.0);
+        when(searchIndex.browse(filter, 1L, 2)).thenReturn(List.of(MovieSearchDocument.of(movie), MovieSearchDocument.of(movie)));
+
+        // Act
+        CursorPageResponseDto<MovieSimpleResponseDto> result = movieService.browseMovies(
+                Set.of(Genre.SCIFI, Genre.DRAMA), "all", 2000, 2020, 4.0, CursorUtils.encode(1L), 1);
+
+        // Assert
+        assertThat(result.getContent()).extracting(MovieSimpleResponseDto::getTitle).containsExactly("Inception");
+        assertThat(result.isHasNext()).isTrue();
+        verify(movieRepository, never()).findBrowsePageAfter(any(), anyInt(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void browseMovies_fallsBackToTheDatabaseUntilIndexIsReady() {
+        // Arrange
+        // DRAMA and COMEDY are bits 1 and 2 of the genre mask; any-of matching leaves the all-of mask empty
+        when(movieRepository.findBrowsePageAfter(0L, 0b110, 0, null, 2010, null, PageRequest.of(0, 21)))
+                .thenReturn(List.of(movieSimpleResponseDto));
+
+        // Act
+        CursorPageResponseDto<MovieSimpleResponseDto> result = movieService.browseMovies(
+                Set.of(Genre.COMEDY, Genre.DRAMA), null, null, 2010, null, null, null);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(movieSimpleResponseDto);
+        assertThat(result.isHasNext()).isFalse();
+    }
+
+    @Test
+    void browseMovies_rejectsInvalidCriteria() {
+        assertThatThrownBy(() -> movieService.browseMovies(null, "most", null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported genre match: most");
+        assertThatThrownBy(() -> movieService.browseMovies(null, "any", 2020, 2010, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fromYear must not be after toYear");
+        assertThatThrownBy(() -> movieService.browseMovies(null, "any", null, null, 6.0, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("minRating must be between 0 and 5");
+    }
+
+    @Test
+    void listSimpleMoviesPage_firstPageReportsNextCursor() {
+        // Arrange
+        MovieSimpleResponseDto second = new MovieSimpleResponseDto(2L, "Interstellar", null, null);
+        MovieSimpleResponseDto third = new MovieSimpleResponseDto(3L, "Tenet", null, null);
+        when(movieRepository.findSimpleFirstPage(PageRequest.of(0, 3)))
+                .thenReturn(List.of(movieSimpleResponseDto, second, third));
+
+        // Act
+        CursorPageResponseDto<MovieSimpleResponseDto> result = movieService.listSimpleMoviesPage(null, 2);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(movieSimpleResponseDto, second);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(CursorUtils.encode(2L));
+    }
+
+    @Test
+    void listSimpleMoviesPage_lastPageHasNoCursor() {
+        // Arrange
+        when(movieRepository.findSimplePageAfter(eq(1L), any(PageRequest.class)))
+                .thenReturn(List.of(movieSimpleResponseDto));
+
+        // Act
+        CursorPageResponseDto<MovieSimpleResponseDto> result = movieService.listSimpleMoviesPage(CursorUtils.encode(1L), 500);
+
+        // Assert
+        verify(movieRepository).findSimplePageAfter(1L, PageRequest.of(0, 101));
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void listSimpleMoviesPage_invalidCursorThrowsError() {
+        // Act & Assert
+        assertThatThrownBy(() -> movieService.listSimpleMoviesPage("abc", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void listMovieFeed_newestUsesCreatedAtAndIdCursor() {
+        // Arrange
+        Date createdAt = new Date(1_700_000_000_000L);
+        MovieFeedItemDto first = new MovieFeedItemDto(9L, "Dune", null, null, 4.5, createdAt);
+        MovieFeedItemDto second = new MovieFeedItemDto(8L, "Arrival", null, null, null, createdAt);
+        when(movieRepository.findNewestPageAfter(new Date(1_800_000_000_000L), 10L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        CursorPageResponseDto<MovieFeedItemDto> result =
+                movieService.listMovieFeed("newest", CursorUtils.encode(1_800_000_000_000L, 10L), 1);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(result.getNextCursor()).isEqualTo(CursorUtils.encode(createdAt.getTime(), 9L));
+    }
+
+    @Test
+    void listMovieFeed_topRatedContinuesIntoUnratedMovies() {
+        // Arrange
+        MovieFeedItemDto rated = new MovieFeedItemDto(3L, "Heat", null, null, 4.0, null);
+        MovieFeedItemDto unrated = new MovieFeedItemDto(7L, "Ronin", null, null, null, null);
+        MovieFeedItemDto nextUnrated = new MovieFeedItemDto(6L, "Collateral", null, null, null, null);
+        when(movieRepository.findTopRatedFirstPage(PageRequest.of(0, 3))).thenReturn(List.of(rated));
+        when(movieRepository.findUnratedFirstPage(PageRequest.of(0, 2))).thenReturn(List.of(unrated, nextUnrated));
+
+        // Act
+        CursorPageResponseDto<MovieFeedItemDto> result = movieService.listMovieFeed("top-rated", null, 2);
+
+        // Assert
+        assertThat(result.getContent()).containsExactly(rated, unrated);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(CursorUtils.encode("u", "", 7L));
+    }
+
+    @Test
+    void listMovieFeed_unsupportedSortThrowsError() {
+        // Act & Assert
+        assertThatThrownBy(() -> movieService.listMovieFeed("random", null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported sort: random");
+    }
+
     @Test
     void getMovieById_successfulDetailRetrieval() {
         // Arrange
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(movie));
-        when(movieMapper.toDetailDTO(movie)).thenReturn(movieDetailResponseDto);
+        CursorPageResponseDto<CommentResponseDto> comments = CursorPageResponseDto.<CommentResponseDto>builder()
+                .content(List.of())
+                .size(0)
+                .hasNext(false)
+                .build();
+        when(movieRepository.findDetailById(1L)).thenReturn(Optional.of(movie));
+        when(commentService.listMovieComments(1L, null, null)).thenReturn(comments);
+        when(movieMapper.toDetailDTO(movie, comments)).thenReturn(movieDetailResponseDto);
 
         // Act
         MovieDetailResponseDto result = movieService.getMovieById(1L);
 
         // Assert
         assertThat(result).isEqualTo(movieDetailResponseDto);
+        verify(movieRepository, never()).findById(1L);
     }
 
     @Test
     void getMovieById_movieNotFoundThrowsError() {
         // Arrange
-        when(movieRepository.findById(1L)).thenReturn(Optional.empty());
+        when(movieRepository.findDetailById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> movieService.getMovieById(1L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Movie not found");
     }
+
+    @Test
+    void getMovieValidators_changeWithCommentsAndUseLatestWriteAsLastModified() {
+        // Arrange
+        MovieRepository.DetailVersion version = mock(MovieRepository.DetailVersion.class);
+        when(version.getVersion()).thenReturn(2L);
+        when(version.getRatingCount()).thenReturn(5L);
+        when(version.getUpdatedAt()).thenReturn(new Date(1_000L));
+        when(version.getLastCommentAt()).thenReturn(new Date(3_000L));
+        when(movieRepository.findDetailVersionById(1L)).thenReturn(Optional.of(version));
+
+        // Act
+        HttpValidators validators = movieService.getMovieValidators(1L);
+
+        // Assert
+        assertThat(validators.eTag()).isEqualTo("W/\"2-5-3000\"");
+        assertThat(validators.lastModified()).isEqualTo(3_000L);
+        verify(movieRepository, never()).findDetailById(any());
+    }
+
+    @Test
+    void getMovieValidators_movieNotFoundThrowsError() {
+        // Arrange
+        when(movieRepository.findDetailVersionById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> movieService.getMovieValidators(1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Movie not found");
+    }
+
+    @Test
+    void getSimpleMoviesValidators_useCountAndLatestUpdateWithoutLastModified() {
+        // Arrange
+        MovieRepository.ListVersion version = mock(MovieRepository.ListVersion.class);
+        when(version.getCount()).thenReturn(4L);
+        when(version.getLastUpdatedAt()).thenReturn(new Date(2_000L));
+        when(movieRepository.findListVersionByTitleContaining("Incep")).thenReturn(version);
+
+        // Act
+        HttpValidators validators = movieService.getSimpleMoviesValidators("Incep");
+
+        // Assert
+        assertThat(validators.eTag()).isEqualTo("W/\"4-2000\"");
+        assertThat(validators.lastModified()).isEqualTo(HttpValidators.NO_LAST_MODIFIED);
+        verify(movieRepository, never()).findListVersion();
+    }
 }
@@ -0,0 +1,112 @@
+package com.film_backend.film.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.film_backend.film.config.CacheConfig;
+import com.film_backend.film.repository.MovieRatingBatchRepository.RatingDelta;
+import com.film_backend.film.repository.MovieRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RatingAggregatorTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    private CacheManager cacheManager;
+    private RatingAggregator ratingAggregator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MOVIE_DETAILS);
+        ratingAggregator = new RatingAggregator(movieRepository, cacheManager, true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_appliesAccumulatedDeltasPerMovie() {
+        ratingAggregator.record(1L, 5);
+        ratingAggregator.record(1L, 3);
+        ratingAggregator.record(2L, 4);
+
+        ratingAggregator.flush();
+
+        ArgumentCaptor<List<RatingDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(movieRepository).applyRatingDeltas(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+                new RatingDelta(1L, 8, 2),
+                new RatingDelta(2L, 4, 1));
+        assertThat(ratingAggregator.drain()).isEmpty();
+    }
+
+    @Test
+    void flush_evictsCachedDetailsOfFlushedMovies() {
+        cacheManager.getCache(CacheConfig.MOVIE_DETAILS).put(1L, "detail 1");
+        cacheManager.getCache(CacheConfig.MOVIE_DETAILS).put(2L, "detail 2");
+        ratingAggregator.record(1L, 5);
+
+        ratingAggregator.flush();
+
+        assertThat(cacheManager.getCache(CacheConfig.MOVIE_DETAILS).get(1L)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.MOVIE_DETAILS).get(2L)).isNotNull();
+    }
+
+    @Test
+    void flush_withNothingPendingDoesNotTouchTheDatabase() {
+        ratingAggregator.flush();
+
+        verify(movieRepository, never()).applyRatingDeltas(anyList());
+    }
+
+    @Test
+    void flush_keepsDeltasWhenTheBatchFails() {
+        ratingAggregator.record(1L, 5);
+        doThrow(new QueryTimeoutException("timeout")).when(movieRepository).applyRatingDeltas(anyList());
+
+        ratingAggregator.flush();
+
+        assertThat(ratingAggregator.drain()).containsExactly(new RatingDelta(1L, 5, 1));
+    }
+
+    @Test
+    void reconcile_discardsDeltasTheRepairAlreadyCounted() {
+        ratingAggregator.record(1L, 5);
+
+        int repaired = ratingAggregator.reconcile(() -> 3);
+        ratingAggregator.flush();
+
+        assertThat(repaired).isEqualTo(3);
+        verify(movieRepository, never()).applyRatingDeltas(anyList());
+    }
+
+    @Test
+    void record_concurrentRatingsAreNeverLost() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            int rate = i % 5 + 1;
+            executor.submit(() -> ratingAggregator.record(7L, rate));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ratingAggregator.drain()).containsExactly(new RatingDelta(7L, 30_000, 10_000));
+    }
+}
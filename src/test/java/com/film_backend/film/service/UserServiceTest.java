@@ -14,7 +14,6 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.film_backend.film.dtos.request.UserRequestDto;
@@ -31,6 +31,8 @@ import com.film_backend.film.entity.User;
 import com.film_backend.film.mapper.UserMapper;
 import com.film_backend.film.repository.RefreshTokenRepository;
 import com.film_backend.film.repository.UserRepository;
+import com.film_backend.film.security.TokenVersionCache;
+import com.film_backend.film.security.UserDetailsChangedEvent;
 import com.film_backend.film.util.ImageUtil;
 import com.film_backend.film.util.JwtUtil;
 
@@ -58,6 +60,12 @@ class UserServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -101,7 +109,6 @@ class UserServiceTest {
         when(imageUtil.saveImage(anyString(), anyString())).thenReturn("/new/image.jpg");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userMapper.toDTO(user)).thenReturn(userResponseDto);
-        when(refreshTokenRepository.findByUser(user)).thenReturn(Collections.emptyList());
 
         // Act
         UserResponseDto result = userService.updateProfile(userRequestDto, token);
@@ -111,8 +118,10 @@ class UserServiceTest {
         assertEquals(userResponseDto, result);
         verify(userRepository).save(user);
         verify(jwtUtil).blacklistToken(token);
-        verify(refreshTokenRepository).findByUser(user);
+        verify(refreshTokenRepository).deleteByUser(user);
         verify(imageUtil).saveImage(userRequestDto.getProfileImage(), user.getUsername());
+        verify(tokenVersionCache).revokeAll(userId);
+        verify(eventPublisher).publishEvent(UserDetailsChangedEvent.of("test@example.com", "new@example.com"));
     }
 
     @Test
@@ -189,7 +198,6 @@ class UserServiceTest {
         // Arrange
         when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findByUser(user)).thenReturn(Collections.emptyList());
         doNothing().when(userRepository).deleteById(userId);
 
         // Act
@@ -197,8 +205,10 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository).deleteById(userId);
+        verify(tokenVersionCache).evict(userId);
+        verify(eventPublisher).publishEvent(UserDetailsChangedEvent.of("test@example.com"));
         verify(jwtUtil).blacklistToken(token);
-        verify(refreshTokenRepository).findByUser(user);
+        verify(refreshTokenRepository).deleteByUser(user);
         verifyNoInteractions(imageUtil); // Default picture, no deletion
     }
 
@@ -242,14 +252,13 @@ class UserServiceTest {
         // Arrange
         when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findByUser(user)).thenReturn(Collections.emptyList());
 
         // Act
         userService.logout(token);
 
         // Assert
         verify(jwtUtil).blacklistToken(token);
-        verify(refreshTokenRepository).findByUser(user);
+        verify(refreshTokenRepository).deleteByUser(user);
         verify(userRepository).findById(userId);
         verifyNoMoreInteractions(userRepository); // No deletion or save
     }
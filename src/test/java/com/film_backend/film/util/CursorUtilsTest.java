@@ -0,0 +1,44 @@
+package com.film_backend.film.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class CursorUtilsTest {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        String cursor = CursorUtils.encode(1_700_000_000_000L, 42L);
+
+        assertFalse(cursor.contains("|"), "Cursor should be opaque");
+        assertArrayEquals(new String[] {"1700000000000", "42"}, CursorUtils.decode(cursor, 2));
+    }
+
+    @Test
+    public void testDecodeRejectsWrongNumberOfParts() {
+        String cursor = CursorUtils.encode(42L);
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> CursorUtils.decode(cursor, 2));
+
+        assertEquals("Invalid cursor", thrown.getMessage());
+    }
+
+    @Test
+    public void testDecodeRejectsGarbage() {
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> CursorUtils.decode("not base64!", 1));
+
+        assertEquals("Invalid cursor", thrown.getMessage());
+    }
+
+    @Test
+    public void testResolvePageSizeIsBounded() {
+        assertEquals(CursorUtils.DEFAULT_PAGE_SIZE, CursorUtils.resolvePageSize(null));
+        assertEquals(1, CursorUtils.resolvePageSize(0));
+        assertEquals(CursorUtils.MAX_PAGE_SIZE, CursorUtils.resolvePageSize(10_000));
+    }
+}
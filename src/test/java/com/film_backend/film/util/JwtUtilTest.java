@@ -3,6 +3,8 @@ package com.film_backend.film.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -16,11 +18,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.film_backend.film.entity.User;
 import com.film_backend.film.enums.Role;
 import com.film_backend.film.repository.TokenBlacklistRepository;
+import com.film_backend.film.security.TokenBlacklistCache;
 
 import io.jsonwebtoken.Claims;
 
@@ -33,6 +39,9 @@ class JwtUtilTest {
     @Mock
     private TokenBlacklistRepository tokenBlacklistRepository;
 
+    @Mock
+    private TokenBlacklistCache tokenBlacklistCache;
+
     private User user;
     private final String secret = "thisisaverylongsecretkeyforjwt1234567890";
     private final Long expiration = 3600L;         // 1 hour
@@ -102,7 +111,7 @@ class JwtUtilTest {
 
     @Test
     void shouldReturnTrueForValidToken() {
-        when(tokenBlacklistRepository.existsByToken(anyString())).thenReturn(false);
+        when(tokenBlacklistCache.isBlacklisted(anyString())).thenReturn(false);
         String token = jwtUtil.generateToken(user);
         boolean result = jwtUtil.isTokenValid(token, user.getEmail());
         assertTrue(result);
@@ -110,7 +119,7 @@ class JwtUtilTest {
 
     @Test
     void shouldReturnFalseForTokenWithWrongEmail() {
-        when(tokenBlacklistRepository.existsByToken(anyString())).thenReturn(false);
+        when(tokenBlacklistCache.isBlacklisted(anyString())).thenReturn(false);
         String token = jwtUtil.generateToken(user);
         boolean result = jwtUtil.isTokenValid(token, "wrong@example.com");
         assertFalse(result);
@@ -118,7 +127,7 @@ class JwtUtilTest {
 
     @Test
     void shouldReturnFalseForBlacklistedToken() {
-        when(tokenBlacklistRepository.existsByToken(anyString())).thenReturn(true);
+        when(tokenBlacklistCache.isBlacklisted(anyString())).thenReturn(true);
         String token = jwtUtil.generateToken(user);
         boolean result = jwtUtil.isTokenValid(token, user.getEmail());
         assertFalse(result);
@@ -139,6 +148,41 @@ class JwtUtilTest {
         assertThrows(IllegalArgumentException.class, () -> jwtUtil.extractClaims(invalidToken));
     }
 
+    @Test
+    void parseShouldVerifyTokenOnce() {
+        String token = jwtUtil.generateToken(user);
+
+        VerifiedToken verified = jwtUtil.parse(token);
+
+        assertEquals(user.getEmail(), verified.email());
+        assertEquals(user.getId(), verified.userId());
+        assertEquals(user.getRole().name(), verified.role());
+        assertFalse(verified.isExpired());
+    }
+
+    @Test
+    void shouldReuseTokenVerifiedForCurrentRequest() {
+        String token = jwtUtil.generateToken(user);
+        VerifiedToken verified = jwtUtil.parse(token);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(JwtUtil.VERIFIED_TOKEN_ATTRIBUTE, verified);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            assertSame(verified, jwtUtil.parse(token));
+            assertNotSame(verified, jwtUtil.parse(jwtUtil.generateRefreshToken(user)));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void shouldRejectTokensAfterSecretChanges() {
+        String token = jwtUtil.generateToken(user);
+        ReflectionTestUtils.setField(jwtUtil, "secret", "anotherverylongsecretkeyforjwt0987654321");
+
+        assertThrows(IllegalArgumentException.class, () -> jwtUtil.extractClaims(token));
+    }
+
     @Test
     void shouldThrowExceptionForInvalidSigningKey() {
         ReflectionTestUtils.setField(jwtUtil, "secret", "short");
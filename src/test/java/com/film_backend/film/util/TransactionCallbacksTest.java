@@ -0,0 +1,51 @@
+package com.film_backend.film.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionCallbacksTest {
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void afterCommit_runsRightAwayWithoutATransaction() {
+        TransactionCallbacks.afterCommit(runs::incrementAndGet);
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void afterCommit_waitsForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.afterCommit(runs::incrementAndGet);
+        assertThat(runs).hasValue(0);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void afterCommit_skipsTheActionOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCallbacks.afterCommit(runs::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(runs).hasValue(0);
+    }
+}